@@ -10,6 +10,8 @@ import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Base interface for all events fired by an {@link IQueryConnection} instance.
@@ -34,7 +36,7 @@ public interface IQueryEvent extends IEvent {
 
             /**
              * The current state of the cache as a flat list.
-             * @implNote collection is unmodifiable!
+             * @implNote collection is unmodifiable! It is created on first access.
              */
             List<IClient> getClients();
 
@@ -42,9 +44,56 @@ public interface IQueryEvent extends IEvent {
             /**
              * The current state of the cache as a map.
              * {@link IClient#getClientID()} -> {@link IClient}
-             * @implNote collection is unmodifiable!
+             * @implNote collection is unmodifiable! It is created on first access.
              */
             Map<Integer, IClient> getClientMap();
+
+            /**
+             * IDs of the clients that have been added by this refresh, as their enter notification has been missed.
+             *
+             * @since 1.2.0
+             */
+            Set<Integer> getAddedClientIds();
+
+            /**
+             * IDs of the clients that have been removed by this refresh, as their leave notification has been missed.
+             *
+             * @since 1.2.0
+             */
+            Set<Integer> getRemovedClientIds();
+
+            /**
+             * IDs of the clients an {@link IClientUpdated} event has been fired for.
+             *
+             * @since 1.2.0
+             */
+            Set<Integer> getUpdatedClientIds();
+        }
+
+        /**
+         * Event indicating that properties of a cached client have changed during a refresh of the client cache.
+         * Fired for each changed client before the corresponding {@link IRefreshClients} event.
+         * Changes of the idle time alone are not reported.
+         *
+         * @since 1.2.0
+         */
+        interface IClientUpdated extends IDataEvent, ITargetClient {
+
+            /**
+             * Keys of the properties that have been changed or added.
+             * @implNote collection is unmodifiable!
+             */
+            Set<String> getChangedProperties();
+
+            /**
+             * Shorthand for checking {@link #getChangedProperties()}.
+             */
+            boolean hasChanged(String key);
+
+            /**
+             * The value before the refresh. Empty if the property has been added.
+             */
+            Optional<String> getPreviousValue(String key);
         }
 
         /**
@@ -244,6 +293,38 @@ public interface IQueryEvent extends IEvent {
         }
     }
 
+    /**
+     * Notifications of the same kind, coalesced during bursts like mass moves.
+     * Batches are only collected when coalescing is enabled ("jeak.eventmgr.coalesce.windowMs") and a listener declares a batch type.
+     * <p>
+     * The notifications are still fired individually. A batch is fired once its notifications have been processed,
+     * so their targets are set and the caches have been updated.
+     * Batches are not notifications themselves: Listeners for all notifications do not receive them.
+     *
+     * @since 1.2.0
+     */
+    interface INotificationBatch<T extends INotification> extends IQueryEvent {
+
+        /**
+         * The coalesced notifications in the order they have been processed.
+         * Notifications aborted by a listener are not included.
+         * @implNote collection is unmodifiable!
+         */
+        List<T> getNotifications();
+
+        /**
+         * @since 1.2.0
+         */
+        interface IClientMovedBatch extends INotificationBatch<INotification.IClientMoved> {
+        }
+
+        /**
+         * @since 1.2.0
+         */
+        interface IClientEnterBatch extends INotificationBatch<INotification.IClientEnter> {
+        }
+    }
+
     /**
      * Returns the first reference of the raw event.
      *
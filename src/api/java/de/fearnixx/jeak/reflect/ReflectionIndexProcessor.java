@@ -0,0 +1,159 @@
+package de.fearnixx.jeak.reflect;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes an index of the {@link Listener} methods and {@link Inject} fields declared by each compiled class.
+ * The framework reads it instead of scanning all methods and fields reflectively when registering listeners and running injections.
+ * <p>
+ * The processor is registered as a service of the framework API: Compilers discover it on the class path of every plugin build
+ * and run it for all classes. Builds using a separate annotation processor path need to add the framework API there, e.g. with Gradle:
+ * {@code annotationProcessor 'de.fearnixx:jeakbot-api:<version>'}.
+ * It can be disabled with the compiler option {@code -Ajeak.reflectionIndex=false} (or {@code -proc:none}).
+ * <p>
+ * Only members declared by the class itself are indexed. Inherited members are resolved from the index of their own class at runtime,
+ * so an index stays valid when super classes, e.g. of the framework, change. Classes without an index are scanned reflectively as before.
+ *
+ * @since 1.2.0
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(ReflectionIndexProcessor.OPTION_ENABLED)
+public class ReflectionIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Compiler option to disable the index generation: {@code -Ajeak.reflectionIndex=false}
+     */
+    public static final String OPTION_ENABLED = "jeak.reflectionIndex";
+
+    /**
+     * Class path location of the index files. One file per class, named after the binary class name.
+     */
+    public static final String INDEX_LOCATION = "META-INF/jeak/index/";
+    // v1 indexes included inherited members and are ignored.
+    public static final String INDEX_HEADER = "# jeak reflection index v2";
+    public static final String LISTENER_ENTRY = "listener";
+    public static final String INJECT_ENTRY = "inject";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if ("false".equalsIgnoreCase(processingEnv.getOptions().get(OPTION_ENABLED))) {
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            indexRecursively(type);
+        }
+        // Do not claim any annotations.
+        return false;
+    }
+
+    private void indexRecursively(TypeElement type) {
+        if (type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.ENUM) {
+            final List<String> entries = new ArrayList<>();
+            if (collectListeners(type, entries)) {
+                collectInjections(type, entries);
+                if (!entries.isEmpty()) {
+                    writeIndex(type, entries);
+                }
+            }
+        }
+
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            indexRecursively(nested);
+        }
+    }
+
+    /**
+     * Public methods declared by the class.
+     *
+     * @return {@code false} if the class cannot be indexed.
+     */
+    private boolean collectListeners(TypeElement type, List<String> entries) {
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getAnnotation(Listener.class) == null || !method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+
+            final StringBuilder entry = new StringBuilder(LISTENER_ENTRY).append(' ').append(method.getSimpleName());
+            for (VariableElement parameter : method.getParameters()) {
+                final String typeName = binaryNameOf(parameter.asType());
+                if (typeName == null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Listener parameter cannot be indexed, the class will be scanned at runtime.", parameter);
+                    return false;
+                }
+                entry.append(' ').append(typeName);
+            }
+            entries.add(entry.toString());
+        }
+        return true;
+    }
+
+    /**
+     * Fields declared by the class.
+     */
+    private void collectInjections(TypeElement type, List<String> entries) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getAnnotation(Inject.class) != null) {
+                entries.add(INJECT_ENTRY + ' ' + field.getSimpleName());
+            }
+        }
+    }
+
+    private String binaryNameOf(TypeMirror type) {
+        final TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final Element element = ((DeclaredType) erased).asElement();
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+    }
+
+    private void writeIndex(TypeElement type, List<String> entries) {
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final Filer filer = processingEnv.getFiler();
+        try {
+            final FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION + binaryName, type);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(INDEX_HEADER);
+                writer.write('\n');
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write reflection index: " + e.getMessage(), type);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.fearnixx.jeak.service.event;
+
+/**
+ * Snapshot of the statistics of one event execution lane.
+ *
+ * @since 1.2.0
+ */
+public interface IEventLaneStats {
+
+    int getIndex();
+
+    /**
+     * The number of events currently waiting in this lane.
+     */
+    int getDepth();
+
+    /**
+     * The highest number of events that have been waiting in this lane at the same time.
+     */
+    int getMaxDepth();
+
+    /**
+     * The number of events that have been queued into this lane so far.
+     */
+    long getSubmittedCount();
+
+    /**
+     * The number of events that have been processed by this lane so far.
+     */
+    long getCompletedCount();
+
+    /**
+     * The number of times an event source had to wait because this lane was full.
+     */
+    long getBackpressureCount();
+
+    /**
+     * Total time event sources have been waiting because this lane was full.
+     */
+    long getBackpressureMillis();
+
+    /**
+     * The number of pending events that have been dropped or replaced because this lane was full.
+     */
+    long getDroppedCount();
+
+    /**
+     * The number of new events that have been rejected because this lane was full.
+     */
+    long getRejectedCount();
+}
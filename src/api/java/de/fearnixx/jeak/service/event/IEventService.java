@@ -1,6 +1,11 @@
 package de.fearnixx.jeak.service.event;
 
 import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.event.IQueryEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Accessor for plugins to fire custom events so other plugins/classes may listen to it.
@@ -13,6 +18,17 @@ public interface IEventService {
      */
     void fireEvent(IEvent event);
 
+    /**
+     * Completes the callbacks of a query request and fires its answer in a single stage.
+     * Unlike other events, answers are not processed on the ordered lanes: Their listeners run right after the callbacks on a separate, bounded stage.
+     *
+     * @param callbacks completes the callbacks of the request with the given answer. Must not throw.
+     *                  If the answer cannot be processed anymore (shutdown), it receives an error answer on the calling thread instead.
+     * @apiNote Used by the framework to dispatch query answers.
+     * @since 1.2.0
+     */
+    void fireAnswer(IQueryEvent.IAnswer answer, Consumer<IQueryEvent.IAnswer> callbacks);
+
     /**
      * Register a listener.
      * All methods annotated with {@link de.fearnixx.jeak.reflect.Listener} will receive events fitting their parameter.
@@ -29,4 +45,36 @@ public interface IEventService {
      * Be aware that we are comparing by identity!
      */
     void unregisterListener(Object listener);
+
+    /**
+     * Whether or not events of the given class would be received by a listener declaring the given type or a more specific one.
+     * Listeners of more general types (like {@link IEvent}) are not counted.
+     * Allows skipping the creation of events nobody is interested in.
+     *
+     * @since 1.2.0
+     */
+    boolean hasListeners(Class<? extends IEvent> eventClass, Class<? extends IEvent> declaredType);
+
+    /**
+     * Adds a callback that is run whenever listeners have been (un-)registered.
+     * Callbacks are run while holding the registration lock and must not block.
+     *
+     * @see #hasListeners(Class, Class)
+     * @since 1.2.0
+     */
+    void onListenersChanged(Runnable callback);
+
+    /**
+     * Statistics of the lanes asynchronous events are processed on.
+     *
+     * @since 1.2.0
+     */
+    List<IEventLaneStats> getLaneStats();
+
+    /**
+     * The number of events that have been dropped or rejected because their lane was full, per event class.
+     *
+     * @since 1.2.0
+     */
+    Map<Class<? extends IEvent>, Long> getShedEventCounts();
 }
@@ -0,0 +1,22 @@
+package de.fearnixx.jeak.service.metrics;
+
+/**
+ * Snapshot of a latency histogram.
+ *
+ * @implNote Values are recorded into logarithmic buckets, percentiles are accurate to about 25%.
+ * @since 1.2.0
+ */
+public interface ILatencySnapshot {
+
+    long getCount();
+
+    double getMeanMicros();
+
+    long getMaxMicros();
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return the upper bound of the bucket containing the percentile. {@code 0} if nothing has been recorded.
+     */
+    long getPercentileMicros(double percentile);
+}
@@ -0,0 +1,23 @@
+package de.fearnixx.jeak.service.metrics;
+
+/**
+ * Snapshot of the metrics of one listener method.
+ *
+ * @since 1.2.0
+ */
+public interface IListenerMetrics {
+
+    /**
+     * Fully qualified name of the listener: {@code <class>#<method>}.
+     */
+    String getListenerFQN();
+
+    long getInvocationCount();
+
+    /**
+     * The number of invocations that ended with an exception (including aborts).
+     */
+    long getExceptionCount();
+
+    ILatencySnapshot getLatency();
+}
@@ -0,0 +1,34 @@
+package de.fearnixx.jeak.service.metrics;
+
+import de.fearnixx.jeak.event.IEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime metrics of the framework, to find out what slows the bot down.
+ *
+ * @since 1.2.0
+ */
+public interface IMetricsService {
+
+    /**
+     * Metrics of all listeners that have received at least one event.
+     */
+    List<IListenerMetrics> getListenerMetrics();
+
+    /**
+     * The listeners with the highest 99th percentile latency, slowest first.
+     */
+    List<IListenerMetrics> getSlowestListeners(int limit);
+
+    /**
+     * Time events have been waiting for execution, per event class.
+     */
+    Map<Class<? extends IEvent>, ILatencySnapshot> getQueueWaits();
+
+    /**
+     * Discards all recorded metrics.
+     */
+    void reset();
+}
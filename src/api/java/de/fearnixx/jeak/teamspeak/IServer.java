@@ -2,6 +2,7 @@ package de.fearnixx.jeak.teamspeak;
 
 import de.fearnixx.jeak.teamspeak.data.IDataHolder;
 import de.fearnixx.jeak.teamspeak.query.IQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.IQueryConnectionPool;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
 
 import java.util.Optional;
@@ -32,6 +33,14 @@ public interface IServer {
      */
     Optional<IQueryConnection> optConnection();
 
+    /**
+     * Provides access to the pool of additional query sessions.
+     * The pool is transparently used by the main connection, this is mainly meant for monitoring.
+     *
+     * @since 1.2.0
+     */
+    IQueryConnectionPool getConnectionPool();
+
     /**
      * Whether or not an active connection is available.
      */
@@ -24,11 +24,13 @@ public interface IDataCache {
 
     /**
      * Unmodifiable cache for clients by clientID.
+     * This is an immutable snapshot of the current state, taking it neither locks nor copies.
      */
     Map<Integer, IClient> getClientMap();
 
     /**
      * Unmodifiable cache for channels by channelID.
+     * This is an immutable snapshot of the current state, taking it neither locks nor copies.
      */
     Map<Integer, IChannel> getChannelMap();
 
@@ -47,6 +49,41 @@ public interface IDataCache {
      */
     Optional<IClient> findClientByUniqueId(String uniqueId);
 
+    /**
+     * The online client with that client ID. Unlike {@link #getClientMap()}, this does not copy the cache.
+     *
+     * @since 1.2.0
+     */
+    Optional<IClient> getClient(int clientId);
+
+    /**
+     * All online clients with that unique ID. The same identity may be connected multiple times.
+     *
+     * @since 1.2.0
+     */
+    List<IClient> findClientsByUniqueId(String uniqueId);
+
+    /**
+     * All online clients with that database ID.
+     *
+     * @since 1.2.0
+     */
+    List<IClient> findClientsByDBID(int dbId);
+
+    /**
+     * All online clients whose nickname contains the given one, ignoring case.
+     *
+     * @since 1.2.0
+     */
+    List<IClient> findClientsByNickname(String nickname);
+
+    /**
+     * All online clients in the channel with that ID.
+     *
+     * @since 1.2.0
+     */
+    List<IClient> getClientsInChannel(int channelId);
+
     /**
      * Searches for a channel with that unique ID. Returns the first match as an optional.
      * Name will match case-insensitive and partially.
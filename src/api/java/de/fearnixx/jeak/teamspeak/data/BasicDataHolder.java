@@ -1,9 +1,14 @@
 package de.fearnixx.jeak.teamspeak.data;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -13,13 +18,17 @@ import java.util.stream.Collectors;
 public class BasicDataHolder implements IDataHolder {
 
     private Map<String, String> values;
+    private final Map<String, String> valuesView = new ValuesView();
 
     public BasicDataHolder() {
         values = Collections.synchronizedMap(new LinkedHashMap<>());
     }
 
-    public synchronized Map<String, String> getValues() {
-        return values;
+    /**
+     * Live view of the values. Changes through the view are applied like {@link #setProperty(String, String)}.
+     */
+    public Map<String, String> getValues() {
+        return valuesView;
     }
 
     @Override
@@ -38,6 +47,7 @@ public class BasicDataHolder implements IDataHolder {
             values.remove(key);
         else
             values.put(key, value);
+        onPropertyChanged(key, value);
     }
 
     @Override
@@ -46,17 +56,177 @@ public class BasicDataHolder implements IDataHolder {
     }
 
     public synchronized IDataHolder copyFrom(IDataHolder other) {
+        final Map<String, String> previous = this.values;
         this.values = new ConcurrentHashMap<>();
+        for (String key : previous.keySet()) {
+            onPropertyChanged(key, null);
+        }
         return merge(other);
     }
 
     public synchronized IDataHolder merge(IDataHolder other) {
         for (Map.Entry<String, String> entry : other.getValues().entrySet()) {
             this.values.put(entry.getKey(), entry.getValue());
+            onPropertyChanged(entry.getKey(), entry.getValue());
         }
         return this;
     }
 
+    /**
+     * Called with the lock of this holder held, whenever a value has been set or removed ({@code value == null}).
+     * This includes changes through the map returned by {@link #getValues()}.
+     *
+     * @implNote Allows subclasses to parse their known properties once, instead of on every getter call.
+     * @since 1.2.0
+     */
+    protected void onPropertyChanged(String key, String value) {
+        // Plain holders only keep the strings.
+    }
+
+    /**
+     * Map view of the values that reports modifications to {@link #onPropertyChanged(String, String)}.
+     * Bulk operations and the default {@link Map} methods are based on {@link #put(String, String)} and the entry set, so they are reported as well.
+     */
+    private class ValuesView extends AbstractMap<String, String> {
+
+        private final Set<Entry<String, String>> entries = new EntrySet();
+
+        @Override
+        public int size() {
+            synchronized (BasicDataHolder.this) {
+                return values.size();
+            }
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            synchronized (BasicDataHolder.this) {
+                return values.containsKey(key);
+            }
+        }
+
+        @Override
+        public String get(Object key) {
+            synchronized (BasicDataHolder.this) {
+                return values.get(key);
+            }
+        }
+
+        @Override
+        public String put(String key, String value) {
+            synchronized (BasicDataHolder.this) {
+                final String previous = values.get(key);
+                setProperty(key, value);
+                return previous;
+            }
+        }
+
+        @Override
+        public String remove(Object key) {
+            synchronized (BasicDataHolder.this) {
+                if (!(key instanceof String) || !values.containsKey(key)) {
+                    return null;
+                }
+                final String previous = values.get(key);
+                setProperty((String) key, (String) null);
+                return previous;
+            }
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return entries;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+        @Override
+        public int size() {
+            return valuesView.size();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            final Iterator<Map.Entry<String, String>> iterator;
+            synchronized (BasicDataHolder.this) {
+                iterator = values.entrySet().iterator();
+            }
+            return new Iterator<>() {
+
+                private Map.Entry<String, String> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, String> next() {
+                    final Map.Entry<String, String> next = iterator.next();
+                    current = next;
+                    return new ReportingEntry(next);
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    synchronized (BasicDataHolder.this) {
+                        iterator.remove();
+                        onPropertyChanged(current.getKey(), null);
+                    }
+                    current = null;
+                }
+            };
+        }
+    }
+
+    private class ReportingEntry implements Map.Entry<String, String> {
+
+        private final Map.Entry<String, String> entry;
+
+        private ReportingEntry(Map.Entry<String, String> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public String getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public String setValue(String value) {
+            Objects.requireNonNull(value, "Values may not be null! Remove the entry instead.");
+            synchronized (BasicDataHolder.this) {
+                final String previous = entry.setValue(value);
+                onPropertyChanged(entry.getKey(), value);
+                return previous;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return entry.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return entry.toString();
+        }
+    }
+
     @Override
     public String toString() {
         final var mapBody = getValues().entrySet()
@@ -3,6 +3,7 @@ package de.fearnixx.jeak.teamspeak.query;
 import de.fearnixx.jeak.event.IQueryEvent;
 import de.fearnixx.jeak.teamspeak.data.IDataHolder;
 
+import java.util.List;
 import java.util.concurrent.Future;
 
 /**
@@ -57,6 +58,13 @@ public interface IQueryConnection extends AutoCloseable {
      */
     Future<IQueryEvent.IAnswer> promiseRequest(IQueryRequest request);
 
+    /**
+     * Statistics of the request queue lanes, one entry per {@link QueryPriority}.
+     *
+     * @since 1.2.0
+     */
+    List<IRequestLaneStats> getRequestLaneStats();
+
     /**
      * Whether or not this connection has been closed for any reason.
      */
@@ -0,0 +1,62 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Additional query sessions the framework opens next to the main connection.
+ * Read-only commands queued on the main connection are transparently forwarded to the least busy pooled session.
+ * Notifications and all stateful commands always stay on the main connection.
+ *
+ * @since 1.2.0
+ */
+public interface IQueryConnectionPool {
+
+    /**
+     * The number of sessions the pool has been configured to maintain.
+     * Zero means that pooling is disabled.
+     */
+    int getConfiguredSize();
+
+    /**
+     * Status information on each pooled session.
+     */
+    List<ISession> getSessions();
+
+    /**
+     * Whether or not requests of the given command may be served by pooled sessions.
+     */
+    boolean isRoutable(String command);
+
+    interface ISession {
+
+        int getIndex();
+
+        /**
+         * Whether or not the session is connected, logged in and accepting requests.
+         */
+        boolean isActive();
+
+        /**
+         * Minimum time between two requests sent through this session.
+         */
+        long getRequestIntervalMillis();
+
+        /**
+         * The number of requests that have been routed to this session.
+         */
+        long getRoutedCount();
+
+        /**
+         * The number of times this session has been re-established.
+         */
+        int getReconnectCount();
+
+        /**
+         * The reason of the last failed connection attempt, if the session is not active.
+         */
+        Optional<String> getLastError();
+
+        List<IRequestLaneStats> getRequestLaneStats();
+    }
+}
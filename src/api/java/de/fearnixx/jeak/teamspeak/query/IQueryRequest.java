@@ -43,6 +43,15 @@ public interface IQueryRequest {
      */
     List<String> getOptions();
 
+    /**
+     * The priority class used to order this request against other queued requests.
+     *
+     * @since 1.2.0
+     */
+    default QueryPriority getPriority() {
+        return QueryPriority.INTERACTIVE;
+    }
+
     /**
      * When the request has been sent and a complete response has been received from TeamSpeak,
      * the {@link IQueryConnection} invokes some callbacks based on the response.
@@ -0,0 +1,36 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+/**
+ * Snapshot of the statistics of one request queue lane.
+ *
+ * @since 1.2.0
+ */
+public interface IRequestLaneStats {
+
+    QueryPriority getPriority();
+
+    /**
+     * The number of requests currently waiting in this lane.
+     */
+    int getDepth();
+
+    /**
+     * The number of requests that have been queued into this lane so far.
+     */
+    long getEnqueuedCount();
+
+    /**
+     * The number of requests that have been taken from this lane for sending so far.
+     */
+    long getDequeuedCount();
+
+    /**
+     * Average time requests spent waiting in this lane before being sent.
+     */
+    double getAverageWaitMillis();
+
+    /**
+     * Longest time a request spent waiting in this lane before being sent.
+     */
+    long getMaxWaitMillis();
+}
@@ -30,6 +30,7 @@ public class QueryBuilder {
         builder.command(request.getCommand());
         request.getDataChain().forEach(builder::appendToChain);
         request.getOptions().forEach(builder::addOption);
+        builder.priority(request.getPriority());
 
         builder.onDone(request.onDone());
         builder.onError(request.onError());
@@ -41,6 +42,7 @@ public class QueryBuilder {
     private IDataHolder currentObj;
     private List<IDataHolder> chain;
     private List<String> options;
+    private QueryPriority priority;
     private Consumer<IQueryEvent.IAnswer> onDone;
     private Consumer<IQueryEvent.IAnswer> onError;
     private Consumer<IQueryEvent.IAnswer> onSuccess;
@@ -54,6 +56,7 @@ public class QueryBuilder {
         currentObj = null;
         chain = new ArrayList<>();
         options = new ArrayList<>();
+        priority = QueryPriority.INTERACTIVE;
         commitChainElement();
         return this;
     }
@@ -110,6 +113,16 @@ public class QueryBuilder {
         return this;
     }
 
+    /**
+     * Sets the priority class of the request. Defaults to {@link QueryPriority#INTERACTIVE}.
+     *
+     * @since 1.2.0
+     */
+    public QueryBuilder priority(QueryPriority priority) {
+        this.priority = Objects.requireNonNull(priority, "Priority may not be null!");
+        return this;
+    }
+
     public QueryBuilder onDone(Consumer<IQueryEvent.IAnswer> callback) {
         if (WARN_CB_REPLACE && this.onDone != null) {
             logger.warn("Replacing on-done callback. Did you mean to register the CB on the request?");
@@ -156,6 +169,7 @@ public class QueryBuilder {
             final String fComm = command;
             final List<IDataHolder> fChain = Collections.unmodifiableList(chain);
             final List<String> fOptions = Collections.unmodifiableList(options);
+            final QueryPriority fPriority = priority;
 
             @Override
             public String getCommand() {
@@ -172,6 +186,11 @@ public class QueryBuilder {
                 return fOptions;
             }
 
+            @Override
+            public QueryPriority getPriority() {
+                return fPriority;
+            }
+
             @Override
             public Consumer<IQueryEvent.IAnswer> onDone() {
                 return (event) -> onDoneCBs.forEach(callback -> callback.accept(event));
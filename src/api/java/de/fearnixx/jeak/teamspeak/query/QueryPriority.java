@@ -0,0 +1,44 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+/**
+ * Priority classes of query requests.
+ * Each class is served from its own lane of the request queue. Lanes are served weighted-fair, so lower classes are delayed but never starved.
+ *
+ * @since 1.2.0
+ */
+public enum QueryPriority {
+
+    /**
+     * Framework-internal requests the bot relies on, like cache refreshes and keepalives.
+     */
+    SYSTEM(8),
+
+    /**
+     * Requests a user is waiting for, like command replies.
+     * This is the default priority.
+     */
+    INTERACTIVE(4),
+
+    /**
+     * Larger amounts of requests where a delay is acceptable, like mass messages or synchronizations.
+     */
+    BULK(2),
+
+    /**
+     * Requests that may be delayed arbitrarily while other work is pending.
+     */
+    BACKGROUND(1);
+
+    private final int defaultWeight;
+
+    QueryPriority(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * The number of requests served from this lane per round when all lanes are busy.
+     */
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
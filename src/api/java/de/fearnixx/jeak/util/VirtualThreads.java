@@ -0,0 +1,103 @@
+package de.fearnixx.jeak.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Access to virtual threads when the runtime supports them (Java 21+).
+ * The framework is compiled for Java 11, so the API is looked up reflectively.
+ *
+ * @since 1.2.0
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle UNSTARTED;
+    private static final MethodHandle THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle unstarted = null;
+        MethodHandle perTaskExecutor = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+            unstarted = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            perTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+
+            // Preview releases (19, 20) have the API but refuse to create threads without --enable-preview.
+            unstarted.invoke(ofVirtual.invoke(), (Runnable) () -> {
+            });
+        } catch (Throwable e) {
+            logger.debug("Virtual threads are not supported by this runtime.", e);
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+        THREAD_PER_TASK_EXECUTOR = perTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory for (unstarted) virtual threads.
+     *
+     * @param namePattern {@link String#format(String, Object...)} pattern receiving a counter, like {@link NamePatternThreadFactory}.
+     * @throws UnsupportedOperationException if virtual threads are not supported.
+     */
+    public static ThreadFactory newThreadFactory(String namePattern) {
+        assertSupported();
+        final AtomicInteger counter = new AtomicInteger(0);
+        return runnable -> {
+            try {
+                final Thread thread = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(), runnable);
+                thread.setName(String.format(namePattern, counter.getAndIncrement()));
+                return thread;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to create virtual thread!", e);
+            }
+        };
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePattern) {
+        final ThreadFactory threadFactory = newThreadFactory(namePattern);
+        try {
+            return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create virtual thread executor!", e);
+        }
+    }
+
+    private static void assertSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this runtime!");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.fearnixx.jeak.benchmark;
+
+import de.fearnixx.jeak.event.EventListenerContainer;
+import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.event.ListenerInvokers;
+import de.fearnixx.jeak.reflect.Listener;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Compares the ways of passing an event to a listener method, as done for every listener of every fired event.
+ * {@code invokeExactConstant} is the upper bound: A method handle the JIT can treat as a constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerInvocationBenchmark {
+
+    private static final MethodHandle CONSTANT_HANDLE;
+
+    static {
+        try {
+            CONSTANT_HANDLE = MethodHandles.lookup()
+                    .findVirtual(BenchmarkListener.class, "onEvent", MethodType.methodType(void.class, BenchmarkEvent.class))
+                    .asType(MethodType.methodType(void.class, Object.class, IEvent.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final BenchmarkEvent event = new BenchmarkEvent();
+    private BenchmarkListener listener;
+    private BiConsumer<Object, IEvent> reflective;
+    private BiConsumer<Object, IEvent> lambda;
+    private BiConsumer<Object, IEvent> methodHandle;
+    private EventListenerContainer container;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws NoSuchMethodException {
+        listener = new BenchmarkListener(blackhole);
+        final Method method = BenchmarkListener.class.getMethod("onEvent", BenchmarkEvent.class);
+        reflective = ListenerInvokers.reflective(method);
+        lambda = ListenerInvokers.lambda(method);
+        methodHandle = ListenerInvokers.methodHandle(method);
+        container = new EventListenerContainer(listener, method);
+    }
+
+    @Benchmark
+    public void reflective() {
+        reflective.accept(listener, event);
+    }
+
+    @Benchmark
+    public void lambda() {
+        lambda.accept(listener, event);
+    }
+
+    @Benchmark
+    public void methodHandle() {
+        methodHandle.accept(listener, event);
+    }
+
+    @Benchmark
+    public void invokeExactConstant() throws Throwable {
+        CONSTANT_HANDLE.invokeExact((Object) listener, (IEvent) event);
+    }
+
+    /**
+     * The default path of the event service, including exception handling.
+     */
+    @Benchmark
+    public void container() {
+        container.accept(event);
+    }
+
+    public static class BenchmarkEvent implements IEvent {
+    }
+
+    public static class BenchmarkListener {
+
+        private final Blackhole blackhole;
+
+        BenchmarkListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Listener
+        public void onEvent(BenchmarkEvent event) {
+            blackhole.consume(event);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package de.fearnixx.jeak.benchmark;
+
+import de.fearnixx.jeak.teamspeak.query.QueryEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the table-driven {@link QueryEncoder} with the previous nested-loop implementation ({@link LegacyEncoder}).
+ * Inputs resemble what the framework sends and receives most: client descriptions, channel topics and nicknames.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryEncoderBenchmark {
+
+    @Param({
+            "Nickname",
+            "Welcome to our server! Please read the rules in the channel description | Support: /support",
+            "Head admin | Contact me via forum or TS\nLanguages: de, en\tAvailable: 18:00 - 22:00 (CET)"
+    })
+    public String decoded;
+
+    private char[] decodedChars;
+    private char[] encodedChars;
+    private String encoded;
+    private ByteBuffer byteBuffer;
+
+    @Setup
+    public void setup() {
+        decodedChars = decoded.toCharArray();
+        encodedChars = LegacyEncoder.encodeBuffer(decodedChars, decodedChars.length);
+        encoded = new String(encodedChars);
+        byteBuffer = ByteBuffer.allocate(QueryEncoder.maxEncodedBytes(decoded.length()));
+    }
+
+    @Benchmark
+    public char[] encodeLegacy() {
+        return LegacyEncoder.encodeBuffer(decodedChars, decodedChars.length);
+    }
+
+    @Benchmark
+    public char[] encodeBuffer() {
+        return QueryEncoder.encodeBuffer(decodedChars);
+    }
+
+    @Benchmark
+    public String encodeString() {
+        return QueryEncoder.encode(decoded);
+    }
+
+    @Benchmark
+    public void encodeToBytes(Blackhole blackhole) {
+        byteBuffer.clear();
+        blackhole.consume(QueryEncoder.encode(decoded, byteBuffer));
+    }
+
+    @Benchmark
+    public char[] decodeLegacy() {
+        return LegacyEncoder.decodeBuffer(encodedChars, encodedChars.length);
+    }
+
+    @Benchmark
+    public char[] decodeBuffer() {
+        return QueryEncoder.decodeBuffer(encodedChars);
+    }
+
+    @Benchmark
+    public String decodeString() {
+        return QueryEncoder.decode(encoded);
+    }
+
+    /**
+     * The encoder as of 1.1.x: Two passes with a nested loop over all critical characters each.
+     * Bounds checks have been added to decoding, the original could read past the end of the input.
+     */
+    static class LegacyEncoder {
+
+        private static final char[] critChars = {'\\', '/', ' ', '|', '\u0008', '\f', '\n', '\r', '\t', '\u000B'};
+        private static final String[] escapeSeqs = {"\\\\", "\\/", "\\s", "\\p", "\\b", "\\f", "\\n", "\\r", "\\t", "\\v"};
+
+        static char[] encodeBuffer(char[] origin, int upTo) {
+            int pos;
+            int innerPos;
+            int replaced = 0;
+            for (pos = 0; pos < upTo; pos++) {
+                for (innerPos = 0; innerPos < critChars.length; innerPos++)
+                    if (origin[pos] == critChars[innerPos]) {
+                        replaced++;
+                    }
+            }
+            char[] dest = new char[upTo + replaced];
+
+            replaced = 0;
+            int destPos;
+            outer:
+            for (pos = 0; pos < upTo; pos++) {
+                destPos = pos + replaced;
+                for (innerPos = 0; innerPos < critChars.length; innerPos++) {
+                    if (origin[pos] == critChars[innerPos]) {
+                        dest[destPos] = escapeSeqs[innerPos].charAt(0);
+                        dest[destPos + 1] = escapeSeqs[innerPos].charAt(1);
+                        replaced++;
+                        continue outer;
+                    }
+                }
+                dest[destPos] = origin[pos];
+            }
+            return dest;
+        }
+
+        static char[] decodeBuffer(char[] origin, int upTo) {
+            int pos;
+            int innerPos;
+            int size = upTo;
+            for (pos = upTo - 2; pos >= 0; pos--) {
+                for (innerPos = 0; innerPos < escapeSeqs.length; innerPos++)
+                    if (origin[pos] == escapeSeqs[innerPos].charAt(0) && origin[pos + 1] == escapeSeqs[innerPos].charAt(1))
+                        size--;
+            }
+            char[] dest = new char[size];
+            int replacements = 0;
+            int origPos;
+            outer:
+            for (pos = 0; pos < dest.length; pos++) {
+                origPos = pos + replacements;
+                for (innerPos = 0; innerPos < escapeSeqs.length; innerPos++)
+                    if (origPos + 1 < upTo && origin[origPos] == escapeSeqs[innerPos].charAt(0) && origin[origPos + 1] == escapeSeqs[innerPos].charAt(1)) {
+                        dest[pos] = critChars[innerPos];
+                        replacements++;
+                        continue outer;
+                    }
+                dest[pos] = origin[origPos];
+            }
+            return dest;
+        }
+    }
+}
@@ -18,6 +18,7 @@ import de.fearnixx.jeak.service.database.DatabaseService;
 import de.fearnixx.jeak.service.event.IEventService;
 import de.fearnixx.jeak.service.locale.LocalizationService;
 import de.fearnixx.jeak.service.mail.MailService;
+import de.fearnixx.jeak.service.metrics.MetricsService;
 import de.fearnixx.jeak.service.notification.NotificationService;
 import de.fearnixx.jeak.service.permission.base.PermissionService;
 import de.fearnixx.jeak.service.profile.ProfileService;
@@ -188,6 +189,7 @@ public class JeakBot implements Runnable, IBot {
         }
 
         initializeService(new NotificationService());
+        initializeService(new MetricsService(eventService.getProfiler()));
         DatabaseService dbSvc = new DatabaseService(new File(confDir, "databases"));
         initializeService(dbSvc);
         MailService mailSvc = new MailService(new File(confDir, "mail"));
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
 
 public class EventContainer implements Runnable {
 
@@ -18,6 +19,7 @@ public class EventContainer implements Runnable {
     private boolean receiverInterrupt = false;
 
     private final long scheduledOn;
+    private final long scheduledNanos;
     private final EventService eventService;
     private final List<EventListenerContainer> receivers;
     private final IEvent event;
@@ -27,11 +29,16 @@ public class EventContainer implements Runnable {
         this.receivers = receivers;
         this.event = event;
         scheduledOn =  System.currentTimeMillis();
+        scheduledNanos = System.nanoTime();
     }
 
     @Override
     public void run() {
         worker = Thread.currentThread();
+        final EventProfiler profiler = eventService.getProfiler();
+        if (currentReceiverIndex == 0) {
+            profiler.recordQueueWait(event.getClass(), System.nanoTime() - scheduledNanos);
+        }
         while (currentReceiverIndex < receivers.size()) {
             // Catch exceptions for each listener so a broken one doesn't break the whole event
             try {
@@ -46,7 +53,19 @@ public class EventContainer implements Runnable {
 
                 if (Thread.currentThread().isInterrupted())
                     throw new InterruptedException("Interrupted during event execution");
-                container.accept(event);
+
+                final ScheduledFuture<?> timeout = eventService.scheduleListenerTimeout(this, currentReceiverIndex);
+                final long invokedAt = System.nanoTime();
+                boolean failed = true;
+                try {
+                    container.accept(event);
+                    failed = false;
+                } finally {
+                    if (timeout != null) {
+                        timeout.cancel(false);
+                    }
+                    profiler.recordListener(container, System.nanoTime() - invokedAt, failed);
+                }
 
             } catch (InterruptedException e) {
                 synchronized (this) {
@@ -58,6 +77,8 @@ public class EventContainer implements Runnable {
                         final long duration = getListenerRuntime() / 1000;
                         resetStartedOn();
                         receiverInterrupt = false;
+                        // The interruption was meant for the previous listener only.
+                        Thread.interrupted();
                         logger.warn("Receiver interrupted forcefully after {} seconds. Listener: {}", duration, currentReceiver.getListenerFQN());
                     }
                 }
@@ -112,6 +133,15 @@ public class EventContainer implements Runnable {
         worker.interrupt();
     }
 
+    /**
+     * Interrupts the receiver only if it is still the given one.
+     */
+    public synchronized void interruptReceiver(int receiverIndex) {
+        if (currentReceiverIndex == receiverIndex && worker != null) {
+            interruptReceiver();
+        }
+    }
+
     public synchronized long getListenerRuntime() {
         return System.currentTimeMillis() - startedOn;
     }
@@ -0,0 +1,457 @@
+package de.fearnixx.jeak.event;
+
+import de.fearnixx.jeak.service.event.IEventLaneStats;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.data.IDataHolder;
+import de.fearnixx.jeak.util.NamePatternThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executes events on a fixed number of lanes, each served by its own thread.
+ * Events concerning the same client (or channel) are always put onto the same lane, so they are processed in the order they have been fired.
+ * Events concerning different entities run in parallel. Events without such a target are distributed round-robin.
+ * <p>
+ * Lanes are bounded: When a lane is full, the {@link OverloadPolicy} of the event applies.
+ * By default, the submitting thread waits until there is room again.
+ * This propagates the backpressure to the event source (e.g. the query connection stops reading).
+ *
+ * @implNote Threads of a lane are never blocked by a full lane, as they might be waiting on themselves.
+ * So events fired from listeners may exceed the bound.
+ * @since 1.2.0
+ */
+public class EventLaneExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLaneExecutor.class);
+
+    private final Lane[] lanes;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final Map<Class<? extends IEvent>, LongAdder> shedCounts = new ConcurrentHashMap<>();
+    private volatile boolean shutdown = false;
+
+    public EventLaneExecutor(int laneCount, int laneCapacity) {
+        this(laneCount, laneCapacity, new NamePatternThreadFactory("event-lane-%d"));
+    }
+
+    /**
+     * @param threadFactory creates the thread serving each lane. With virtual threads, a high number of lanes is cheap.
+     */
+    public EventLaneExecutor(int laneCount, int laneCapacity, ThreadFactory threadFactory) {
+        if (laneCount < 1 || laneCapacity < 1) {
+            throw new IllegalArgumentException("Lane count and capacity must be at least 1!");
+        }
+
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, laneCapacity);
+            lanes[i].worker = threadFactory.newThread(lanes[i]::work);
+            lanes[i].worker.start();
+        }
+    }
+
+    /**
+     * The entity an event is ordered by: The client id if present, the channel id otherwise.
+     *
+     * @return the id or {@code -1} if the event does not concern a specific client or channel.
+     */
+    static int orderingKeyOf(IEvent event) {
+        if (event instanceof IDataHolder) {
+            final IDataHolder holder = (IDataHolder) event;
+            final int clientId = parseId(holder, PropertyKeys.Client.ID);
+            if (clientId >= 0) {
+                return clientId;
+            }
+            final int channelId = parseId(holder, PropertyKeys.Channel.ID);
+            if (channelId >= 0) {
+                // Keep channel ids apart from client ids with the same value.
+                return ~channelId & Integer.MAX_VALUE;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseId(IDataHolder holder, String key) {
+        final String value = holder.getValues().get(key);
+        if (value == null || value.isEmpty() || value.length() > 9) {
+            return -1;
+        }
+        int id = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Queues the task onto the lane of the event, waiting if the lane is full.
+     *
+     * @throws RejectedExecutionException if the executor has been shut down.
+     */
+    public void execute(IEvent event, Runnable task) {
+        execute(event, OverloadPolicy.BLOCK, task);
+    }
+
+    /**
+     * Queues the task onto the lane of the event.
+     *
+     * @param policy applied if the lane is full.
+     * @return {@code false} if the task has been dropped due to the policy.
+     * @throws RejectedExecutionException if the executor has been shut down.
+     */
+    public boolean execute(IEvent event, OverloadPolicy policy, Runnable task) {
+        final int key = orderingKeyOf(event);
+        final int index;
+        if (key >= 0) {
+            index = spread(key) % lanes.length;
+        } else if (policy == OverloadPolicy.DROP_DUPLICATE) {
+            // Duplicates can only be found if they meet on the same lane.
+            index = spread(event.getClass().hashCode()) % lanes.length;
+        } else {
+            index = Math.floorMod(roundRobin.getAndIncrement(), lanes.length);
+        }
+        return lanes[index].submit(new LaneTask(event.getClass(), key, task), policy);
+    }
+
+    private static int spread(int key) {
+        final int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & Integer.MAX_VALUE;
+    }
+
+    public List<IEventLaneStats> getLaneStats() {
+        final List<IEventLaneStats> stats = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            stats.add(lane.snapshot());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * The number of events dropped or rejected due to their {@link OverloadPolicy}, per event class.
+     */
+    public Map<Class<? extends IEvent>, Long> getShedCounts() {
+        final Map<Class<? extends IEvent>, Long> counts = new HashMap<>();
+        shedCounts.forEach((eventClass, count) -> counts.put(eventClass, count.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private void countShed(Class<? extends IEvent> eventClass) {
+        shedCounts.computeIfAbsent(eventClass, c -> new LongAdder()).increment();
+    }
+
+    /**
+     * Stops accepting new events. Queued events are still processed.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Lane lane : lanes) {
+            lane.wakeUp();
+        }
+    }
+
+    /**
+     * @return {@code true} if all lanes have finished in time.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Lane lane : lanes) {
+            final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return false;
+            }
+            lane.worker.join(remainingMillis);
+            if (lane.worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class Lane {
+
+        private final int index;
+        private final int capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Deque<LaneTask> queue = new ArrayDeque<>();
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong backpressureCount = new AtomicLong();
+        private final AtomicLong backpressureNanos = new AtomicLong();
+        private final AtomicLong droppedCount = new AtomicLong();
+        private final AtomicLong rejectedCount = new AtomicLong();
+        private volatile int maxDepth = 0;
+        private Thread worker;
+
+        private Lane(int index, int capacity) {
+            this.index = index;
+            this.capacity = capacity;
+        }
+
+        private boolean submit(LaneTask task, OverloadPolicy policy) {
+            lock.lock();
+            try {
+                if (shutdown) {
+                    throw new RejectedExecutionException("Event executor has been shut down!");
+                }
+
+                if (queue.size() >= capacity) {
+                    switch (policy) {
+                        case REJECT:
+                            rejectedCount.incrementAndGet();
+                            countShed(task.eventClass);
+                            logger.warn("Event lane {} is full, rejecting event: {}", index, task.eventClass.getSimpleName());
+                            return false;
+                        case DROP_DUPLICATE:
+                            if (removeDuplicate(task)) {
+                                droppedCount.incrementAndGet();
+                                countShed(task.eventClass);
+                                logger.debug("Event lane {} is full, dropped pending duplicate of: {}", index, task.eventClass.getSimpleName());
+                            }
+                            break;
+                        case DROP_OLDEST:
+                            if (removeOldestPending(task.eventClass)) {
+                                droppedCount.incrementAndGet();
+                                countShed(task.eventClass);
+                                logger.debug("Event lane {} is full, dropped oldest event: {}", index, task.eventClass.getSimpleName());
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    awaitNotFull();
+                }
+
+                queue.addLast(task);
+                submitted.incrementAndGet();
+                if (queue.size() > maxDepth) {
+                    maxDepth = queue.size();
+                }
+                notEmpty.signal();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Must be called while holding the lock.
+         */
+        private void awaitNotFull() {
+            if (queue.size() < capacity || isLaneThread()) {
+                return;
+            }
+
+            backpressureCount.incrementAndGet();
+            final long waitStart = System.nanoTime();
+            try {
+                while (queue.size() >= capacity && !shutdown) {
+                    notFull.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting for event lane {}. Queueing anyways.", index);
+            } finally {
+                backpressureNanos.addAndGet(System.nanoTime() - waitStart);
+            }
+        }
+
+        /**
+         * Removes a pending event of the same class concerning the same entity.
+         * The new event is queued at the end instead, so it does not overtake other events of that entity.
+         * Must be called while holding the lock.
+         */
+        private boolean removeDuplicate(LaneTask task) {
+            final Iterator<LaneTask> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                final LaneTask pending = iterator.next();
+                if (pending.eventClass == task.eventClass && pending.orderingKey == task.orderingKey) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Must be called while holding the lock.
+         */
+        private boolean removeOldestPending(Class<? extends IEvent> eventClass) {
+            final Iterator<LaneTask> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().eventClass == eventClass) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isLaneThread() {
+            final Thread current = Thread.currentThread();
+            for (Lane lane : lanes) {
+                if (lane.worker == current) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void wakeUp() {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void work() {
+            while (true) {
+                final Runnable task;
+                lock.lock();
+                try {
+                    while (queue.isEmpty()) {
+                        if (shutdown) {
+                            return;
+                        }
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    task = queue.pollFirst().task;
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.error("Uncaught exception in event lane {}!", index, e);
+                }
+                completed.incrementAndGet();
+                // Listener interruption targets the listener, not the lane.
+                Thread.interrupted();
+            }
+        }
+
+        private IEventLaneStats snapshot() {
+            final int depth;
+            lock.lock();
+            try {
+                depth = queue.size();
+            } finally {
+                lock.unlock();
+            }
+            return new LaneStats(index, depth, maxDepth, submitted.get(), completed.get(),
+                    backpressureCount.get(), TimeUnit.NANOSECONDS.toMillis(backpressureNanos.get()),
+                    droppedCount.get(), rejectedCount.get());
+        }
+    }
+
+    private static class LaneTask {
+
+        private final Class<? extends IEvent> eventClass;
+        private final int orderingKey;
+        private final Runnable task;
+
+        private LaneTask(Class<? extends IEvent> eventClass, int orderingKey, Runnable task) {
+            this.eventClass = eventClass;
+            this.orderingKey = orderingKey;
+            this.task = task;
+        }
+    }
+
+    private static class LaneStats implements IEventLaneStats {
+
+        private final int index;
+        private final int depth;
+        private final int maxDepth;
+        private final long submitted;
+        private final long completed;
+        private final long backpressureCount;
+        private final long backpressureMillis;
+        private final long droppedCount;
+        private final long rejectedCount;
+
+        private LaneStats(int index, int depth, int maxDepth, long submitted, long completed, long backpressureCount, long backpressureMillis,
+                          long droppedCount, long rejectedCount) {
+            this.index = index;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.backpressureCount = backpressureCount;
+            this.backpressureMillis = backpressureMillis;
+            this.droppedCount = droppedCount;
+            this.rejectedCount = rejectedCount;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public int getDepth() {
+            return depth;
+        }
+
+        @Override
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        @Override
+        public long getSubmittedCount() {
+            return submitted;
+        }
+
+        @Override
+        public long getCompletedCount() {
+            return completed;
+        }
+
+        @Override
+        public long getBackpressureCount() {
+            return backpressureCount;
+        }
+
+        @Override
+        public long getBackpressureMillis() {
+            return backpressureMillis;
+        }
+
+        @Override
+        public long getDroppedCount() {
+            return droppedCount;
+        }
+
+        @Override
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+    }
+}
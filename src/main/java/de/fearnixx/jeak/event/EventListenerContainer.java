@@ -10,10 +10,7 @@ import de.fearnixx.jeak.teamspeak.except.ConsistencyViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.invoke.*;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.text.MessageFormat;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
@@ -25,13 +22,11 @@ import java.util.function.Supplier;
 public class EventListenerContainer {
 
     private static final Logger logger = LoggerFactory.getLogger(EventListenerContainer.class);
-    private static final MethodType LISTENER_INTERFACE_TYPE = MethodType.methodType(BiConsumer.class);
-    private static final MethodType LISTENER_LAMBDA_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
-    public static final boolean FAST_LAMBDAS_ENABLED = Main.getProperty("jeak.frw.enableLambdaEvents", false);
+    public static final boolean FAST_LAMBDAS_ENABLED = Main.getProperty("jeak.frw.enableLambdaEvents", true);
 
-    private static final Map<String, BiConsumer<Object, IEvent>> lambdaCache = new ConcurrentHashMap<>();
+    // Keyed by the method itself: Plugins may declare classes of the same name in different class loaders.
+    private static final Map<Method, BiConsumer<Object, IEvent>> lambdaCache = new ConcurrentHashMap<>();
     private static final String EVENT_PASS_FAILED_MSG = "Failed to pass \"%s\" to %s";
-    private static final String EVENT_PASS_FAILED_ACCESS_MSG = "Failed to pass \"%s\" to %s. Access to listener was denied!";
 
     private final String listenerFQN;
     private final Listener annotation;
@@ -54,72 +49,29 @@ public class EventListenerContainer {
         this.victim = victim;
         this.listenerFQN = method.getDeclaringClass().getName() + '#' + method.getName();
 
-        eventConsumer = constructIfNotCached(listenerFQN, () -> constructConsumer(method));
+        eventConsumer = constructIfNotCached(method, () -> constructConsumer(method));
     }
 
     /**
      * Constructs a consumer that can be invoked when an event is fired.
      * The consumer takes the listeners object instance as its first and the event as its second argument.
+     * Generated lambdas are preferred, falling back to method handles and finally reflection.
      */
     protected BiConsumer<Object, IEvent> constructConsumer(Method method) {
         if (FAST_LAMBDAS_ENABLED) {
-            return buildLambdaConsumer(method);
-        } else {
-            return buildReflectiveConsumer(method);
-        }
-    }
-
-    private BiConsumer<Object, IEvent> buildLambdaConsumer(Method method) {
-        try {
-            MethodHandles.Lookup lookupHandle = MethodHandles.lookup();
-            MethodHandle listenerMethod = lookupHandle.unreflect(method);
-
-            if (logger.isDebugEnabled()) {
-                logger.debug("Trying to construct listener-lambda for: {}", listenerMethod.type().toMethodDescriptorString());
+            try {
+                return ListenerInvokers.lambda(method);
+            } catch (ListenerConstructionException e) {
+                logger.debug("Cannot use lambda for listener {}, trying method handle.", listenerFQN, e);
             }
 
-            var callSite = LambdaMetafactory.metafactory(
-                    lookupHandle,
-                    "accept",
-                    LISTENER_INTERFACE_TYPE,
-                    LISTENER_LAMBDA_METHOD_TYPE,
-                    listenerMethod,
-                    listenerMethod.type());
-            MethodHandle factory = callSite.getTarget();
-            // Lambda will match the provided signature.
-            //noinspection unchecked
-            return (BiConsumer<Object, IEvent>) factory.invoke();
-
-        } catch (IllegalAccessError e) {
-            String msg = MessageFormat.format("Failed to get method handle for listener: {0}", listenerFQN);
-            throw new ListenerConstructionException(msg, e);
-        } catch (LambdaConversionException e) {
-            String msg = MessageFormat.format("Failed to construct lambda for event listener: {0}", listenerFQN);
-            throw new ListenerConstructionException(msg, e);
-        } catch (Throwable e) {
-            String msg = MessageFormat.format("Failed to get lambda for event listener: {0}", listenerFQN);
-            throw new ListenerConstructionException(msg, e);
-        }
-    }
-
-    /**
-     * @deprecated Classical way of dynamically invoking methods. This one should be phased out in the future for the lambda factory.
-     */
-    @Deprecated
-    private BiConsumer<Object, IEvent> buildReflectiveConsumer(Method method) {
-        return (lambdaVictim, event) -> {
             try {
-                method.invoke(lambdaVictim, event);
-            } catch (IllegalAccessException e) {
-                throw new IllegalStateException(String.format(EVENT_PASS_FAILED_ACCESS_MSG, event.getClass().getName(), listenerFQN), e);
-
-            } catch (InvocationTargetException e) {
-                if (e.getCause() != null) {
-                    throw new RelayedInvokationException(e.getCause());
-                }
-                throw new RelayedInvokationException(String.format(EVENT_PASS_FAILED_MSG, event.getClass().getName(), listenerFQN), e);
+                return ListenerInvokers.methodHandle(method);
+            } catch (ListenerConstructionException e) {
+                logger.warn("Cannot use method handle for listener {}, falling back to reflection.", listenerFQN, e);
             }
-        };
+        }
+        return ListenerInvokers.reflective(method);
     }
 
     public Short getOrder() {
@@ -130,6 +82,13 @@ public class EventListenerContainer {
         return victim;
     }
 
+    /**
+     * The event type declared by the listener method.
+     */
+    public Class<IEvent> getEventType() {
+        return listensTo;
+    }
+
     public Boolean accepts(Class<? extends IEvent> eventClass) {
         return listensTo.isAssignableFrom(eventClass);
     }
@@ -152,6 +111,12 @@ public class EventListenerContainer {
             // We caught ANY other exception.
             // Rethrow this as something unchecked which the service is aware of so we don't block other listeners.
             throw new EventInvocationException(String.format(EVENT_PASS_FAILED_MSG, event.getClass().getName(), listenerFQN), e);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Error e) {
+            // Errors of the listener (e.g. linkage errors of plugins) are not wrapped by generated invokers.
+            // Do not let them tear down the event lane.
+            throw new EventInvocationException(String.format(EVENT_PASS_FAILED_MSG, event.getClass().getName(), listenerFQN), e);
         }
     }
 
@@ -159,9 +124,9 @@ public class EventListenerContainer {
         return listenerFQN;
     }
 
-    private static BiConsumer<Object, IEvent> constructIfNotCached(String methodFQN, Supplier<BiConsumer<Object, IEvent>> supplier) {
+    private static BiConsumer<Object, IEvent> constructIfNotCached(Method method, Supplier<BiConsumer<Object, IEvent>> supplier) {
         synchronized (lambdaCache) {
-            return lambdaCache.computeIfAbsent(methodFQN, fqn -> supplier.get());
+            return lambdaCache.computeIfAbsent(method, m -> supplier.get());
         }
     }
 }
@@ -0,0 +1,121 @@
+package de.fearnixx.jeak.event;
+
+import de.fearnixx.jeak.Main;
+import de.fearnixx.jeak.service.metrics.ILatencySnapshot;
+import de.fearnixx.jeak.service.metrics.IListenerMetrics;
+import de.fearnixx.jeak.service.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records listener latencies, exceptions and the time events wait for execution.
+ * Disabled with "jeak.eventmgr.profile=false".
+ *
+ * @since 1.2.0
+ */
+public class EventProfiler {
+
+    public static final boolean PROFILING_ENABLED = Main.getProperty("jeak.eventmgr.profile", true);
+
+    private final Map<String, ListenerRecord> listeners = new ConcurrentHashMap<>();
+    private final Map<Class<? extends IEvent>, LatencyHistogram> queueWaits = new ConcurrentHashMap<>();
+
+    void recordListener(EventListenerContainer listener, long nanos, boolean failed) {
+        if (!PROFILING_ENABLED) {
+            return;
+        }
+
+        final String fqn = listener.getListenerFQN();
+        ListenerRecord record = listeners.get(fqn);
+        if (record == null) {
+            record = listeners.computeIfAbsent(fqn, ListenerRecord::new);
+        }
+        record.latency.recordNanos(nanos);
+        if (failed) {
+            record.exceptions.increment();
+        }
+    }
+
+    void recordQueueWait(Class<? extends IEvent> eventClass, long nanos) {
+        if (!PROFILING_ENABLED) {
+            return;
+        }
+
+        LatencyHistogram histogram = queueWaits.get(eventClass);
+        if (histogram == null) {
+            histogram = queueWaits.computeIfAbsent(eventClass, c -> new LatencyHistogram());
+        }
+        histogram.recordNanos(nanos);
+    }
+
+    public List<IListenerMetrics> getListenerMetrics() {
+        final List<IListenerMetrics> metrics = new ArrayList<>(listeners.size());
+        listeners.values().forEach(record -> metrics.add(record.snapshot()));
+        return metrics;
+    }
+
+    public Map<Class<? extends IEvent>, ILatencySnapshot> getQueueWaits() {
+        final Map<Class<? extends IEvent>, ILatencySnapshot> snapshots = new HashMap<>();
+        queueWaits.forEach((eventClass, histogram) -> snapshots.put(eventClass, histogram.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    public void reset() {
+        listeners.clear();
+        queueWaits.clear();
+    }
+
+    private static class ListenerRecord {
+
+        private final String listenerFQN;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder exceptions = new LongAdder();
+
+        private ListenerRecord(String listenerFQN) {
+            this.listenerFQN = listenerFQN;
+        }
+
+        private IListenerMetrics snapshot() {
+            return new ListenerMetrics(listenerFQN, exceptions.sum(), latency.snapshot());
+        }
+    }
+
+    private static class ListenerMetrics implements IListenerMetrics {
+
+        private final String listenerFQN;
+        private final long exceptionCount;
+        private final ILatencySnapshot latency;
+
+        private ListenerMetrics(String listenerFQN, long exceptionCount, ILatencySnapshot latency) {
+            this.listenerFQN = listenerFQN;
+            this.exceptionCount = exceptionCount;
+            this.latency = latency;
+        }
+
+        @Override
+        public String getListenerFQN() {
+            return listenerFQN;
+        }
+
+        @Override
+        public long getInvocationCount() {
+            return latency.getCount();
+        }
+
+        @Override
+        public long getExceptionCount() {
+            return exceptionCount;
+        }
+
+        @Override
+        public ILatencySnapshot getLatency() {
+            return latency;
+        }
+    }
+}
@@ -3,15 +3,22 @@ package de.fearnixx.jeak.event;
 import de.fearnixx.jeak.Main;
 import de.fearnixx.jeak.event.bot.IBotStateEvent;
 import de.fearnixx.jeak.event.except.EventAbortException;
+import de.fearnixx.jeak.event.query.QueryEvent;
+import de.fearnixx.jeak.event.query.RawQueryEvent;
 import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.reflect.ReflectionIndex;
+import de.fearnixx.jeak.service.event.IEventLaneStats;
 import de.fearnixx.jeak.service.event.IEventService;
 import de.fearnixx.jeak.util.NamePatternThreadFactory;
+import de.fearnixx.jeak.util.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -19,33 +26,96 @@ import java.util.concurrent.*;
  * Each bot creates it's own instances.
  * <p>
  * The following system properties are acknowledged by the EventService class
- * * "bot.eventmgr.poolsize" (Integer)
- * * "bot.eventmgr.terminatedelay" (Integer in milliseconds)
+ * * "jeak.eventmgr.poolsize" (Integer) - the number of event lanes
+ * * "jeak.eventmgr.laneCapacity" (Integer) - the number of events that may wait per lane
+ * * "jeak.eventmgr.overloadPolicy" (String) - the {@link OverloadPolicy} applied when a lane is full
+ * * "jeak.eventmgr.overloadPolicy.&lt;SimpleClassName&gt;" (String) - the {@link OverloadPolicy} for a specific event class
+ * * "jeak.eventmgr.terminatedelay" (Integer in milliseconds)
+ * * "jeak.eventmgr.listenerTimeout" (Integer in milliseconds) - after which a listener is interrupted
+ * * "jeak.virtualThreads" (Boolean) - serve the lanes with virtual threads, if supported by the runtime
+ * * "jeak.eventmgr.virtualLanes" (Integer) - the number of event lanes when virtual threads are used
+ * * "jeak.eventmgr.answerQueueCapacity" (Integer) - the number of query answers that may wait for their callbacks
+ * <p>
+ * Events concerning the same client or channel are processed in the order they have been fired. See {@link EventLaneExecutor}.
+ * Query answers are processed by a separate stage, see {@link #fireAnswer(IQueryEvent.IAnswer, Consumer)}.
  */
 public class EventService implements IEventService {
 
     public static final Integer THREAD_POOL_SIZE = Main.getProperty("jeak.eventmgr.poolsize", 10);
+    public static final Integer LANE_CAPACITY = Main.getProperty("jeak.eventmgr.laneCapacity", 1000);
     public static final Integer AWAIT_TERMINATION_DELAY = Main.getProperty("jeak.eventmgr.terminatedelay", 10000);
+    public static final Integer LISTENER_TIMEOUT = Main.getProperty("jeak.eventmgr.listenerTimeout", 10000);
+    public static final Integer VIRTUAL_LANES = Main.getProperty("jeak.eventmgr.virtualLanes", 1024);
+    public static final Integer ANSWER_QUEUE_CAPACITY = Main.getProperty("jeak.eventmgr.answerQueueCapacity", 1000);
     private static final boolean ENABLE_LISTENER_INTERRUPT = Main.getProperty("jeak.eventmgr.interruptListeners", true);
 
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+    private static final boolean USE_VIRTUAL_THREADS = useVirtualThreads();
+    private static final OverloadPolicy DEFAULT_OVERLOAD_POLICY = readOverloadPolicy("jeak.eventmgr.overloadPolicy", OverloadPolicy.BLOCK);
+    private static final ClassValue<OverloadPolicy> overloadPolicies = new ClassValue<>() {
+        @Override
+        protected OverloadPolicy computeValue(Class<?> eventClass) {
+            // Channel refreshes supersede each other.
+            // Client refreshes don't: Each one reports the clients added, removed and updated since the previous one.
+            final OverloadPolicy classDefault = IQueryEvent.IDataEvent.IRefreshChannels.class.isAssignableFrom(eventClass)
+                    ? OverloadPolicy.DROP_DUPLICATE
+                    : DEFAULT_OVERLOAD_POLICY;
+            return readOverloadPolicy("jeak.eventmgr.overloadPolicy." + eventClass.getSimpleName(), classDefault);
+        }
+    };
 
     private final Object LOCK = new Object();
-    private final List<EventListenerContainer> registeredListeners = new LinkedList<>();
+    private final List<EventListenerContainer> registeredListeners = new ArrayList<>();
+    // Copy-on-write: Replaced whenever listeners are (un-)registered, so firing events does not need the lock.
+    private volatile DispatchTable dispatchTable = new DispatchTable(Collections.emptyList());
+    private final List<Runnable> listenerChangeCallbacks = new CopyOnWriteArrayList<>();
     private final List<EventContainer> runningEvents = new ArrayList<>();
-    private final ThreadPoolExecutor eventExecutor;
-    private final ExecutorService deadCheckExecutor =
-            Executors.newSingleThreadExecutor(new NamePatternThreadFactory("tasksvc-deadcheck-%d"));
+    private final EventProfiler profiler = new EventProfiler();
+    private final EventLaneExecutor eventExecutor;
+    // Answers cannot be dropped as requests wait for their callbacks.
+    // When the queue is full, the connection waits for space and stops reading meanwhile.
+    private final ExecutorService answerExecutor = new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(ANSWER_QUEUE_CAPACITY),
+            new NamePatternThreadFactory("query-answer-%d"),
+            new AwaitCapacityPolicy());
+    private final ExecutorService deadCheckExecutor;
+    // Only with virtual threads: Listener timeouts are enforced individually instead of by the periodic check.
+    private final ScheduledExecutorService timeoutScheduler;
 
-    private boolean terminated;
+    private volatile boolean terminated;
 
     public EventService() {
-        ThreadFactory threadFactory = new NamePatternThreadFactory("event-scheduler-%d");
-        eventExecutor = new ThreadPoolExecutor(THREAD_POOL_SIZE, THREAD_POOL_SIZE,
-                0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                threadFactory);
-        deadCheckExecutor.execute(this::deadListenerCheck);
+        if (USE_VIRTUAL_THREADS) {
+            eventExecutor = new EventLaneExecutor(VIRTUAL_LANES, LANE_CAPACITY, VirtualThreads.newThreadFactory("event-vlane-%d"));
+            deadCheckExecutor = null;
+            timeoutScheduler = Executors.newSingleThreadScheduledExecutor(new NamePatternThreadFactory("event-timeout-%d"));
+        } else {
+            eventExecutor = new EventLaneExecutor(THREAD_POOL_SIZE, LANE_CAPACITY);
+            deadCheckExecutor = Executors.newSingleThreadExecutor(new NamePatternThreadFactory("tasksvc-deadcheck-%d"));
+            timeoutScheduler = null;
+            deadCheckExecutor.execute(this::deadListenerCheck);
+        }
+    }
+
+    private static OverloadPolicy readOverloadPolicy(String property, OverloadPolicy def) {
+        final String value = Main.getProperty(property, def.name());
+        try {
+            return OverloadPolicy.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown overload policy \"{}\" in {}. Using: {}", value, property, def);
+            return def;
+        }
+    }
+
+    private static boolean useVirtualThreads() {
+        if (!Main.getProperty("jeak.virtualThreads", false)) {
+            return false;
+        } else if (!VirtualThreads.isSupported()) {
+            logger.warn("Virtual threads have been requested but are not supported by this runtime. Using platform threads.");
+            return false;
+        }
+        logger.info("Using virtual threads for event execution.");
+        return true;
     }
 
     /**
@@ -57,20 +127,34 @@ public class EventService implements IEventService {
     public void fireEvent(IEvent event) {
         Objects.requireNonNull(event, "Event may not be null!");
 
-        // Run on a temporary copy so adding new listeners during an event doesn't cause a dead-lock!
-        final List<EventListenerContainer> acceptingListeners = new LinkedList<>();
-        synchronized (LOCK) {
-            if (terminated) return;
-            registeredListeners.stream()
-                    .filter(container -> container.accepts(event.getClass()))
-                    .forEach(acceptingListeners::add);
-        }
+        if (terminated) return;
 
-        // Sort by event order
-        acceptingListeners.sort(Comparator.comparingInt(EventListenerContainer::getOrder));
+        // The resolved lists are immutable, so adding new listeners during an event doesn't affect (or dead-lock) it.
+        final List<EventListenerContainer> acceptingListeners = dispatchTable.resolve(event.getClass());
+        if (acceptingListeners.isEmpty()) {
+            logger.debug("No listeners for event: {}", event.getClass().getSimpleName());
+            return;
+        }
         sendEvent(new EventContainer(this, acceptingListeners, event));
     }
 
+    /**
+     * {@inheritDoc}
+     * The listeners of the answer (if any) run on the same thread right after the callbacks, instead of being queued onto the event lanes.
+     * This also keeps answers apart from the lanes, where listeners may be waiting for them.
+     */
+    @Override
+    public void fireAnswer(IQueryEvent.IAnswer answer, Consumer<IQueryEvent.IAnswer> callbacks) {
+        Objects.requireNonNull(answer, "Answer may not be null!");
+
+        final var task = new AnswerTask(answer, callbacks);
+        if (terminated) {
+            task.discard("Event service has been shut down.");
+            return;
+        }
+        answerExecutor.execute(task);
+    }
+
     private void sendEvent(final EventContainer container) {
         final String eventName = container.getEvent().getClass().getSimpleName();
         if (isSynchronized(container.getEvent())) {
@@ -78,26 +162,30 @@ public class EventService implements IEventService {
             container.run();
 
         } else {
-            // Execute using ThreadPoolExecutor
+            // Execute on the lane of the event
             logger.debug("Queueing event {}", eventName);
-            eventExecutor.execute(() -> {
-                logger.debug("Sending event: {} to {} listeners", eventName, container.getListeners().size());
-                synchronized (runningEvents) {
-                    runningEvents.add(container);
-                }
-                try {
-                    container.run();
-                } catch (EventAbortException e) {
-                    logger.debug("Aborted event: {}", eventName);
-                }
-                synchronized (runningEvents) {
-                    runningEvents.remove(container);
-                }
-                logger.debug("Finished executing listeners for: {}", eventName);
-            });
+            final OverloadPolicy policy = overloadPolicies.get(container.getEvent().getClass());
+            eventExecutor.execute(container.getEvent(), policy, () -> runEvent(container));
         }
     }
 
+    private void runEvent(EventContainer container) {
+        final String eventName = container.getEvent().getClass().getSimpleName();
+        logger.debug("Sending event: {} to {} listeners", eventName, container.getListeners().size());
+        synchronized (runningEvents) {
+            runningEvents.add(container);
+        }
+        try {
+            container.run();
+        } catch (EventAbortException e) {
+            logger.debug("Aborted event: {}", eventName);
+        }
+        synchronized (runningEvents) {
+            runningEvents.remove(container);
+        }
+        logger.debug("Finished executing listeners for: {}", eventName);
+    }
+
     private boolean isSynchronized(IEvent event) {
         return event instanceof IBotStateEvent;
     }
@@ -108,6 +196,7 @@ public class EventService implements IEventService {
     public void addContainer(EventListenerContainer container) {
         synchronized (LOCK) {
             registeredListeners.add(container);
+            invalidateDispatchTable();
         }
     }
 
@@ -127,14 +216,53 @@ public class EventService implements IEventService {
     public void registerListener(Object victim) {
         Objects.requireNonNull(victim, "Listener victim may not be null!");
 
+        final Collection<Method> listenerMethods = listenerMethodsOf(victim.getClass());
         synchronized (LOCK) {
-            for (Method method : victim.getClass().getMethods()) {
-                Listener anno = method.getAnnotation(Listener.class);
-                if (anno == null)
-                    continue;
-
+            for (Method method : listenerMethods) {
                 registeredListeners.add(new EventListenerContainer(victim, method));
             }
+            invalidateDispatchTable();
+        }
+    }
+
+    /**
+     * Public listener methods of the class, like {@link Class#getMethods()}: Overriding methods replace the overridden ones.
+     * Each class in the hierarchy contributes its declared methods from its own build-time index if available,
+     * so the index of a class stays valid when its super classes change.
+     */
+    private static Collection<Method> listenerMethodsOf(Class<?> victimClass) {
+        final Set<Method> listenerMethods = new LinkedHashSet<>();
+        collectListenerMethods(victimClass, victimClass, listenerMethods, new HashSet<>());
+        return listenerMethods;
+    }
+
+    private static void collectListenerMethods(Class<?> victimClass, Class<?> type, Set<Method> listenerMethods, Set<Class<?>> visited) {
+        if (type == null || type == Object.class || !visited.add(type)) {
+            return;
+        }
+
+        final Optional<ReflectionIndex> optIndex = ReflectionIndex.of(type);
+        final Method[] candidates = optIndex.isPresent()
+                ? optIndex.get().getListenerMethods().toArray(new Method[0])
+                : type.getDeclaredMethods();
+        for (Method candidate : candidates) {
+            if (!Modifier.isPublic(candidate.getModifiers())) {
+                continue;
+            }
+            try {
+                // The method as seen by the class: Overrides do not inherit the annotation.
+                final Method resolved = victimClass.getMethod(candidate.getName(), candidate.getParameterTypes());
+                if (resolved.isAnnotationPresent(Listener.class)) {
+                    listenerMethods.add(resolved);
+                }
+            } catch (NoSuchMethodException e) {
+                // Static interface methods are not inherited.
+            }
+        }
+
+        collectListenerMethods(victimClass, type.getSuperclass(), listenerMethods, visited);
+        for (Class<?> superInterface : type.getInterfaces()) {
+            collectListenerMethods(victimClass, superInterface, listenerMethods, visited);
         }
     }
 
@@ -143,14 +271,62 @@ public class EventService implements IEventService {
         Objects.requireNonNull(victim, "Listener victim may not be null!");
 
         synchronized (LOCK) {
-            for (Method method : victim.getClass().getMethods()) {
-                Listener anno = method.getAnnotation(Listener.class);
-                if (anno == null)
-                    continue;
+            if (registeredListeners.removeIf(container -> container.getVictim() == victim)) {
+                invalidateDispatchTable();
+            }
+        }
+    }
 
-                registeredListeners.removeIf(container -> container.getVictim() == victim);
+    @Override
+    public boolean hasListeners(Class<? extends IEvent> eventClass, Class<? extends IEvent> declaredType) {
+        for (EventListenerContainer listener : dispatchTable.resolve(eventClass)) {
+            if (declaredType.isAssignableFrom(listener.getEventType())) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void invalidateDispatchTable() {
+        dispatchTable = new DispatchTable(registeredListeners);
+        listenerChangeCallbacks.forEach(Runnable::run);
+    }
+
+    @Override
+    public void onListenersChanged(Runnable callback) {
+        listenerChangeCallbacks.add(callback);
+    }
+
+    @Override
+    public List<IEventLaneStats> getLaneStats() {
+        return eventExecutor.getLaneStats();
+    }
+
+    @Override
+    public Map<Class<? extends IEvent>, Long> getShedEventCounts() {
+        return eventExecutor.getShedCounts();
+    }
+
+    public EventProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Schedules the interruption of the current listener of an asynchronous event, if listener timeouts are enforced individually.
+     *
+     * @return the scheduled interruption, to be cancelled when the listener returns in time. {@code null} if not applicable.
+     */
+    ScheduledFuture<?> scheduleListenerTimeout(EventContainer container, int receiverIndex) {
+        if (timeoutScheduler == null || !ENABLE_LISTENER_INTERRUPT || isSynchronized(container.getEvent())) {
+            return null;
+        }
+        return timeoutScheduler.schedule(() -> {
+            logger.debug("Attempting to interrupt listener for event: {}", container.getEvent().getClass().getSimpleName());
+            container.interruptReceiver(receiverIndex);
+        }, LISTENER_TIMEOUT, TimeUnit.MILLISECONDS);
     }
 
     @SuppressWarnings("squid:S2142")
@@ -162,7 +338,7 @@ public class EventService implements IEventService {
 
             synchronized (runningEvents) {
                 runningEvents.stream()
-                        .filter(container -> container.getListenerRuntime() > 10000 && ENABLE_LISTENER_INTERRUPT)
+                        .filter(container -> container.getListenerRuntime() > LISTENER_TIMEOUT && ENABLE_LISTENER_INTERRUPT)
                         .forEach(container -> {
                             logger.debug("Attempting to interrupt listener for event: {}", container.getEvent().getClass().getSimpleName());
                             container.interruptReceiver();
@@ -188,8 +364,15 @@ public class EventService implements IEventService {
             boolean terminated_successfully = false;
             try {
                 eventExecutor.shutdown();
-                deadCheckExecutor.shutdown();
-                terminated_successfully = eventExecutor.awaitTermination(AWAIT_TERMINATION_DELAY, TimeUnit.MILLISECONDS);
+                answerExecutor.shutdown();
+                if (deadCheckExecutor != null) {
+                    deadCheckExecutor.shutdown();
+                }
+                terminated_successfully = eventExecutor.awaitTermination(AWAIT_TERMINATION_DELAY, TimeUnit.MILLISECONDS)
+                        && answerExecutor.awaitTermination(AWAIT_TERMINATION_DELAY, TimeUnit.MILLISECONDS);
+                if (timeoutScheduler != null) {
+                    timeoutScheduler.shutdownNow();
+                }
             } catch (InterruptedException e) {
                 logger.error("Got interrupted while awaiting thread termination!", e);
                 Thread.currentThread().interrupt();
@@ -200,4 +383,107 @@ public class EventService implements IEventService {
             }
         }
     }
+
+    /**
+     * Completes the callbacks of an answer and runs its listeners on the answer stage.
+     */
+    private class AnswerTask implements Runnable {
+
+        private final IQueryEvent.IAnswer answer;
+        private final Consumer<IQueryEvent.IAnswer> callbacks;
+
+        private AnswerTask(IQueryEvent.IAnswer answer, Consumer<IQueryEvent.IAnswer> callbacks) {
+            this.answer = answer;
+            this.callbacks = callbacks;
+        }
+
+        @Override
+        public void run() {
+            callbacks.accept(answer);
+            final List<EventListenerContainer> acceptingListeners = dispatchTable.resolve(answer.getClass());
+            if (!acceptingListeners.isEmpty()) {
+                runEvent(new EventContainer(EventService.this, acceptingListeners, answer));
+            }
+        }
+
+        /**
+         * Completes the callbacks with an error instead, so requests waiting for the answer are not left hanging.
+         * Runs on the calling thread, listeners are not notified.
+         */
+        private void discard(String reason) {
+            logger.debug("Discarding answer to: {} - {}", answer.getRequest().getCommand(), reason);
+            final var error = new RawQueryEvent.ErrorMessage(answer.getRequest());
+            error.setProperty("id", "-1");
+            error.setProperty("msg", reason);
+            final var discarded = new QueryEvent.Answer();
+            discarded.setConnection(answer.getConnection());
+            discarded.setRequest(answer.getRequest());
+            discarded.setError(error);
+            discarded.setChain(Collections.emptyList());
+            callbacks.accept(discarded);
+        }
+    }
+
+    /**
+     * Backpressure for the answer stage: The submitting connection waits until the answer queue has space again.
+     * Unlike {@link ThreadPoolExecutor.CallerRunsPolicy}, callbacks and listeners never run on the thread reading from the connection.
+     * There, a listener waiting for another answer would dead-lock the connection.
+     * Connections do not hold locks while dispatching, so answer listeners may queue further requests meanwhile.
+     * Answers that cannot be queued anymore complete their callbacks with an error.
+     */
+    private static class AwaitCapacityPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            try {
+                while (!executor.isShutdown()) {
+                    if (executor.getQueue().offer(task, 1, TimeUnit.SECONDS)) {
+                        return;
+                    }
+                    logger.debug("Answer queue is full. Waiting for space.");
+                }
+                ((AnswerTask) task).discard("Event service has been shut down.");
+            } catch (InterruptedException e) {
+                // Connections are only interrupted when they are being closed.
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting for the answer queue. Failing request.");
+                ((AnswerTask) task).discard("Interrupted while waiting for the answer queue.");
+            }
+        }
+    }
+
+    /**
+     * Immutable view of the registered listeners.
+     * The listeners for each concrete event class are resolved and sorted once and then served from the cache.
+     */
+    private static class DispatchTable {
+
+        private final EventListenerContainer[] listeners;
+        private final Map<Class<? extends IEvent>, List<EventListenerContainer>> byEventClass = new ConcurrentHashMap<>();
+
+        private DispatchTable(List<EventListenerContainer> registeredListeners) {
+            // Sort by event order - the sort is stable so listeners of equal order stay in registration order.
+            this.listeners = registeredListeners.stream()
+                    .sorted(Comparator.comparingInt(EventListenerContainer::getOrder))
+                    .toArray(EventListenerContainer[]::new);
+        }
+
+        private List<EventListenerContainer> resolve(Class<? extends IEvent> eventClass) {
+            final List<EventListenerContainer> resolved = byEventClass.get(eventClass);
+            if (resolved != null) {
+                return resolved;
+            }
+            return byEventClass.computeIfAbsent(eventClass, this::collect);
+        }
+
+        private List<EventListenerContainer> collect(Class<? extends IEvent> eventClass) {
+            final List<EventListenerContainer> accepting = new ArrayList<>();
+            for (EventListenerContainer listener : listeners) {
+                if (listener.accepts(eventClass)) {
+                    accepting.add(listener);
+                }
+            }
+            return List.copyOf(accepting);
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package de.fearnixx.jeak.event;
+
+import de.fearnixx.jeak.event.except.ListenerConstructionException;
+import de.fearnixx.jeak.event.except.RelayedInvokationException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.function.BiConsumer;
+
+/**
+ * Creates the consumers used to pass events to listener methods.
+ * Each consumer takes the listeners object instance as its first and the event as its second argument.
+ *
+ * @implNote Listeners usually live in plugin class loaders and may be declared non-public.
+ * Method handles are therefore looked up through {@link MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)} on the declaring class,
+ * which also makes the generated lambda class a member of the plugin class loader.
+ * @since 1.2.0
+ */
+public final class ListenerInvokers {
+
+    private static final MethodType LISTENER_INTERFACE_TYPE = MethodType.methodType(BiConsumer.class);
+    private static final MethodType LISTENER_LAMBDA_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType LISTENER_HANDLE_TYPE = MethodType.methodType(void.class, Object.class, IEvent.class);
+
+    private static final String EVENT_PASS_FAILED_MSG = "Failed to pass \"%s\" to %s";
+    private static final String EVENT_PASS_FAILED_ACCESS_MSG = "Failed to pass \"%s\" to %s. Access to listener was denied!";
+
+    private ListenerInvokers() {
+    }
+
+    /**
+     * Generates a class implementing {@link BiConsumer} that invokes the listener directly.
+     * This is as fast as a hand-written call once the JIT has inlined it.
+     *
+     * @throws ListenerConstructionException if the lambda cannot be generated.
+     *                                       For example, Java 16+ requires full privilege access to the declaring class, which is not granted across class loaders.
+     */
+    public static BiConsumer<Object, IEvent> lambda(Method method) {
+        try {
+            final MethodHandles.Lookup lookup = lookupFor(method);
+            final MethodHandle listenerMethod = lookup.unreflect(method);
+            final CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    LISTENER_INTERFACE_TYPE,
+                    LISTENER_LAMBDA_METHOD_TYPE,
+                    listenerMethod,
+                    listenerMethod.type());
+            // Lambda will match the provided signature.
+            //noinspection unchecked
+            return (BiConsumer<Object, IEvent>) callSite.getTarget().invoke();
+
+        } catch (Throwable e) {
+            String msg = MessageFormat.format("Failed to construct lambda for event listener: {0}", fqnOf(method));
+            throw new ListenerConstructionException(msg, e);
+        }
+    }
+
+    /**
+     * Invokes the listener through an exactly typed {@link MethodHandle}.
+     * Works whenever the method is accessible to reflection, without any generated classes.
+     *
+     * @throws ListenerConstructionException if no method handle can be obtained.
+     */
+    public static BiConsumer<Object, IEvent> methodHandle(Method method) {
+        final MethodHandle handle;
+        try {
+            handle = unreflect(method).asType(LISTENER_HANDLE_TYPE);
+        } catch (RuntimeException | IllegalAccessException e) {
+            String msg = MessageFormat.format("Failed to get method handle for event listener: {0}", fqnOf(method));
+            throw new ListenerConstructionException(msg, e);
+        }
+
+        return (victim, event) -> {
+            try {
+                handle.invokeExact(victim, event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RelayedInvokationException(e);
+            }
+        };
+    }
+
+    /**
+     * Classical way of dynamically invoking methods. Only used when neither {@link #lambda(Method)} nor {@link #methodHandle(Method)} succeeds.
+     */
+    public static BiConsumer<Object, IEvent> reflective(Method method) {
+        final String listenerFQN = fqnOf(method);
+        return (victim, event) -> {
+            try {
+                method.invoke(victim, event);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(String.format(EVENT_PASS_FAILED_ACCESS_MSG, event.getClass().getName(), listenerFQN), e);
+
+            } catch (InvocationTargetException e) {
+                if (e.getCause() != null) {
+                    throw new RelayedInvokationException(e.getCause());
+                }
+                throw new RelayedInvokationException(String.format(EVENT_PASS_FAILED_MSG, event.getClass().getName(), listenerFQN), e);
+            }
+        };
+    }
+
+    private static MethodHandles.Lookup lookupFor(Method method) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        try {
+            return lookupFor(method).unreflect(method);
+        } catch (IllegalAccessException e) {
+            // The package is not opened to us (named modules) - try to override access checks instead.
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        }
+    }
+
+    private static String fqnOf(Method method) {
+        return method.getDeclaringClass().getName() + '#' + method.getName();
+    }
+}
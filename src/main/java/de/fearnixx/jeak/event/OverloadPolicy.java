@@ -0,0 +1,33 @@
+package de.fearnixx.jeak.event;
+
+/**
+ * What happens to an event when its lane of the {@link EventLaneExecutor} is full.
+ * Configured per event class with "jeak.eventmgr.overloadPolicy.&lt;SimpleClassName&gt;", otherwise "jeak.eventmgr.overloadPolicy".
+ *
+ * @since 1.2.0
+ */
+public enum OverloadPolicy {
+
+    /**
+     * The event source waits until there is room again.
+     */
+    BLOCK,
+
+    /**
+     * The oldest pending event of the same class is dropped.
+     * If there is none, the event source waits.
+     */
+    DROP_OLDEST,
+
+    /**
+     * A pending event of the same class concerning the same client or channel is dropped, the new one is queued at the end.
+     * If there is none, the event source waits.
+     * Suitable for events superseding each other, like cache refreshes.
+     */
+    DROP_DUPLICATE,
+
+    /**
+     * The new event is dropped and a warning is logged.
+     */
+    REJECT
+}
@@ -19,6 +19,9 @@ import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Created by MarkL4YG on 01-Feb-18
@@ -50,21 +53,90 @@ public abstract class QueryEvent extends BasicDataHolder implements IQueryEvent
 
         public static class RefreshClients extends BasicDataEvent implements IRefreshClients {
 
-            private final List<IClient> clients;
-            private final Map<Integer, IClient> clientMap;
-
-            public RefreshClients(List<IClient> clients, Map<Integer, IClient> clientMap) {
-                this.clients = clients;
-                this.clientMap = clientMap;
+            private final Supplier<List<IClient>> clientsSupplier;
+            private final Supplier<Map<Integer, IClient>> clientMapSupplier;
+            private final Set<Integer> addedClientIds;
+            private final Set<Integer> removedClientIds;
+            private final Set<Integer> updatedClientIds;
+            private List<IClient> clients;
+            private Map<Integer, IClient> clientMap;
+
+            /**
+             * The suppliers are invoked on first access, so listeners not interested in the full state don't pay for the copies.
+             */
+            public RefreshClients(Supplier<List<IClient>> clientsSupplier, Supplier<Map<Integer, IClient>> clientMapSupplier,
+                                  Set<Integer> addedClientIds, Set<Integer> removedClientIds, Set<Integer> updatedClientIds) {
+                this.clientsSupplier = clientsSupplier;
+                this.clientMapSupplier = clientMapSupplier;
+                this.addedClientIds = Collections.unmodifiableSet(addedClientIds);
+                this.removedClientIds = Collections.unmodifiableSet(removedClientIds);
+                this.updatedClientIds = Collections.unmodifiableSet(updatedClientIds);
             }
 
-            public List<IClient> getClients() {
+            public synchronized List<IClient> getClients() {
+                if (clients == null) {
+                    clients = clientsSupplier.get();
+                }
                 return clients;
             }
 
-            public Map<Integer, IClient> getClientMap() {
+            public synchronized Map<Integer, IClient> getClientMap() {
+                if (clientMap == null) {
+                    clientMap = clientMapSupplier.get();
+                }
                 return clientMap;
             }
+
+            @Override
+            public Set<Integer> getAddedClientIds() {
+                return addedClientIds;
+            }
+
+            @Override
+            public Set<Integer> getRemovedClientIds() {
+                return removedClientIds;
+            }
+
+            @Override
+            public Set<Integer> getUpdatedClientIds() {
+                return updatedClientIds;
+            }
+        }
+
+        public static class ClientUpdated extends BasicDataEvent implements IClientUpdated {
+
+            private final IClient client;
+            private final Map<String, String> previousValues;
+
+            /**
+             * @param previousValues the previous value of each changed property, {@code null} for added ones.
+             */
+            public ClientUpdated(IClient client, Map<String, String> previousValues) {
+                this.client = client;
+                this.previousValues = previousValues;
+                // Keeps the event on the lane of the client.
+                setProperty(PropertyKeys.Client.ID, client.getClientID());
+            }
+
+            @Override
+            public IClient getTarget() {
+                return client;
+            }
+
+            @Override
+            public Set<String> getChangedProperties() {
+                return Collections.unmodifiableSet(previousValues.keySet());
+            }
+
+            @Override
+            public boolean hasChanged(String key) {
+                return previousValues.containsKey(key);
+            }
+
+            @Override
+            public Optional<String> getPreviousValue(String key) {
+                return Optional.ofNullable(previousValues.get(key));
+            }
         }
 
         public static class RefreshChannels extends BasicDataEvent implements IRefreshChannels {
@@ -131,6 +203,23 @@ public abstract class QueryEvent extends BasicDataHolder implements IQueryEvent
         public String getErrorMessage() {
             return getError().getMessage();
         }
+
+        /**
+         * Creates a view of this answer that reports another request.
+         * Used when one answer is shared by multiple requests that have been coalesced or batched.
+         *
+         * @since 1.2.0
+         */
+        public Answer forRequest(IQueryRequest request) {
+            final Answer view = new Answer();
+            view.copyFrom(this);
+            view.setConnection(getConnection());
+            view.setRawReference(getRawReference());
+            view.setRequest(request);
+            view.setError(error);
+            view.setChain(chain);
+            return view;
+        }
     }
 
     public abstract static class Notification extends QueryEvent implements IQueryEvent.INotification {
@@ -146,6 +235,34 @@ public abstract class QueryEvent extends BasicDataHolder implements IQueryEvent
         }
     }
 
+    public abstract static class NotificationBatch<T extends INotification> extends QueryEvent implements INotificationBatch<T> {
+
+        private final List<T> notifications;
+
+        protected NotificationBatch(List<T> notifications) {
+            this.notifications = Collections.unmodifiableList(notifications);
+        }
+
+        @Override
+        public List<T> getNotifications() {
+            return notifications;
+        }
+    }
+
+    public static class ClientMovedBatch extends NotificationBatch<INotification.IClientMoved> implements INotificationBatch.IClientMovedBatch {
+
+        public ClientMovedBatch(List<INotification.IClientMoved> notifications) {
+            super(notifications);
+        }
+    }
+
+    public static class ClientEnterBatch extends NotificationBatch<INotification.IClientEnter> implements INotificationBatch.IClientEnterBatch {
+
+        public ClientEnterBatch(List<INotification.IClientEnter> notifications) {
+            super(notifications);
+        }
+    }
+
     public abstract static class TargetClient extends Notification implements ITargetClient {
 
         private IClient client;
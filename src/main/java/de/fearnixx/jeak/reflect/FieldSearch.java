@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class FieldSearch {
 
@@ -29,15 +30,20 @@ public class FieldSearch {
         }
 
         final List<Field> andBelow = new LinkedList<>();
-        for (Field field : cls.getDeclaredFields()) {
-            Inject annotation = field.getAnnotation(Inject.class);
+        final Optional<ReflectionIndex> optIndex = ReflectionIndex.of(cls);
+        if (optIndex.isPresent()) {
+            andBelow.addAll(optIndex.get().getInjectionFields());
+        } else {
+            for (Field field : cls.getDeclaredFields()) {
+                Inject annotation = field.getAnnotation(Inject.class);
 
-            if (annotation != null) {
-                if (logger.isDebugEnabled()) {
-                    final String fieldName = field.toGenericString();
-                    logger.debug("Discovered field: {}", fieldName);
+                if (annotation != null) {
+                    if (logger.isDebugEnabled()) {
+                        final String fieldName = field.toGenericString();
+                        logger.debug("Discovered field: {}", fieldName);
+                    }
+                    andBelow.add(field);
                 }
-                andBelow.add(field);
             }
         }
 
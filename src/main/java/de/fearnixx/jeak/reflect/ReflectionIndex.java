@@ -0,0 +1,118 @@
+package de.fearnixx.jeak.reflect;
+
+import de.fearnixx.jeak.Main;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Listener methods and injection fields declared by a class, as written by the {@link ReflectionIndexProcessor} at build time.
+ * Resolving the indexed members avoids scanning all methods and fields and parsing their annotations.
+ * Inherited members are not included, they are resolved using the index of the declaring class.
+ *
+ * @since 1.2.0
+ */
+public class ReflectionIndex {
+
+    public static final boolean INDEX_ENABLED = Main.getProperty("jeak.frw.reflectionIndex", true);
+
+    private static final Logger logger = LoggerFactory.getLogger(ReflectionIndex.class);
+
+    private static final ClassValue<Optional<ReflectionIndex>> indexCache = new ClassValue<>() {
+        @Override
+        protected Optional<ReflectionIndex> computeValue(Class<?> type) {
+            return INDEX_ENABLED ? load(type) : Optional.empty();
+        }
+    };
+
+    private final List<Method> listenerMethods;
+    private final List<Field> injectionFields;
+
+    private ReflectionIndex(List<Method> listenerMethods, List<Field> injectionFields) {
+        this.listenerMethods = Collections.unmodifiableList(listenerMethods);
+        this.injectionFields = Collections.unmodifiableList(injectionFields);
+    }
+
+    /**
+     * @return the index of the class or an empty optional if it has not been indexed (or the index is unusable).
+     */
+    public static Optional<ReflectionIndex> of(Class<?> type) {
+        return indexCache.get(type);
+    }
+
+    /**
+     * Public methods annotated with {@link Listener} declared by the class.
+     */
+    public List<Method> getListenerMethods() {
+        return listenerMethods;
+    }
+
+    /**
+     * Fields annotated with {@link Inject} declared by the class.
+     */
+    public List<Field> getInjectionFields() {
+        return injectionFields;
+    }
+
+    private static Optional<ReflectionIndex> load(Class<?> type) {
+        final ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            return Optional.empty();
+        }
+
+        try (InputStream in = classLoader.getResourceAsStream(ReflectionIndexProcessor.INDEX_LOCATION + type.getName())) {
+            if (in == null) {
+                return Optional.empty();
+            }
+
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            if (!ReflectionIndexProcessor.INDEX_HEADER.equals(reader.readLine())) {
+                logger.debug("Ignoring reflection index of unknown format for: {}", type.getName());
+                return Optional.empty();
+            }
+
+            final List<Method> listenerMethods = new ArrayList<>();
+            final List<Field> injectionFields = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                final String[] parts = line.split(" ");
+                if (ReflectionIndexProcessor.LISTENER_ENTRY.equals(parts[0]) && parts.length >= 2) {
+                    final Class<?>[] parameterTypes = new Class<?>[parts.length - 2];
+                    for (int i = 0; i < parameterTypes.length; i++) {
+                        parameterTypes[i] = Class.forName(parts[i + 2], false, classLoader);
+                    }
+                    listenerMethods.add(type.getDeclaredMethod(parts[1], parameterTypes));
+
+                } else if (ReflectionIndexProcessor.INJECT_ENTRY.equals(parts[0]) && parts.length == 2) {
+                    injectionFields.add(type.getDeclaredField(parts[1]));
+
+                } else {
+                    logger.debug("Ignoring reflection index with unknown entry for: {}", type.getName());
+                    return Optional.empty();
+                }
+            }
+
+            logger.debug("Using reflection index for: {}", type.getName());
+            return Optional.of(new ReflectionIndex(listenerMethods, injectionFields));
+
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            logger.warn("Reflection index of {} is unusable, it will be scanned instead. Has it been compiled against other classes?", type.getName(), e);
+            return Optional.empty();
+        }
+    }
+}
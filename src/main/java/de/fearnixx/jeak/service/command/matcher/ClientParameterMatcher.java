@@ -46,10 +46,9 @@ public class ClientParameterMatcher extends AbstractFrameworkTypeMatcher<IClient
             results = userService.findClientByDBID(Integer.parseInt(extracted));
 
         } else if (CLID_PATTERN.matcher(extracted).matches()) {
-            IClient res = dataCache.getClientMap().getOrDefault(Integer.parseInt(extracted), null);
-            if (res != null) {
-                results = List.of(res);
-            }
+            results = dataCache.getClient(Integer.parseInt(extracted))
+                    .map(List::of)
+                    .orElse(Collections.emptyList());
         } else if (TSUID_PATTERN.matcher(extracted).matches()) {
             results = userService.findClientByUniqueID(extracted);
         } else {
@@ -46,7 +46,7 @@ public class UserParameterMatcher extends AbstractFrameworkTypeMatcher<IUser> {
             results = userService.findUserByDBID(Integer.parseInt(extracted.substring(3)));
 
         } else if (CLID_PATTERN.matcher(extracted).matches()) {
-            IClient res = dataCache.getClientMap().getOrDefault(Integer.parseInt(extracted.substring(2)), null);
+            IClient res = dataCache.getClient(Integer.parseInt(extracted.substring(2))).orElse(null);
             if (res != null) {
                 results = List.of(res);
             }
@@ -0,0 +1,103 @@
+package de.fearnixx.jeak.service.metrics;
+
+import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.reflect.Inject;
+import de.fearnixx.jeak.service.command.CommandException;
+import de.fearnixx.jeak.service.command.ICommandContext;
+import de.fearnixx.jeak.service.command.ICommandExecutionContext;
+import de.fearnixx.jeak.service.command.ICommandReceiver;
+import de.fearnixx.jeak.service.command.spec.Commands;
+import de.fearnixx.jeak.service.command.spec.ICommandSpec;
+import de.fearnixx.jeak.service.teamspeak.IUserService;
+import de.fearnixx.jeak.teamspeak.IServer;
+import de.fearnixx.jeak.teamspeak.data.IClient;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the slowest listeners and the longest event queue waits to the invoker.
+ */
+public class ListenerReportCommand implements ICommandReceiver {
+
+    private static final String PERMISSION = "frw.metrics.view";
+    private static final int REPORT_SIZE = 10;
+
+    @Inject
+    private IMetricsService metricsService;
+
+    @Inject
+    private IUserService userService;
+
+    @Inject
+    private IServer server;
+
+    @Override
+    public void receive(ICommandContext ctx) throws CommandException {
+        final Integer invokerId = ctx.getRawEvent().getInvokerId();
+        final IClient invoker = userService.getClientByID(invokerId).orElse(null);
+
+        if (invoker == null) {
+            throw new CommandException("Sorry, your client could not be found in the cache. Please wait a moment and try again.");
+        }
+
+        if (!invoker.hasPermission(PERMISSION)) {
+            throw new CommandException("You are not allowed to use this command! (UID: " + invoker.getUniqueID() + ", failed at: " + PERMISSION + ")");
+        }
+        sendReport(invoker);
+    }
+
+    private void typedInvoke(ICommandExecutionContext ctx) {
+        sendReport(ctx.getSender());
+    }
+
+    private void sendReport(IClient invoker) {
+        final StringBuilder listeners = new StringBuilder("Slowest listeners (p99 / mean / max in ms, invocations, exceptions):");
+        final List<IListenerMetrics> slowest = metricsService.getSlowestListeners(REPORT_SIZE);
+        for (IListenerMetrics metrics : slowest) {
+            final ILatencySnapshot latency = metrics.getLatency();
+            listeners.append('\n')
+                    .append(shortName(metrics.getListenerFQN())).append(": ")
+                    .append(millis(latency.getPercentileMicros(99))).append(" / ")
+                    .append(millis(latency.getMeanMicros())).append(" / ")
+                    .append(millis(latency.getMaxMicros())).append(", ")
+                    .append(metrics.getInvocationCount()).append(", ")
+                    .append(metrics.getExceptionCount());
+        }
+        server.getConnection().sendRequest(invoker.sendMessage(listeners.toString()));
+
+        final StringBuilder waits = new StringBuilder("Longest event queue waits (p99 / max in ms, events):");
+        metricsService.getQueueWaits()
+                .entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Class<? extends IEvent>, ILatencySnapshot> e) -> e.getValue().getPercentileMicros(99)).reversed())
+                .limit(REPORT_SIZE)
+                .forEach(e -> waits.append('\n')
+                        .append(e.getKey().getSimpleName()).append(": ")
+                        .append(millis(e.getValue().getPercentileMicros(99))).append(" / ")
+                        .append(millis(e.getValue().getMaxMicros())).append(", ")
+                        .append(e.getValue().getCount()));
+        server.getConnection().sendRequest(invoker.sendMessage(waits.toString()));
+    }
+
+    /**
+     * Messages are limited in length, so the package is omitted.
+     */
+    private static String shortName(String listenerFQN) {
+        final int hashIndex = listenerFQN.indexOf('#');
+        final int packageEnd = listenerFQN.lastIndexOf('.', hashIndex < 0 ? listenerFQN.length() : hashIndex);
+        return listenerFQN.substring(packageEnd + 1);
+    }
+
+    private static String millis(double micros) {
+        return String.format("%.1f", micros / 1000);
+    }
+
+    public ICommandSpec getCommandSpec() {
+        return Commands.commandSpec("listener-report", "frw:listener-report")
+                .permission(PERMISSION)
+                .executor(this::typedInvoke)
+                .build();
+    }
+}
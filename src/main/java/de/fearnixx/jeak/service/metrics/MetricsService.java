@@ -0,0 +1,68 @@
+package de.fearnixx.jeak.service.metrics;
+
+import de.fearnixx.jeak.event.EventProfiler;
+import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.event.bot.IBotStateEvent;
+import de.fearnixx.jeak.reflect.FrameworkService;
+import de.fearnixx.jeak.reflect.IInjectionService;
+import de.fearnixx.jeak.reflect.Inject;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.service.command.ICommandService;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@FrameworkService(serviceInterface = IMetricsService.class)
+public class MetricsService implements IMetricsService {
+
+    private static final Comparator<IListenerMetrics> BY_P99_DESC =
+            Comparator.comparingLong((IListenerMetrics m) -> m.getLatency().getPercentileMicros(99))
+                    .thenComparingDouble(m -> m.getLatency().getMeanMicros())
+                    .reversed();
+
+    private final EventProfiler eventProfiler;
+
+    @Inject
+    private ICommandService commandService;
+
+    @Inject
+    private IInjectionService injectionService;
+
+    public MetricsService(EventProfiler eventProfiler) {
+        this.eventProfiler = eventProfiler;
+    }
+
+    @Listener
+    public void onInitialize(IBotStateEvent.IInitializeEvent event) {
+        final ListenerReportCommand reportCommand = new ListenerReportCommand();
+        injectionService.injectInto(reportCommand);
+        commandService.registerCommand("listener-report", reportCommand);
+        commandService.registerCommand(reportCommand.getCommandSpec());
+    }
+
+    @Override
+    public List<IListenerMetrics> getListenerMetrics() {
+        return eventProfiler.getListenerMetrics();
+    }
+
+    @Override
+    public List<IListenerMetrics> getSlowestListeners(int limit) {
+        return eventProfiler.getListenerMetrics()
+                .stream()
+                .sorted(BY_P99_DESC)
+                .limit(limit)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public Map<Class<? extends IEvent>, ILatencySnapshot> getQueueWaits() {
+        return eventProfiler.getQueueWaits();
+    }
+
+    @Override
+    public void reset() {
+        eventProfiler.reset();
+    }
+}
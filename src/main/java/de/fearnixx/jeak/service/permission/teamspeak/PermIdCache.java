@@ -9,6 +9,7 @@ import de.fearnixx.jeak.service.task.ITaskService;
 import de.fearnixx.jeak.teamspeak.IServer;
 import de.fearnixx.jeak.teamspeak.data.IDataHolder;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +53,7 @@ public class PermIdCache {
         server.getConnection().sendRequest(
                 IQueryRequest.builder()
                         .command("permissionlist")
+                        .priority(QueryPriority.SYSTEM)
                         .onError(err -> {
                             logger.error("Failed to refresh permission id cache! {} - {}", err.getErrorCode(), err.getErrorMessage());
                             logger.warn("Please grant \"b_serverinstance_permission_list\" to resolve this issue!");
@@ -95,6 +97,7 @@ public class PermIdCache {
     private Optional<Integer> lazilyGetPermId(String permSid) {
         IQueryRequest request = IQueryRequest.builder()
                 .command("permidgetbyname")
+                .priority(QueryPriority.SYSTEM)
                 .addKey("permsid", permSid)
                 .onError(a -> logger.error("Failed to retrieve ID for \"{}\"! {} - {}",
                         permSid, a.getErrorCode(), a.getErrorMessage()))
@@ -15,7 +15,6 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public abstract class AbstractUserService implements IUserService {
 
@@ -32,31 +31,22 @@ public abstract class AbstractUserService implements IUserService {
 
     @Override
     public List<IClient> findClientByUniqueID(String ts3uniqueID) {
-        return dataCache.getClients()
-                .stream()
-                .filter(client -> client.getClientUniqueID().equals(ts3uniqueID))
-                .collect(Collectors.toList());
+        return dataCache.findClientsByUniqueId(ts3uniqueID);
     }
 
     @Override
     public List<IClient> findClientByDBID(int ts3dbID) {
-        return dataCache.getClients()
-                .stream()
-                .filter(client -> client.getClientDBID().equals(ts3dbID))
-                .collect(Collectors.toList());
+        return dataCache.findClientsByDBID(ts3dbID);
     }
 
     @Override
     public List<IClient> findClientByNickname(String ts3nickname) {
-        return dataCache.getClients()
-                .stream()
-                .filter(client -> client.getNickName().toLowerCase().contains(ts3nickname.toLowerCase()))
-                .collect(Collectors.toList());
+        return dataCache.findClientsByNickname(ts3nickname);
     }
 
     @Override
     public Optional<IClient> getClientByID(int clientId) {
-        return Optional.ofNullable(dataCache.getClientMap().getOrDefault(clientId, null));
+        return dataCache.getClient(clientId);
     }
 
     protected void applyPermissions(TS3User user) {
@@ -9,6 +9,7 @@ import de.fearnixx.jeak.service.event.IEventService;
 import de.fearnixx.jeak.service.task.ITask;
 import de.fearnixx.jeak.service.task.ITaskService;
 import de.fearnixx.jeak.util.NamePatternThreadFactory;
+import de.fearnixx.jeak.util.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,8 +39,13 @@ public class TaskService extends Thread implements ITaskService {
 
     public TaskService(int capacity) {
         tasks = new IdentityHashMap<>(capacity);
-        ThreadFactory threadFactory = new NamePatternThreadFactory("task-scheduler-%d");
-        taskExecutor = Executors.newFixedThreadPool(THREAD_POOL_SIZE, threadFactory);
+        if (Main.getProperty("jeak.virtualThreads", false) && VirtualThreads.isSupported()) {
+            logger.info("Using virtual threads for task execution.");
+            taskExecutor = VirtualThreads.newThreadPerTaskExecutor("task-%d");
+        } else {
+            ThreadFactory threadFactory = new NamePatternThreadFactory("task-scheduler-%d");
+            taskExecutor = Executors.newFixedThreadPool(THREAD_POOL_SIZE, threadFactory);
+        }
     }
 
     @Override
@@ -0,0 +1,124 @@
+package de.fearnixx.jeak.teamspeak;
+
+import de.fearnixx.jeak.Main;
+import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.event.query.QueryEvent;
+import de.fearnixx.jeak.service.event.IEventService;
+import de.fearnixx.jeak.teamspeak.query.IQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Keeps the "servernotifyregister" subscriptions of the main connection in line with the registered listeners.
+ * <p>
+ * Server and channel notifications are always subscribed to, as the data cache is maintained from them.
+ * Text messages are only subscribed to while a listener declares the respective message type (or {@link IQueryEvent.INotification.ITextMessage}).
+ * Listeners for all notifications do not count, they receive whatever is subscribed anyway.
+ * With "jeak.ts3.notifyOnDemand=false", all notifications are subscribed to.
+ *
+ * @implNote Subscriptions are only ever added until the connection is closed.
+ * TeamSpeak can only unregister all notifications at once, which would lose the notifications the data cache depends on until they are registered again.
+ * Text messages nobody listens to anymore are still received, but not dispatched to anyone.
+ * @since 1.2.0
+ */
+public class NotificationSubscriptions {
+
+    public static final boolean ON_DEMAND = Main.getProperty("jeak.ts3.notifyOnDemand", true);
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationSubscriptions.class);
+
+    private final IEventService eventService;
+    private final Set<Group> subscribed = EnumSet.noneOf(Group.class);
+    private IQueryConnection connection;
+
+    public NotificationSubscriptions(IEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    /**
+     * Subscribes the freshly connected connection to the required notifications.
+     */
+    public synchronized void open(IQueryConnection connection) {
+        this.connection = connection;
+        subscribed.clear();
+        update();
+    }
+
+    public synchronized void close() {
+        connection = null;
+        subscribed.clear();
+    }
+
+    /**
+     * Re-evaluates the required notifications. Does not block, the requests are only queued.
+     */
+    public synchronized void update() {
+        if (connection == null || connection.isClosed()) {
+            return;
+        }
+
+        final Set<Group> missing = getRequired();
+        missing.removeAll(subscribed);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        for (Group group : missing) {
+            connection.queueRequest(group.registerRequest());
+        }
+        subscribed.addAll(missing);
+        logger.info("Subscribed to notifications: {}", subscribed);
+    }
+
+    public Set<Group> getRequired() {
+        final Set<Group> required = EnumSet.noneOf(Group.class);
+        for (Group group : Group.values()) {
+            if (!ON_DEMAND || group.eventClass == null
+                    || eventService.hasListeners(group.eventClass, IQueryEvent.INotification.ITextMessage.class)) {
+                required.add(group);
+            }
+        }
+        return required;
+    }
+
+    public enum Group {
+
+        SERVER("server", null),
+        CHANNEL("channel", null),
+        TEXT_SERVER("textserver", QueryEvent.ServerTextMessage.class),
+        TEXT_CHANNEL("textchannel", QueryEvent.ChannelTextMessage.class),
+        TEXT_PRIVATE("textprivate", QueryEvent.ClientTextMessage.class);
+
+        private final String event;
+        // Events fired for the notifications. null if always required.
+        private final Class<? extends IEvent> eventClass;
+
+        Group(String event, Class<? extends IEvent> eventClass) {
+            this.event = event;
+            this.eventClass = eventClass;
+        }
+
+        private IQueryRequest registerRequest() {
+            final var builder = IQueryRequest.builder()
+                    .command(QueryCommands.SERVER.SERVER_NOTIFY_REGISTER)
+                    .priority(QueryPriority.SYSTEM)
+                    .addKey("event", event);
+            if (this == CHANNEL) {
+                // All channels.
+                builder.addKey("id", "0");
+            }
+            return builder.build();
+        }
+
+        @Override
+        public String toString() {
+            return event;
+        }
+    }
+}
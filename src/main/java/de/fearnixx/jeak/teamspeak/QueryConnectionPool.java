@@ -0,0 +1,310 @@
+package de.fearnixx.jeak.teamspeak;
+
+import de.fearnixx.jeak.Main;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.teamspeak.except.QueryConnectException;
+import de.fearnixx.jeak.teamspeak.query.IQueryConnectionPool;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.IRequestLaneStats;
+import de.fearnixx.jeak.teamspeak.query.RequestRateLimiter;
+import de.fearnixx.jeak.teamspeak.query.TSQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.api.ITSQueryConnection;
+import de.fearnixx.jeak.util.NamePatternThreadFactory;
+import de.fearnixx.jeak.util.URIContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains additional logged-in query sessions and routes read-only requests to them.
+ * Sessions are connected in the background and re-established after they have been lost.
+ *
+ * @since 1.2.0
+ */
+public class QueryConnectionPool implements IQueryConnectionPool {
+
+    private static final int POOL_SIZE = Main.getProperty("jeak.connection.pool.size", 0);
+    private static final float POOL_REQ_DELAY = Main.getProperty("jeak.connection.pool.reqdelay", 0.25f);
+    private static final int POOL_REQ_BURST = Main.getProperty("jeak.connection.pool.reqburst", 1);
+    private static final int RECONNECT_DELAY_SECS = Main.getProperty("jeak.connection.pool.reconnectDelay", 30);
+    private static final String ADDITIONAL_COMMANDS = Main.getProperty("jeak.connection.pool.commands", "");
+    private static final String PERMLIST_SUFFIX = "permlist";
+    private static final Logger logger = LoggerFactory.getLogger(QueryConnectionPool.class);
+
+    private static final Set<String> ROUTED_COMMANDS;
+
+    static {
+        final Set<String> commands = new HashSet<>(Arrays.asList(
+                QueryCommands.CLIENT.CLIENT_FIND_DB,
+                QueryCommands.PERMISSION.PERMISSION_LIST,
+                QueryCommands.SERVER_GROUP.SERVERGROUP_GET_BYCLIENT
+        ));
+        Arrays.stream(ADDITIONAL_COMMANDS.split(" *, *"))
+                .filter(s -> !s.isBlank())
+                .map(String::toLowerCase)
+                .forEach(commands::add);
+        ROUTED_COMMANDS = Collections.unmodifiableSet(commands);
+    }
+
+    private final TeamSpeakConnectionFactory connector;
+    private final Consumer<IQueryEvent.IAnswer> answerConsumer;
+    private final List<Session> sessions;
+    private final long requestIntervalMillis = (long) (POOL_REQ_DELAY * 1000);
+
+    private final Object lock = new Object();
+    private ScheduledExecutorService executor;
+    private URIContainer connectionURI;
+    private ITSQueryConnection primary;
+    private volatile boolean open = false;
+
+    /**
+     * @param answerConsumer receives the answers of all pooled sessions, like the answer listener of the main connection.
+     */
+    public QueryConnectionPool(TeamSpeakConnectionFactory connector, Consumer<IQueryEvent.IAnswer> answerConsumer) {
+        this.connector = connector;
+        this.answerConsumer = answerConsumer;
+        final List<Session> created = new ArrayList<>(Math.max(0, POOL_SIZE));
+        for (int i = 0; i < POOL_SIZE; i++) {
+            created.add(new Session(i));
+        }
+        this.sessions = Collections.unmodifiableList(created);
+    }
+
+    /**
+     * Starts connecting the pooled sessions in the background.
+     *
+     * @param primary the main connection. Answers from pooled sessions will report it as their connection.
+     */
+    public void open(URIContainer connectionURI, ITSQueryConnection primary) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (open) {
+                throw new IllegalStateException("Connection pool is already open!");
+            }
+            this.connectionURI = connectionURI;
+            this.primary = primary;
+            this.executor = Executors.newSingleThreadScheduledExecutor(new NamePatternThreadFactory("query-pool-%d"));
+            this.open = true;
+            logger.info("Opening {} pooled query session(s).", sessions.size());
+            sessions.forEach(session -> executor.execute(() -> connect(session)));
+        }
+    }
+
+    public void close() {
+        synchronized (lock) {
+            if (!open) {
+                return;
+            }
+            open = false;
+            executor.shutdownNow();
+            executor = null;
+            sessions.forEach(Session::shutdown);
+            primary = null;
+        }
+    }
+
+    /**
+     * Selects the least busy active session for the request, if its command can be routed.
+     */
+    public Optional<ITSQueryConnection> route(IQueryRequest request) {
+        if (!open || !isRoutable(request.getCommand())) {
+            return Optional.empty();
+        }
+
+        // Sessions may be closed concurrently: Only use the connection read once per session.
+        Session selected = null;
+        TSQueryConnection selectedConnection = null;
+        int selectedLoad = Integer.MAX_VALUE;
+        for (Session session : sessions) {
+            final var connection = session.connection;
+            if (connection == null || !connection.isActive()) {
+                continue;
+            }
+            final int load = connection.getQueuedRequestCount();
+            if (load < selectedLoad) {
+                selected = session;
+                selectedConnection = connection;
+                selectedLoad = load;
+            }
+        }
+
+        if (selected == null) {
+            return Optional.empty();
+        }
+        selected.routed.incrementAndGet();
+        return Optional.of(selectedConnection);
+    }
+
+    @Override
+    public boolean isRoutable(String command) {
+        if (command == null) {
+            return false;
+        }
+        final String lowerCommand = command.toLowerCase();
+        return ROUTED_COMMANDS.contains(lowerCommand) || lowerCommand.endsWith(PERMLIST_SUFFIX);
+    }
+
+    @Override
+    public int getConfiguredSize() {
+        return sessions.size();
+    }
+
+    @Override
+    public List<ISession> getSessions() {
+        return Collections.unmodifiableList(sessions);
+    }
+
+    private void connect(Session session) {
+        final URIContainer uri;
+        final ITSQueryConnection primaryConnection;
+        synchronized (lock) {
+            if (!open) {
+                return;
+            }
+            uri = connectionURI;
+            primaryConnection = primary;
+        }
+
+        TSQueryConnection connection = null;
+        boolean started = false;
+        try {
+            connection = (TSQueryConnection) connector.establishConnection(uri);
+            connection.setRateLimiter(new RequestRateLimiter(requestIntervalMillis, TimeUnit.MILLISECONDS, POOL_REQ_BURST));
+            connection.setEventConnection(primaryConnection);
+            connection.onAnswer(answerConsumer);
+            connection.onClosed((conn, graceful) -> onSessionClosed(session, graceful));
+            connection.lockListeners("Pooled connection managed by Jeak-framework!");
+
+            final Thread connectionThread = new Thread(connection);
+            connectionThread.setName("connection-pool-" + session.index);
+            connectionThread.start();
+            started = true;
+
+            if (!connector.useInstance(connection, uri)) {
+                throw new QueryConnectException("Instance selection failed!");
+            }
+            if (TeamSpeakConnectionFactory.requiresLoginCommands(uri) && !connector.attemptLogin(connection, uri)) {
+                throw new QueryConnectException("Login failed!");
+            }
+
+            synchronized (lock) {
+                // The pool may have been closed during the login.
+                if (open) {
+                    session.connection = connection;
+                    session.lastError = null;
+                    logger.info("Pooled query session {} connected.", session.index);
+                    return;
+                }
+            }
+            logger.debug("Pool closed while connecting session {}. Shutting it down.", session.index);
+            connection.shutdown();
+
+        } catch (RuntimeException e) {
+            logger.warn("Failed to connect pooled query session {}. Retrying in {} seconds.", session.index, RECONNECT_DELAY_SECS, e);
+            session.lastError = e.getMessage();
+            if (connection != null) {
+                connection.shutdown();
+            }
+            // Started connections reconnect once they have been closed.
+            if (!started) {
+                scheduleReconnect(session);
+            }
+        }
+    }
+
+    private void onSessionClosed(Session session, boolean graceful) {
+        session.connection = null;
+        if (open) {
+            if (!graceful && session.lastError == null) {
+                session.lastError = "Connection lost.";
+            }
+            logger.info("Pooled query session {} closed.", session.index);
+            scheduleReconnect(session);
+        }
+    }
+
+    private void scheduleReconnect(Session session) {
+        synchronized (lock) {
+            if (open) {
+                session.reconnects.incrementAndGet();
+                executor.schedule(() -> connect(session), RECONNECT_DELAY_SECS, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sessions.stream()
+                .map(s -> String.format("#%d(%s)", s.index, s.isActive() ? "active" : "inactive"))
+                .collect(Collectors.joining(", ", "QueryConnectionPool{", "}"));
+    }
+
+    private class Session implements ISession {
+
+        private final int index;
+        private final AtomicLong routed = new AtomicLong();
+        private final AtomicInteger reconnects = new AtomicInteger();
+        private volatile TSQueryConnection connection;
+        private volatile String lastError;
+
+        private Session(int index) {
+            this.index = index;
+        }
+
+        private void shutdown() {
+            final var conn = connection;
+            connection = null;
+            if (conn != null) {
+                conn.shutdown();
+            }
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public boolean isActive() {
+            final var conn = connection;
+            return conn != null && conn.isActive();
+        }
+
+        @Override
+        public long getRequestIntervalMillis() {
+            return requestIntervalMillis;
+        }
+
+        @Override
+        public long getRoutedCount() {
+            return routed.get();
+        }
+
+        @Override
+        public int getReconnectCount() {
+            return reconnects.get();
+        }
+
+        @Override
+        public Optional<String> getLastError() {
+            return Optional.ofNullable(lastError);
+        }
+
+        @Override
+        public List<IRequestLaneStats> getRequestLaneStats() {
+            final var conn = connection;
+            return conn != null ? conn.getRequestLaneStats() : Collections.emptyList();
+        }
+    }
+}
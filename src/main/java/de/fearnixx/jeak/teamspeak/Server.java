@@ -14,6 +14,7 @@ import de.fearnixx.jeak.teamspeak.cache.IDataCache;
 import de.fearnixx.jeak.teamspeak.data.IDataHolder;
 import de.fearnixx.jeak.teamspeak.except.QueryConnectException;
 import de.fearnixx.jeak.teamspeak.query.IQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.IQueryConnectionPool;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
 import de.fearnixx.jeak.teamspeak.query.TSQueryConnection;
 import de.fearnixx.jeak.teamspeak.query.TSQueryConnectionDelegate;
@@ -61,6 +62,8 @@ public class Server implements IServer {
 
     private EventDispatcher eventDispatcher = new EventDispatcher();
     private TeamSpeakConnectionFactory connector = new TeamSpeakConnectionFactory();
+    private QueryConnectionPool connectionPool = new QueryConnectionPool(connector, eventDispatcher::dispatchAnswer);
+    private NotificationSubscriptions subscriptions;
     private TSQueryConnectionDelegate mainConnection;
     private URIContainer connectionURI;
 
@@ -118,6 +121,8 @@ public class Server implements IServer {
             if (!connector.cdiDone()) {
                 injectService.injectInto(connector);
                 injectService.injectInto(eventDispatcher);
+                subscriptions = new NotificationSubscriptions(eventService);
+                eventService.onListenersChanged(subscriptions::update);
             }
 
             // Notify listeners.
@@ -130,6 +135,8 @@ public class Server implements IServer {
             mainConnection.onAnswer(eventDispatcher::dispatchAnswer);
             mainConnection.onNotification(eventDispatcher::dispatchNotification);
             mainConnection.onClosed((conn, graceful) -> {
+                subscriptions.close();
+                connectionPool.close();
                 BotStateEvent.ConnectEvent.Disconnect disconnectEvent =
                         new BotStateEvent.ConnectEvent.Disconnect(graceful);
                 disconnectEvent.setBot(bot);
@@ -164,7 +171,9 @@ public class Server implements IServer {
 
 
             logger.info("Connected!");
-            subscribeToEvents();
+            subscriptions.open(mainConnection);
+            connectionPool.open(connectionURI, mainConnection);
+            mainConnection.setConnectionPool(connectionPool);
 
             // Initialize WhoAmI-Information
             mainConnection.queueRequest(IQueryRequest.builder().command(QueryCommands.WHOAMI).build());
@@ -197,45 +206,6 @@ public class Server implements IServer {
         }
     }
 
-    private void subscribeToEvents() {
-        final String eventKey = "event";
-        mainConnection.sendRequest(
-                IQueryRequest.builder()
-                        .command(QueryCommands.SERVER.SERVER_NOTIFY_REGISTER)
-                        .addKey(eventKey, "server")
-                        .build()
-        );
-
-        mainConnection.sendRequest(
-                IQueryRequest.builder()
-                        .command(QueryCommands.SERVER.SERVER_NOTIFY_REGISTER)
-                        .addKey(eventKey, "channel")
-                        .addKey("id", "0")
-                        .build()
-        );
-
-        mainConnection.sendRequest(
-                IQueryRequest.builder()
-                        .command(QueryCommands.SERVER.SERVER_NOTIFY_REGISTER)
-                        .addKey(eventKey, "textserver")
-                        .build()
-        );
-
-        mainConnection.sendRequest(
-                IQueryRequest.builder()
-                        .command(QueryCommands.SERVER.SERVER_NOTIFY_REGISTER)
-                        .addKey(eventKey, "textchannel")
-                        .build()
-        );
-
-        mainConnection.sendRequest(
-                IQueryRequest.builder()
-                        .command(QueryCommands.SERVER.SERVER_NOTIFY_REGISTER)
-                        .addKey(eventKey, "textprivate")
-                        .build()
-        );
-    }
-
     /* * * Utility * * */
 
     @Override
@@ -269,6 +239,11 @@ public class Server implements IServer {
         }
     }
 
+    @Override
+    public IQueryConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
     @Override
     public boolean isConnected() {
         return mainConnection != null && !mainConnection.isClosed();
@@ -352,5 +327,7 @@ public class Server implements IServer {
                 logger.error("Failed to close connection on shutdown!", e);
             }
         }
+        connectionPool.close();
+        connector.shutdown();
     }
 }
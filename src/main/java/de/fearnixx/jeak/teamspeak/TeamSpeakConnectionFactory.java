@@ -7,11 +7,16 @@ import de.fearnixx.jeak.service.IServiceManager;
 import de.fearnixx.jeak.service.teamspeak.IUserService;
 import de.fearnixx.jeak.teamspeak.except.QueryConnectException;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
 import de.fearnixx.jeak.teamspeak.query.StandardMessageMarshaller;
 import de.fearnixx.jeak.teamspeak.query.TSQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.api.ITSMessageChannel;
 import de.fearnixx.jeak.teamspeak.query.api.ITSQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.channel.SelectorEventLoopGroup;
+import de.fearnixx.jeak.teamspeak.query.channel.SelectorMessageChannel;
 import de.fearnixx.jeak.teamspeak.query.channel.SerialMessageChannel;
 import de.fearnixx.jeak.teamspeak.query.channel.StreamBasedChannel;
+import de.fearnixx.jeak.util.NamePatternThreadFactory;
 import de.fearnixx.jeak.util.URIContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +70,8 @@ public class TeamSpeakConnectionFactory {
     private static final JSch jSecureChannel = new JSch();
     private static final String SSH_CONFIG_LOCATION = Main.getProperty("jeak.connection.ssh_config", "./ssh_config.properties");
     private static final String SSH_ACCEPTED_HOST_KEYS = Main.getProperty("jeak.connection.ssh_hostkeys", "");
+    private static final boolean USE_SELECTOR_TRANSPORT = Main.getProperty("jeak.connection.selector", false);
+    private static final int SELECTOR_THREADS = Main.getProperty("jeak.connection.selectorThreads", 1);
 
     public static boolean requiresLoginCommands(URIContainer connURI) {
         return SCHEME_PLAINTEXT.equals(connURI.getOriginalUri().getScheme())
@@ -74,12 +81,43 @@ public class TeamSpeakConnectionFactory {
     @Inject
     protected IServiceManager serviceManager;
 
+    private SelectorEventLoopGroup selectorGroup;
+
     protected StandardMessageMarshaller createMarshaller() {
         return new StandardMessageMarshaller(serviceManager.provideUnchecked(IUserService.class));
     }
 
     protected TSQueryConnection createConnection(ByteChannel messageChannel) {
-        return new TSQueryConnection(new SerialMessageChannel(messageChannel), createMarshaller());
+        return new TSQueryConnection(createMessageChannel(messageChannel), createMarshaller());
+    }
+
+    /**
+     * Plain socket channels are served by the shared selector loops when enabled.
+     * Wrapped channels (TLS, SSH) cannot be selected on and always use a blocking reader thread.
+     */
+    protected ITSMessageChannel createMessageChannel(ByteChannel byteChannel) {
+        if (USE_SELECTOR_TRANSPORT && byteChannel instanceof SocketChannel) {
+            return new SelectorMessageChannel((SocketChannel) byteChannel, getSelectorGroup().next());
+        }
+        return new SerialMessageChannel(byteChannel);
+    }
+
+    protected synchronized SelectorEventLoopGroup getSelectorGroup() {
+        if (selectorGroup == null) {
+            logger.info("Starting {} query selector loop(s).", SELECTOR_THREADS);
+            selectorGroup = new SelectorEventLoopGroup(SELECTOR_THREADS, new NamePatternThreadFactory("query-selector-%d"));
+        }
+        return selectorGroup;
+    }
+
+    /**
+     * Stops the selector loops, if any were started. Connections still served by them will be closed.
+     */
+    public synchronized void shutdown() {
+        if (selectorGroup != null) {
+            selectorGroup.close();
+            selectorGroup = null;
+        }
     }
 
     protected TSQueryConnection connectWithSocket(ByteChannel socketChannel) throws IOException {
@@ -215,7 +253,7 @@ public class TeamSpeakConnectionFactory {
 
     public boolean useInstance(ITSQueryConnection connection, URIContainer connURI) {
         final var commandBuilder =
-                IQueryRequest.builder().command(QueryCommands.SERVER.USE_INSTANCE);
+                IQueryRequest.builder().command(QueryCommands.SERVER.USE_INSTANCE).priority(QueryPriority.SYSTEM);
         if (connURI.hasQuery(QUERY_VOICEPORT) && !connURI.hasQuery(QUERY_INSTANCE)) {
             logger.debug("Using voice port for 'use' command.");
             commandBuilder.addKey("port", connURI.optSingleQuery(QUERY_VOICEPORT)
@@ -242,6 +280,7 @@ public class TeamSpeakConnectionFactory {
 
     public boolean attemptLogin(ITSQueryConnection connection, URIContainer connURI) {
         final var request = IQueryRequest.builder().command(QueryCommands.SERVER.LOGIN)
+                .priority(QueryPriority.SYSTEM)
                 .addOption(connURI.optSingleQuery(TeamSpeakConnectionFactory.QUERY_USER).orElse(TeamSpeakConnectionFactory.QUERY_USERNAME_DEFAULT))
                 .addOption(connURI.optSingleQuery(TeamSpeakConnectionFactory.QUERY_PASS).orElseThrow())
                 .build();
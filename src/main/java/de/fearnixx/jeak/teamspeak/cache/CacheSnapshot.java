@@ -0,0 +1,50 @@
+package de.fearnixx.jeak.teamspeak.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable generation of a cache, published through a volatile reference (read-copy-update).
+ * Readers use the current generation without locking or copying, writers build the next one while holding the cache lock and swap it in.
+ * The cached objects themselves are still updated in place.
+ *
+ * @since 1.2.0
+ */
+class CacheSnapshot<T> {
+
+    private static final CacheSnapshot<?> EMPTY = new CacheSnapshot<>(0, List.of(), Map.of());
+
+    private final long generation;
+    private final List<T> values;
+    private final Map<Integer, T> map;
+
+    private CacheSnapshot(long generation, List<T> values, Map<Integer, T> map) {
+        this.generation = generation;
+        this.values = values;
+        this.map = map;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> CacheSnapshot<T> empty() {
+        return (CacheSnapshot<T>) EMPTY;
+    }
+
+    /**
+     * @param values in the order readers should see them.
+     */
+    CacheSnapshot<T> next(List<? extends T> values, Map<Integer, ? extends T> map) {
+        return new CacheSnapshot<>(generation + 1, List.copyOf(values), Map.copyOf(map));
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    List<T> getValues() {
+        return values;
+    }
+
+    Map<Integer, T> getMap() {
+        return map;
+    }
+}
@@ -16,6 +16,7 @@ import de.fearnixx.jeak.teamspeak.PropertyKeys;
 import de.fearnixx.jeak.teamspeak.QueryCommands;
 import de.fearnixx.jeak.teamspeak.data.*;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
 import de.fearnixx.jeak.util.TS3DataFixes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,9 +28,14 @@ import java.util.concurrent.TimeUnit;
 public class ChannelCache {
 
     private static final Logger logger = LoggerFactory.getLogger(ChannelCache.class);
+    // A sorted channel list settles in one pass.
+    private static final int MAX_RECONCILE_PASSES = 3;
 
     private final Map<Integer, TS3Channel> internalCache = new ConcurrentHashMap<>(60);
-    private final List<TS3Channel> sortedCache = new ArrayList<>();
+    private final ChannelTree tree = new ChannelTree();
+    // Read-copy-update: Readers get the current generation without locking, writers publish the next one while holding the lock.
+    // The values are sorted.
+    private volatile CacheSnapshot<IChannel> snapshot = CacheSnapshot.empty();
 
     @Inject
     private IEventService eventService;
@@ -53,6 +59,7 @@ public class ChannelCache {
             .addOption("-voice")
             .addOption("-limits")
             .addOption("-icon")
+            .priority(QueryPriority.SYSTEM)
             .onDone(this::onListAnswer)
             .build();
     private final ITask channelListTask = ITask.builder()
@@ -75,8 +82,12 @@ public class ChannelCache {
         synchronized (LOCK) {
             logger.info("Clearing channel cache due to disconnect.");
             taskService.removeTask(channelListTask);
-            internalCache.values().forEach(TS3ChannelHolder::invalidate);
-            internalCache.clear();
+            synchronized (internalCache) {
+                internalCache.values().forEach(TS3ChannelHolder::invalidate);
+                internalCache.clear();
+                tree.clear();
+                snapshot = snapshot.next(List.of(), internalCache);
+            }
         }
     }
 
@@ -93,75 +104,36 @@ public class ChannelCache {
     /**
      * Refreshes the internal client cache based off a `channellist` answer event.
      * All methods and listeners assume that all options were set during the request.
+     * <p>
+     * The channel tree is only reconciled: Channels that are already in place are not touched.
      */
     private void refreshChannels(IRawQueryEvent.IMessage.IAnswer event) {
         final List<IRawQueryEvent.IMessage> messages = event.toList();
+        final CacheSnapshot<IChannel> refreshed;
         synchronized (internalCache) {
             final Map<Integer, TS3Channel> newMap = generateChannelMapping(messages);
-            TS3Channel o;
-            Integer oID;
-            TS3Channel n;
-            Integer[] cIDs = internalCache.keySet().toArray(new Integer[0]);
-            for (int i = internalCache.size() - 1; i >= 0; i--) {
-                oID = cIDs[i];
-                o = internalCache.get(oID);
-                o.clearChildren();
-                n = newMap.getOrDefault(oID, null);
-                if (n == null) {
-                    // Channel removed - invalidate & remove
-                    o.invalidate();
-                    internalCache.remove(oID);
-
-                } else if (n == o) {
-                    // Channel unchanged - continue
-                    newMap.remove(oID);
+            boolean firstFill = internalCache.isEmpty();
 
-                } else {
-                    // Channel reference updated - invalidate & change
+            newMap.forEach((cid, n) -> {
+                TS3Channel o = internalCache.put(cid, n);
+                if (o != null && o != n) {
+                    // Channel reference updated - invalidate
                     o.invalidate();
-                    internalCache.put(oID, n);
-                    newMap.remove(oID);
-                }
-            }
-
-            // All others are new - Add them
-            boolean firstFill = internalCache.isEmpty();
-            newMap.forEach(internalCache::put);
-
-            // Update children
-            internalCache.forEach((cid, c) -> {
-                int parentId = c.getParent();
-                TS3Channel parent = null;
-                if (parentId != 0) {
-                    parent = internalCache.getOrDefault(parentId, null);
-                    if (parent != null) {
-                        parent.addSubChannel(c);
-                    } else {
-                        logger.warn("Channel has nonexistent parent: {} -> {}", c, c.getParent());
-                    }
                 }
+            });
+            int moved = reconcileTree(messages);
 
-                // Update ordering
-                Integer orderAfterId = c.getOrder();
-                if (orderAfterId == 0 && parentId == 0) {
-                    logger.trace("Suspected top channel: {}", c);
-                } else if (orderAfterId == 0) {
-                    c.setSortAfterChannel(parent);
-                } else {
-                    TS3Channel orderAfterChannel = internalCache.getOrDefault(orderAfterId, null);
-                    if (orderAfterChannel == null) {
-                        logger.warn("Channel order-after target not found in cache! {} -> {}", c, orderAfterId);
-                    }
-                    c.setSortAfterChannel(orderAfterChannel);
+            // Channels removed - invalidate & remove
+            // After placing the others, so channels moved out of removed ones are kept.
+            for (Integer cid : internalCache.keySet().toArray(new Integer[0])) {
+                if (!newMap.containsKey(cid)) {
+                    removeChannel(cid);
                 }
-            });
+            }
 
-            // Ensure children lists to be ordered
-            // TODO: Find a better solution than re-sorting the whole list every time!
-            internalCache.values().forEach(TS3Channel::sortChildren);
-            sortedCache.clear();
-            sortedCache.addAll(internalCache.values());
-            sortedCache.sort(Comparator.comparingInt(TS3ChannelHolder::getSortingNumber));
+            publish();
+            refreshed = snapshot;
+            logger.debug("Channel tree reconciled, {} channels placed.", moved);
             if (firstFill) {
                 logger.info("Channel cache is ready.");
             }
@@ -169,12 +141,56 @@ public class ChannelCache {
 
         logger.debug("Channellist updated");
         QueryEvent refresh = new QueryEvent.BasicDataEvent
-                .RefreshChannels(getChannels(), getChannelMap());
+                .RefreshChannels(refreshed.getValues(), refreshed.getMap());
         refresh.setConnection(event.getConnection());
         refresh.setRawReference(event);
         eventService.fireEvent(refresh);
     }
 
+    /**
+     * Moves all channels of a `channellist` answer to their position in the tree.
+     * The list is sorted by the server, so parents and previous siblings are usually placed first.
+     *
+     * @return how many channels have been placed.
+     */
+    private int reconcileTree(List<IRawQueryEvent.IMessage> messages) {
+        int moved = 0;
+        for (int pass = 0; pass < MAX_RECONCILE_PASSES; pass++) {
+            int movedInPass = 0;
+            for (IRawQueryEvent.IMessage message : messages) {
+                TS3Channel channel = internalCache.get(parseProperty(message, PropertyKeys.Channel.ID, -1));
+                if (channel != null && tree.place(channel,
+                        parseProperty(message, PropertyKeys.Channel.PARENT, 0),
+                        parseProperty(message, PropertyKeys.Channel.ORDER, 0))) {
+                    movedInPass++;
+                }
+            }
+            moved += movedInPass;
+            if (movedInPass == 0) {
+                return moved;
+            }
+        }
+
+        messages.stream()
+                .filter(message -> !tree.isPlaced(
+                        parseProperty(message, PropertyKeys.Channel.ID, -1),
+                        parseProperty(message, PropertyKeys.Channel.PARENT, 0),
+                        parseProperty(message, PropertyKeys.Channel.ORDER, 0)))
+                .forEach(message -> logger.warn("Channel could not be placed in the tree: {} -> parent {}, order {}",
+                        message.getProperty(PropertyKeys.Channel.ID).orElse("?"),
+                        message.getProperty(PropertyKeys.Channel.PARENT).orElse("?"),
+                        message.getProperty(PropertyKeys.Channel.ORDER).orElse("?")));
+        return moved;
+    }
+
+    private static int parseProperty(IDataHolder holder, String key, int defaultValue) {
+        try {
+            return Integer.parseInt(holder.getProperty(key).orElse(null));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     /**
      * Creates a Map of all available clients from a `channellist` answer event.
      * Helper method for {@link #refreshChannels(IRawQueryEvent.IMessage.IAnswer)}.
@@ -240,18 +256,78 @@ public class ChannelCache {
         return channel;
     }
 
-    public List<IChannel> getChannels() {
+    /**
+     * Adds a channel that has been created, e.g. from a notification.
+     * Parent and order have to be set on the channel.
+     */
+    void unsafeAdd(TS3Channel channel) {
         synchronized (internalCache) {
-            return Collections.unmodifiableList(sortedCache);
+            TS3Channel previous = internalCache.put(channel.getID(), channel);
+            if (previous != null && previous != channel) {
+                previous.invalidate();
+            }
+            tree.place(channel, channel.getParent(), channel.getOrder());
+            publish();
         }
     }
 
-    public Map<Integer, IChannel> getChannelMap() {
+    /**
+     * Moves a cached channel to the parent and order set on the channel, e.g. after it has been moved or edited.
+     */
+    void unsafeMove(TS3Channel channel) {
         synchronized (internalCache) {
-            return Collections.unmodifiableMap(internalCache);
+            if (tree.place(channel, channel.getParent(), channel.getOrder())) {
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Removes a deleted channel and its sub channels.
+     */
+    void unsafeRemove(Integer channelId) {
+        synchronized (internalCache) {
+            removeChannel(channelId);
+            publish();
+        }
+    }
+
+    private void removeChannel(Integer channelId) {
+        for (TS3Channel removed : tree.remove(channelId)) {
+            removed.invalidate();
+            internalCache.remove(removed.getID());
+        }
+        TS3Channel orphan = internalCache.remove(channelId);
+        if (orphan != null) {
+            orphan.invalidate();
         }
     }
 
+    /**
+     * Publishes the channels in tree order.
+     */
+    private void publish() {
+        snapshot = snapshot.next(tree.flatten(), internalCache);
+    }
+
+    public List<IChannel> getChannels() {
+        return snapshot.getValues();
+    }
+
+    public Optional<IChannel> findChannelByName(String name) {
+        final String needle = name.toLowerCase();
+        for (IChannel channel : snapshot.getValues()) {
+            if (channel.getName().toLowerCase().contains(needle)) {
+                return Optional.of(channel);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Map<Integer, IChannel> getChannelMap() {
+        return snapshot.getMap();
+    }
+
     Map<Integer, TS3Channel> getUnsafeChannelMap() {
         synchronized (internalCache) {
             return internalCache;
@@ -0,0 +1,225 @@
+package de.fearnixx.jeak.teamspeak.cache;
+
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.data.IChannel;
+import de.fearnixx.jeak.teamspeak.data.TS3Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally maintained tree of the cached channels.
+ * Siblings are linked in the order of the server, where "channel_order" is the id of the previous sibling (0 for the first one).
+ * Placing, moving and removing a channel only touches its old and new siblings - and the ancestors, to rule out cycles.
+ * <p>
+ * Like TeamSpeak, the tree updates the order of the sibling following a placed or removed channel,
+ * as the server does not notify about those implicit changes.
+ * <p>
+ * Not thread safe, the {@link ChannelCache} guards the tree with its lock.
+ *
+ * @since 1.2.0
+ */
+public class ChannelTree {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelTree.class);
+
+    private final Node root = new Node(0);
+    private final Map<Integer, Node> nodes = new HashMap<>();
+
+    /**
+     * Places the channel as child of the given parent, right after the given sibling.
+     * Adds the channel if it is not yet part of the tree. A changed channel reference replaces the old one at its position.
+     * If the parent or the sibling is unknown, the channel is appended to the root or the parent respectively.
+     *
+     * @return whether or not the tree has changed.
+     */
+    public boolean place(TS3Channel channel, int parentId, int orderAfter) {
+        final int channelId = channel.getID();
+        Node node = nodes.get(channelId);
+        boolean changed = false;
+        if (node == null) {
+            node = new Node(channelId);
+            nodes.put(channelId, node);
+            changed = true;
+        }
+        if (node.channel != channel) {
+            node.channel = channel;
+            publishChildren(node);
+            if (node.parent != null) {
+                publishChildren(node.parent);
+            }
+            changed = true;
+        }
+
+        Node parent = parentId != 0 ? nodes.get(parentId) : root;
+        if (parent == null) {
+            logger.debug("Channel has nonexistent parent: {} -> {}", channel, parentId);
+            parent = root;
+        } else if (isSelfOrDescendant(parent, node)) {
+            logger.warn("Refusing to move channel below itself: {} -> {}", channel, parentId);
+            return changed;
+        }
+
+        Node previous = orderAfter != 0 ? nodes.get(orderAfter) : null;
+        if (orderAfter != 0 && (previous == null || previous.parent != parent || previous == node)) {
+            logger.debug("Channel order-after target not found below parent: {} -> {}", channel, orderAfter);
+            if (node.parent == parent) {
+                // Keep the current position.
+                return changed;
+            }
+            previous = parent.last;
+        }
+
+        if (node.parent == parent && node.previous == previous) {
+            return changed;
+        }
+        unlink(node);
+        link(node, parent, previous);
+        return true;
+    }
+
+    /**
+     * Removes the channel including its sub channels.
+     *
+     * @return the removed channels, parents first.
+     */
+    public List<TS3Channel> remove(int channelId) {
+        final Node node = nodes.get(channelId);
+        if (node == null) {
+            return List.of();
+        }
+
+        final List<TS3Channel> removed = new ArrayList<>();
+        removed.add(node.channel);
+        flatten(node, removed, false);
+        unlink(node);
+        for (TS3Channel channel : removed) {
+            nodes.remove(channel.getID());
+        }
+        return removed;
+    }
+
+    public void clear() {
+        nodes.clear();
+        root.first = null;
+        root.last = null;
+    }
+
+    /**
+     * Whether or not the channel is placed exactly as given.
+     */
+    public boolean isPlaced(int channelId, int parentId, int orderAfter) {
+        final Node node = nodes.get(channelId);
+        return node != null
+                && node.parent != null
+                && node.parent.channelId == parentId
+                && (node.previous != null ? node.previous.channelId : 0) == orderAfter;
+    }
+
+    /**
+     * All channels in tree order (depth-first). Also assigns the sorting numbers of the channels.
+     */
+    public List<TS3Channel> flatten() {
+        final List<TS3Channel> channels = new ArrayList<>(nodes.size());
+        flatten(root, channels, true);
+        return channels;
+    }
+
+    private static void flatten(Node parent, List<TS3Channel> into, boolean assignSortingNumbers) {
+        for (Node child = parent.first; child != null; child = child.next) {
+            into.add(child.channel);
+            if (assignSortingNumbers) {
+                child.channel.setSortingNumber(into.size());
+            }
+            flatten(child, into, assignSortingNumbers);
+        }
+    }
+
+    private static boolean isSelfOrDescendant(Node candidate, Node node) {
+        for (Node current = candidate; current != null; current = current.parent) {
+            if (current == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unlink(Node node) {
+        final Node parent = node.parent;
+        if (parent == null) {
+            return;
+        }
+
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            parent.first = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+            updateOrder(node.next);
+        } else {
+            parent.last = node.previous;
+        }
+        node.parent = null;
+        node.previous = null;
+        node.next = null;
+        publishChildren(parent);
+    }
+
+    private void link(Node node, Node parent, Node previous) {
+        final Node next = previous != null ? previous.next : parent.first;
+        node.parent = parent;
+        node.previous = previous;
+        node.next = next;
+        if (previous != null) {
+            previous.next = node;
+        } else {
+            parent.first = node;
+        }
+        if (next != null) {
+            next.previous = node;
+            updateOrder(next);
+        } else {
+            parent.last = node;
+        }
+        publishChildren(parent);
+    }
+
+    private static void updateOrder(Node node) {
+        final int orderAfter = node.previous != null ? node.previous.channelId : 0;
+        if (node.channel.getOrder() != orderAfter) {
+            node.channel.setProperty(PropertyKeys.Channel.ORDER, orderAfter);
+        }
+    }
+
+    private void publishChildren(Node parent) {
+        if (parent == root) {
+            return;
+        }
+        final List<IChannel> children = new ArrayList<>();
+        for (Node child = parent.first; child != null; child = child.next) {
+            children.add(child.channel);
+        }
+        parent.channel.setSubChannels(children);
+    }
+
+    private static class Node {
+
+        private final int channelId;
+        private TS3Channel channel;
+        private Node parent;
+        private Node previous;
+        private Node next;
+        private Node first;
+        private Node last;
+
+        private Node(int channelId) {
+            this.channelId = channelId;
+        }
+    }
+}
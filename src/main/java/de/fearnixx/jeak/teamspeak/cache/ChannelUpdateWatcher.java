@@ -2,6 +2,7 @@ package de.fearnixx.jeak.teamspeak.cache;
 
 import de.fearnixx.jeak.event.IQueryEvent;
 import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
 import de.fearnixx.jeak.teamspeak.data.TS3Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,11 +31,32 @@ public class ChannelUpdateWatcher {
                 return;
             }
 
+            if (event instanceof IQueryEvent.INotification.IChannelMoved) {
+                // Channel-Moved events use "cpid" and "order".
+                String parentId = event.getProperty("cpid").orElse("0");
+                String orderAfter = event.getProperty("order").orElse("0");
+                logger.debug("Moving channel {} -> parent {}, order {}", target, parentId, orderAfter);
+                target.setProperty(PropertyKeys.Channel.PARENT, parentId);
+                target.setProperty(PropertyKeys.Channel.ORDER, orderAfter);
+                cache.unsafeMoveChannel(target);
+                return;
+            }
+
             event.getChanges().forEach((key, value) -> {
                 String oldValue = target.getProperty(key).orElse(null);
                 logger.debug("Updating property \"{}\": \"{}\" -> \"{}\"", key, oldValue, value);
                 target.setProperty(key, value);
             });
+            if (event.getChanges().containsKey(PropertyKeys.Channel.ORDER)) {
+                cache.unsafeMoveChannel(target);
+            }
+        }
+    }
+
+    @Listener(order = Listener.Orders.LATEST)
+    public void afterChannelDeleted(IQueryEvent.INotification.IChannelDeleted event) {
+        synchronized (LOCK) {
+            cache.unsafeRemoveChannel(event.getTarget().getID());
         }
     }
 }
@@ -20,13 +20,20 @@ import de.fearnixx.jeak.teamspeak.data.IClient;
 import de.fearnixx.jeak.teamspeak.data.TS3Client;
 import de.fearnixx.jeak.teamspeak.data.TS3ClientHolder;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
 import de.fearnixx.jeak.util.TS3DataFixes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -34,8 +41,13 @@ import java.util.concurrent.TimeUnit;
 public class ClientCache {
 
     private static final Logger logger = LoggerFactory.getLogger(ClientCache.class);
+    // Changes with every refresh, reporting them would make every client "updated".
+    private static final Set<String> IGNORED_CHANGES = Set.of(PropertyKeys.Client.IDLE_TIME);
 
     private final Map<Integer, TS3Client> clientCache = new ConcurrentHashMap<>(50);
+    private final ClientIndex clientIndex = new ClientIndex(clientCache);
+    // Read-copy-update: Readers get the current generation without locking, writers publish the next one while holding the lock.
+    private volatile CacheSnapshot<IClient> snapshot = CacheSnapshot.empty();
     private final Object LOCK;
 
     @Inject
@@ -68,6 +80,7 @@ public class ClientCache {
             .addOption("-info")
             .addOption("-icon")
             .addOption("-country")
+            .priority(QueryPriority.SYSTEM)
             .onDone(this::onListAnswer)
             .build();
     private final ITask clientListTask = ITask.builder()
@@ -92,6 +105,8 @@ public class ClientCache {
             taskService.removeTask(clientListTask);
             clientCache.values().forEach(TS3ClientHolder::invalidate);
             clientCache.clear();
+            clientIndex.clear();
+            publish();
         }
     }
 
@@ -108,11 +123,17 @@ public class ClientCache {
     /**
      * Refreshes the internal client cache based off a `clientlist` answer event.
      * All methods and listeners assume that all options were set during the request.
+     * An {@link IQueryEvent.IDataEvent.IClientUpdated} event is fired for each client whose properties have changed.
      */
     private void refreshClients(IRawQueryEvent.IMessage.IAnswer event) {
         List<IRawQueryEvent.IMessage> objects = event.toList();
+        final Map<Integer, Map<String, String>> changes = new ConcurrentHashMap<>();
+        final Set<Integer> addedIds = new HashSet<>();
+        final Set<Integer> removedIds = new HashSet<>();
+        final List<QueryEvent> updates = new ArrayList<>();
+        final CacheSnapshot<IClient> refreshed;
         synchronized (LOCK) {
-            final Map<Integer, TS3Client> clientMapping = generateClientMapping(objects);
+            final Map<Integer, TS3Client> clientMapping = generateClientMapping(objects, changes);
 
             TS3Client oldClientRep;
             Integer oID;
@@ -128,6 +149,8 @@ public class ClientCache {
                     // Client removed - invalidate & remove
                     oldClientRep.invalidate();
                     clientCache.remove(oID);
+                    clientIndex.remove(oID);
+                    removedIds.add(oID);
 
                 } else {
                     clientMapping.remove(oID);
@@ -137,15 +160,31 @@ public class ClientCache {
             // All others are new - Add them
             boolean firstFill = clientCache.isEmpty();
             clientMapping.forEach(clientCache::put);
+            addedIds.addAll(clientMapping.keySet());
             clientMapping.clear();
+            // Only changed clients need to be re-indexed.
+            changes.forEach((cid, previousValues) -> {
+                final TS3Client client = clientCache.get(cid);
+                clientIndex.index(client);
+                updates.add(new QueryEvent.BasicDataEvent.ClientUpdated(client, previousValues));
+            });
+            addedIds.forEach(cid -> clientIndex.index(clientCache.get(cid)));
+            publish();
+            refreshed = snapshot;
             if (firstFill) {
                 logger.info("Client cache is ready.");
             }
         }
 
-        logger.debug("Clientlist updated");
-        QueryEvent refresh = new QueryEvent.BasicDataEvent
-                .RefreshClients(getClients(), getClientMap());
+        logger.debug("Clientlist updated: {} added, {} removed, {} changed", addedIds.size(), removedIds.size(), updates.size());
+        for (QueryEvent update : updates) {
+            update.setConnection(event.getConnection());
+            update.setRawReference(event);
+            eventService.fireEvent(update);
+        }
+
+        QueryEvent refresh = new QueryEvent.BasicDataEvent.RefreshClients(
+                refreshed::getValues, refreshed::getMap, addedIds, removedIds, new HashSet<>(changes.keySet()));
         refresh.setConnection(event.getConnection());
         refresh.setRawReference(event);
         eventService.fireEvent(refresh);
@@ -156,9 +195,12 @@ public class ClientCache {
      * Helper method for {@link #refreshClients(IRawQueryEvent.IMessage.IAnswer)}.
      * <p>
      * Handles update existing and creating clients
+     *
+     * @param changes receives the previous values of changed properties per client ID. New clients are not included.
      */
-    private Map<Integer, TS3Client> generateClientMapping(List<IRawQueryEvent.IMessage> messageObjects) {
-        final Map<Integer, TS3Client> mapping = new HashMap<>(messageObjects.size(), 1.1f);
+    private Map<Integer, TS3Client> generateClientMapping(List<IRawQueryEvent.IMessage> messageObjects,
+                                                          Map<Integer, Map<String, String>> changes) {
+        final Map<Integer, TS3Client> mapping = new ConcurrentHashMap<>(messageObjects.size(), 1.1f);
         messageObjects
                 .stream()
                 .parallel()
@@ -178,14 +220,17 @@ public class ClientCache {
                         if (client == null) {
                             // Client is new - New reference
                             client = createClient(message);
+                            // Fix client icon ID in case it got misread by TS3
+                            TS3DataFixes.ICONS_INVALID_CRC32(client, PropertyKeys.Client.ICON_ID);
 
                         } else {
                             // Client not new - Update values
-                            client.merge(message);
+                            final Map<String, String> changed = mergeChanges(client, message);
+                            if (!changed.isEmpty()) {
+                                changes.put(cid, changed);
+                            }
                         }
 
-                        // Fix client icon ID in case it got misread by TS3
-                        TS3DataFixes.ICONS_INVALID_CRC32(client, PropertyKeys.Client.ICON_ID);
                         mapping.put(cid, client);
                     } catch (Exception e) {
                         logger.warn("Failed to parse a client", e);
@@ -194,6 +239,39 @@ public class ClientCache {
         return mapping;
     }
 
+    /**
+     * Merges the message into the cached client, only copying the properties that have changed.
+     *
+     * @return the previous value of each changed or added property. {@code null} for added ones.
+     */
+    private static Map<String, String> mergeChanges(TS3Client client, IRawQueryEvent.IMessage message) {
+        final String previousIcon = client.getProperty(PropertyKeys.Client.ICON_ID).orElse(null);
+        Map<String, String> changed = null;
+        for (Map.Entry<String, String> entry : message.getValues().entrySet()) {
+            final String key = entry.getKey();
+            final String previous = client.getProperty(key).orElse(null);
+            if (entry.getValue().equals(previous)) {
+                continue;
+            }
+
+            client.setProperty(key, entry.getValue());
+            if (!IGNORED_CHANGES.contains(key)) {
+                if (changed == null) {
+                    changed = new HashMap<>();
+                }
+                changed.put(key, previous);
+            }
+        }
+
+        // Fix client icon ID in case it got misread by TS3
+        TS3DataFixes.ICONS_INVALID_CRC32(client, PropertyKeys.Client.ICON_ID);
+        if (changed != null && changed.containsKey(PropertyKeys.Client.ICON_ID)
+                && Objects.equals(previousIcon, client.getProperty(PropertyKeys.Client.ICON_ID).orElse(null))) {
+            changed.remove(PropertyKeys.Client.ICON_ID);
+        }
+        return changed != null ? changed : Collections.emptyMap();
+    }
+
     private TS3Client createClient(IRawQueryEvent.IMessage message) {
         TS3Client client;
         client = new TS3Client();
@@ -218,21 +296,70 @@ public class ClientCache {
         client.setDataCache(dataCache);
     }
 
-    public Map<Integer, IClient> getClientMap() {
-        synchronized (LOCK) {
-            return Map.copyOf(clientCache);
+    /**
+     * Adds a client that has entered, e.g. from a notification. Must be called while holding the lock.
+     */
+    void unsafeAdd(TS3Client client) {
+        clientCache.put(client.getClientID(), client);
+        clientIndex.index(client);
+        publish();
+    }
+
+    /**
+     * Removes a client that has left, e.g. from a notification. Must be called while holding the lock.
+     *
+     * @return the removed client, {@code null} if it was not cached.
+     */
+    TS3Client unsafeRemove(Integer clientId) {
+        final TS3Client removed = clientCache.remove(clientId);
+        if (removed != null) {
+            clientIndex.remove(clientId);
+            publish();
         }
+        return removed;
+    }
+
+    /**
+     * Publishes the next generation of the cache for readers. Must be called while holding the lock.
+     */
+    private void publish() {
+        snapshot = snapshot.next(List.copyOf(clientCache.values()), clientCache);
+        logger.trace("Published client cache generation {}", snapshot.getGeneration());
+    }
+
+    public Map<Integer, IClient> getClientMap() {
+        return snapshot.getMap();
     }
 
     public List<IClient> getClients() {
-        synchronized (LOCK) {
-            return List.copyOf(clientCache.values());
-        }
+        return snapshot.getValues();
+    }
+
+    public Optional<IClient> getClient(int clientId) {
+        return Optional.ofNullable(snapshot.getMap().get(clientId));
+    }
+
+    public List<IClient> findClientsByUniqueId(String uniqueId) {
+        return List.copyOf(clientIndex.findByUniqueId(uniqueId));
+    }
+
+    public List<IClient> findClientsByDBID(int dbId) {
+        return List.copyOf(clientIndex.findByDBID(dbId));
+    }
+
+    public List<IClient> findClientsByNickname(String nickname) {
+        return List.copyOf(clientIndex.findByNickname(nickname));
+    }
+
+    public List<IClient> getClientsInChannel(int channelId) {
+        return List.copyOf(clientIndex.findByChannel(channelId));
+    }
+
+    ClientIndex getUnsafeClientIndex() {
+        return clientIndex;
     }
 
     Map<Integer, TS3Client> getUnsafeClientMap() {
-        synchronized (LOCK) {
-            return clientCache;
-        }
+        return clientCache;
     }
 }
@@ -0,0 +1,215 @@
+package de.fearnixx.jeak.teamspeak.cache;
+
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.data.TS3Client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Secondary indexes of the cached clients: By unique id, database id, channel and nickname.
+ * Nicknames are indexed by their lower-case trigrams, so a substring search only verifies the clients sharing the rarest trigram of the fragment.
+ * <p>
+ * Writers have to hold the lock of the {@link DataCache}. Readers don't lock: They may briefly find a client under its previous keys,
+ * so results are verified against the current keys.
+ * Clients are updated in place, so {@link #index(TS3Client)} has to be called again whenever a cached client has changed.
+ *
+ * @since 1.2.0
+ */
+public class ClientIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Integer, TS3Client> clients;
+    private final Map<Integer, Keys> indexedKeys = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> byUniqueId = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> byDBID = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> byChannel = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> byTrigram = new ConcurrentHashMap<>();
+
+    /**
+     * @param clients the cached clients by client id. Lookups resolve the indexed ids through it.
+     */
+    public ClientIndex(Map<Integer, TS3Client> clients) {
+        this.clients = clients;
+    }
+
+    /**
+     * Adds the client or updates the indexes, if the indexed properties have changed.
+     */
+    public void index(TS3Client client) {
+        final Integer clientId = parseId(client.getProperty(PropertyKeys.Client.ID).orElse(null));
+        if (clientId == null) {
+            return;
+        }
+
+        final Keys keys = new Keys(client);
+        final Keys previous = indexedKeys.put(clientId, keys);
+        if (keys.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unindex(clientId, previous);
+        }
+        add(byUniqueId, keys.uniqueId, clientId);
+        add(byDBID, keys.dbId, clientId);
+        add(byChannel, keys.channelId, clientId);
+        for (String trigram : trigramsOf(keys.nickname)) {
+            add(byTrigram, trigram, clientId);
+        }
+    }
+
+    public void remove(Integer clientId) {
+        final Keys previous = indexedKeys.remove(clientId);
+        if (previous != null) {
+            unindex(clientId, previous);
+        }
+    }
+
+    public void clear() {
+        indexedKeys.clear();
+        byUniqueId.clear();
+        byDBID.clear();
+        byChannel.clear();
+        byTrigram.clear();
+    }
+
+    public List<TS3Client> findByUniqueId(String uniqueId) {
+        return resolve(byUniqueId.get(uniqueId), keys -> uniqueId.equals(keys.uniqueId));
+    }
+
+    public List<TS3Client> findByDBID(int dbId) {
+        return resolve(byDBID.get(dbId), keys -> keys.dbId != null && keys.dbId == dbId);
+    }
+
+    public List<TS3Client> findByChannel(int channelId) {
+        return resolve(byChannel.get(channelId), keys -> keys.channelId != null && keys.channelId == channelId);
+    }
+
+    /**
+     * Clients whose nickname contains the fragment, ignoring case.
+     */
+    public List<TS3Client> findByNickname(String fragment) {
+        final String needle = fragment.toLowerCase();
+        Collection<Integer> candidates = indexedKeys.keySet();
+        if (needle.length() >= GRAM_LENGTH) {
+            for (String trigram : trigramsOf(needle)) {
+                final Set<Integer> posting = byTrigram.get(trigram);
+                if (posting == null) {
+                    return Collections.emptyList();
+                } else if (posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+        }
+
+        return resolve(candidates, keys -> keys.nickname.contains(needle));
+    }
+
+    private void unindex(Integer clientId, Keys keys) {
+        remove(byUniqueId, keys.uniqueId, clientId);
+        remove(byDBID, keys.dbId, clientId);
+        remove(byChannel, keys.channelId, clientId);
+        for (String trigram : trigramsOf(keys.nickname)) {
+            remove(byTrigram, trigram, clientId);
+        }
+    }
+
+    private List<TS3Client> resolve(Collection<Integer> clientIds, Predicate<Keys> matches) {
+        if (clientIds == null) {
+            return Collections.emptyList();
+        }
+        final List<TS3Client> result = new ArrayList<>();
+        for (Integer clientId : clientIds) {
+            final Keys keys = indexedKeys.get(clientId);
+            final TS3Client client = clients.get(clientId);
+            if (keys != null && client != null && matches.test(keys)) {
+                result.add(client);
+            }
+        }
+        return result;
+    }
+
+    private static <K> void add(Map<K, Set<Integer>> index, K key, Integer clientId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet(4)).add(clientId);
+        }
+    }
+
+    private static <K> void remove(Map<K, Set<Integer>> index, K key, Integer clientId) {
+        if (key == null) {
+            return;
+        }
+        final Set<Integer> posting = index.get(key);
+        if (posting != null && posting.remove(clientId) && posting.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        final Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private static Integer parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The indexed properties of a client, so stale entries can be found after the client has been updated.
+     */
+    private static class Keys {
+
+        private final String uniqueId;
+        private final Integer dbId;
+        private final Integer channelId;
+        private final String nickname;
+
+        private Keys(TS3Client client) {
+            uniqueId = client.getProperty(PropertyKeys.Client.UID).orElse(null);
+            dbId = parseId(client.getProperty(PropertyKeys.Client.DBID).orElse(null));
+            channelId = parseId(client.getProperty(PropertyKeys.Client.CHANNEL_ID).orElse(null));
+            nickname = client.getProperty(PropertyKeys.Client.NICKNAME).orElse("").toLowerCase();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Keys)) {
+                return false;
+            }
+            final Keys other = (Keys) o;
+            return Objects.equals(uniqueId, other.uniqueId)
+                    && Objects.equals(dbId, other.dbId)
+                    && Objects.equals(channelId, other.channelId)
+                    && nickname.equals(other.nickname);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uniqueId, dbId, channelId, nickname);
+        }
+    }
+}
@@ -57,6 +57,7 @@ public class ClientUpdateWatcher {
 
                 // Set new channel
                 client.setProperty(PropertyKeys.Client.CHANNEL_ID, toChannelId.toString());
+                dataCache.unsafeGetClientIndex().index(client);
                 // Set new client count - FROM
                 fromChannel.setProperty(
                         PropertyKeys.Channel.CLIENT_COUNT,
@@ -76,15 +77,13 @@ public class ClientUpdateWatcher {
         } else if (event instanceof IQueryEvent.INotification.IClientLeave) {
             // Client has left - Apply to representation
             synchronized (LOCK) {
-                Map<Integer, TS3Client> clientCache = dataCache.unsafeGetClients();
                 Integer clientID = Integer.parseInt(event.getProperty("clid")
                         .orElseThrow(() -> new IllegalStateException("Missing clid in ClientLeave!")));
-                TS3Client client = clientCache.getOrDefault(clientID, null);
+                TS3Client client = dataCache.unsafeRemoveClient(clientID);
                 if (client == null) {
                     return;
                 }
                 client.invalidate();
-                clientCache.remove(clientID);
                 logger.debug("Invalidated client: {}", client);
             }
         }
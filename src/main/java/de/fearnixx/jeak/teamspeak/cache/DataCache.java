@@ -9,6 +9,7 @@ import de.fearnixx.jeak.reflect.Listener;
 import de.fearnixx.jeak.service.event.IEventService;
 import de.fearnixx.jeak.teamspeak.IServer;
 import de.fearnixx.jeak.teamspeak.data.*;
+import de.fearnixx.jeak.teamspeak.query.event.NotificationCoalescer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,21 +59,48 @@ public class DataCache implements IDataCache {
 
         injectionService.injectInto(genericInfoCache);
         eventService.registerListener(genericInfoCache);
+
+        // Registered last: Batches are collected once the caches have been updated.
+        if (NotificationCoalescer.isEnabled()) {
+            final NotificationCoalescer coalescer = new NotificationCoalescer();
+            injectionService.injectInto(coalescer);
+            eventService.registerListener(coalescer);
+        }
     }
 
     @Override
     public Optional<IClient> findClientByUniqueId(String uniqueId) {
-        return getClients().stream()
-                .filter(c -> c.getClientUniqueID().equals(uniqueId))
-                .findFirst();
+        return findClientsByUniqueId(uniqueId).stream().findFirst();
+    }
+
+    @Override
+    public Optional<IClient> getClient(int clientId) {
+        return clientCache.getClient(clientId);
+    }
+
+    @Override
+    public List<IClient> findClientsByUniqueId(String uniqueId) {
+        return clientCache.findClientsByUniqueId(uniqueId);
+    }
+
+    @Override
+    public List<IClient> findClientsByDBID(int dbId) {
+        return clientCache.findClientsByDBID(dbId);
+    }
+
+    @Override
+    public List<IClient> findClientsByNickname(String nickname) {
+        return clientCache.findClientsByNickname(nickname);
+    }
+
+    @Override
+    public List<IClient> getClientsInChannel(int channelId) {
+        return clientCache.getClientsInChannel(channelId);
     }
 
     @Override
     public Optional<IChannel> findChannelByName(String name) {
-        return getChannels()
-                .stream()
-                .filter(c -> c.getName().toLowerCase().contains(name.toLowerCase()))
-                .findFirst();
+        return channelCache.findChannelByName(name);
     }
 
     @Override
@@ -113,6 +141,42 @@ public class DataCache implements IDataCache {
         return clientCache.getUnsafeClientMap();
     }
 
+    ClientIndex unsafeGetClientIndex() {
+        return clientCache.getUnsafeClientIndex();
+    }
+
+    void unsafeAddChannel(TS3Channel channel) {
+        channelCache.unsafeAdd(channel);
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    void unsafeMoveChannel(TS3Channel channel) {
+        channelCache.unsafeMove(channel);
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    void unsafeRemoveChannel(Integer channelId) {
+        channelCache.unsafeRemove(channelId);
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    void unsafeAddClient(TS3Client client) {
+        clientCache.unsafeAdd(client);
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    TS3Client unsafeRemoveClient(Integer clientId) {
+        return clientCache.unsafeRemove(clientId);
+    }
+
     @Override
     public Optional<IDataHolder> getServerInfo() {
         return genericInfoCache.getServerInfo();
@@ -62,7 +62,7 @@ public class EventDataInjector {
             applyPermissions(client);
 
             synchronized (LOCK) {
-                dataCache.unsafeGetClients().put(client.getClientID(), client);
+                dataCache.unsafeAddClient(client);
             }
         }
 
@@ -108,8 +108,12 @@ public class EventDataInjector {
             boolean isSpacer = TS3Spacer.spacerPattern.matcher(channelName).matches();
             TS3Channel channel = isSpacer ? new TS3Spacer() : new TS3Channel();
             channel.copyFrom(event);
+
+            // Channel-Create events use "cpid" and not "pid".
+            channel.setProperty(PropertyKeys.Channel.PARENT, event.getProperty("cpid").orElse("0"));
+            channel.setProperty("cpid", null);
             synchronized (LOCK) {
-                dataCache.unsafeGetChannels().put(channel.getID(), channel);
+                dataCache.unsafeAddChannel(channel);
             }
         }
 
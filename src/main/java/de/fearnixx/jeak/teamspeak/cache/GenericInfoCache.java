@@ -11,6 +11,7 @@ import de.fearnixx.jeak.teamspeak.QueryCommands;
 import de.fearnixx.jeak.teamspeak.data.IDataHolder;
 import de.fearnixx.jeak.teamspeak.except.ConsistencyViolationException;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +50,7 @@ public class GenericInfoCache {
         server.optConnection().ifPresent(conn -> {
             conn.sendRequest(IQueryRequest.builder()
                     .command(QueryCommands.SERVER.SERVER_INFO)
+                    .priority(QueryPriority.SYSTEM)
                     .onError(a -> {
                         logger.warn("Failed to refresh server info: {} - {}", a.getErrorCode(), a.getErrorMessage());
                         synchronized (this) {
@@ -71,6 +73,7 @@ public class GenericInfoCache {
         server.optConnection().ifPresent(conn -> {
             conn.sendRequest(IQueryRequest.builder()
                     .command(QueryCommands.SERVER.INSTANCE_INFO)
+                    .priority(QueryPriority.SYSTEM)
                     .onError(a -> {
                         logger.warn("Failed to refresh instance info: {} - {}", a.getErrorCode(), a.getErrorMessage());
                         synchronized (this) {
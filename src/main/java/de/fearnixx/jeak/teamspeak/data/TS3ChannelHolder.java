@@ -2,22 +2,64 @@ package de.fearnixx.jeak.teamspeak.data;
 
 import de.fearnixx.jeak.teamspeak.PropertyKeys;
 import de.fearnixx.jeak.teamspeak.except.ConsistencyViolationException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.*;
+import java.util.List;
 
 public abstract class TS3ChannelHolder extends BasicDataHolder implements IChannel {
 
-    private static final Logger logger = LoggerFactory.getLogger(TS3Channel.class);
-
     private boolean invalidated = false;
-    private final List<TS3ChannelHolder> children;
-    private TS3ChannelHolder sortAfter;
+    // Maintained by the channel tree of the cache. Replaced on change, so readers don't need to lock.
+    private volatile List<IChannel> children = List.of();
+    private volatile int sortingNumber;
+
+    // Parsed on change. Missing or malformed: null or the sentinels of TypedProperties.
+    private volatile int id = TypedProperties.MISSING;
+    private volatile int parent = TypedProperties.MISSING;
+    private volatile int order = TypedProperties.MISSING;
+    private volatile int talkPower = TypedProperties.MISSING;
+    private volatile int clientCount = TypedProperties.MISSING;
+    private volatile int maxClientCount = TypedProperties.MISSING;
+    private volatile int clientCountBelow = TypedProperties.MISSING;
+    private volatile int maxClientCountBelow = TypedProperties.MISSING;
+    private volatile String name;
 
     public TS3ChannelHolder(){
         super();
-        children = new ArrayList<>();
+    }
+
+    @Override
+    protected void onPropertyChanged(String key, String value) {
+        switch (key) {
+            case PropertyKeys.Channel.ID:
+                id = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.PARENT:
+                parent = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.ORDER:
+                order = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.TALK_POWER:
+                talkPower = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.CLIENT_COUNT:
+                clientCount = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.MAX_CLIENTS:
+                maxClientCount = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.CLIENT_COUNT_FAMILY:
+                clientCountBelow = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.MAX_CLIENTS_FAMILY:
+                maxClientCountBelow = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Channel.NAME:
+                name = value;
+                break;
+            default:
+                super.onPropertyChanged(key, value);
+        }
     }
 
     public void invalidate() {
@@ -27,23 +69,27 @@ public abstract class TS3ChannelHolder extends BasicDataHolder implements IChann
 
     @Override
     public Integer getID() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.ID)
+        final int cached = id;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.ID)
                 .orElseThrow(() -> new ConsistencyViolationException("Channel is missing ID!")));
     }
 
     @Override
     public Integer getParent() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.PARENT).orElse("0"));
+        final int cached = parent;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.PARENT).orElse("0"));
     }
 
     @Override
     public Integer getOrder() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.ORDER).orElse("0"));
+        final int cached = order;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.ORDER).orElse("0"));
     }
 
     @Override
     public String getName() {
-        return getProperty(PropertyKeys.Channel.NAME).orElse("null");
+        final String cached = name;
+        return cached != null ? cached : getProperty(PropertyKeys.Channel.NAME).orElse("null");
     }
 
     @Override
@@ -88,27 +134,32 @@ public abstract class TS3ChannelHolder extends BasicDataHolder implements IChann
 
     @Override
     public Integer getTalkPower() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.TALK_POWER).orElse("0"));
+        final int cached = talkPower;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.TALK_POWER).orElse("0"));
     }
 
     @Override
     public Integer getClientCount() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.CLIENT_COUNT).orElse("0"));
+        final int cached = clientCount;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.CLIENT_COUNT).orElse("0"));
     }
 
     @Override
     public Integer getMaxClientCount() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.MAX_CLIENTS).orElse("-1"));
+        final int cached = maxClientCount;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.MAX_CLIENTS).orElse("-1"));
     }
 
     @Override
     public Integer getClientCountBelow() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.CLIENT_COUNT_FAMILY).orElse("0"));
+        final int cached = clientCountBelow;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.CLIENT_COUNT_FAMILY).orElse("0"));
     }
 
     @Override
     public Integer getMaxClientCountBelow() {
-        return Integer.parseInt(getProperty(PropertyKeys.Channel.MAX_CLIENTS_FAMILY).orElse("0"));
+        final int cached = maxClientCountBelow;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Channel.MAX_CLIENTS_FAMILY).orElse("0"));
     }
 
     @Override
@@ -122,19 +173,16 @@ public abstract class TS3ChannelHolder extends BasicDataHolder implements IChann
     }
 
     public void clearChildren() {
-        children.clear();
+        children = List.of();
     }
 
     @Override
     public List<IChannel> getSubChannels() {
-        return Collections.unmodifiableList(children);
+        return children;
     }
 
-    public void addSubChannel(TS3ChannelHolder channel) {
-        int id = getID();
-        if (channel.getParent() != id)
-            throw new IllegalArgumentException(id + ": Channel " + channel.getID() + "is not my child! :" + channel.getParent());
-        if (!children.contains(channel)) children.add(channel);
+    public void setSubChannels(List<? extends IChannel> channels) {
+        children = List.copyOf(channels);
     }
 
     @Override
@@ -142,21 +190,14 @@ public abstract class TS3ChannelHolder extends BasicDataHolder implements IChann
         return getName() + '/' + getID();
     }
 
-    public void setSortAfterChannel(TS3ChannelHolder channel) {
-        logger.trace("Sorting after {}", channel);
-        this.sortAfter = channel;
-    }
-
+    /**
+     * Position of this channel in the channel tree (depth-first), starting at 1.
+     */
     public int getSortingNumber() {
-        int sortNumber = 1;
-        if (this.sortAfter != null) {
-            sortNumber += this.sortAfter.getSortingNumber();
-            sortNumber += this.sortAfter.children.size();
-        }
-        return sortNumber;
+        return sortingNumber;
     }
 
-    public void sortChildren() {
-        children.sort(Comparator.comparingInt(TS3ChannelHolder::getSortingNumber));
+    public void setSortingNumber(int sortingNumber) {
+        this.sortingNumber = sortingNumber;
     }
 }
@@ -7,12 +7,96 @@ import java.util.Optional;
 
 public abstract class TS3ClientHolder extends TS3User implements IClient {
 
+    private static final int AWAY = 1;
+    private static final int TALKING = 1 << 1;
+    private static final int TALKER = 1 << 2;
+    private static final int PRIO_TALKER = 1 << 3;
+    private static final int COMMANDER = 1 << 4;
+    private static final int RECORDING = 1 << 5;
+    private static final int MIC = 1 << 6;
+    private static final int MIC_MUTED = 1 << 7;
+    private static final int OUTPUT = 1 << 8;
+    private static final int OUTPUT_MUTED = 1 << 9;
+
     private boolean invalidated = false;
 
+    // Parsed on change. Missing or malformed: null or the sentinels of TypedProperties.
+    private volatile int clientId = TypedProperties.MISSING;
+    private volatile int channelId = TypedProperties.MISSING;
+    private volatile int channelGroupId = TypedProperties.MISSING;
+    private volatile int channelGroupSource = TypedProperties.MISSING;
+    private volatile int talkPower = TypedProperties.MISSING;
+    private volatile int idleTime = TypedProperties.MISSING;
+    private volatile ClientType clientType;
+    private volatile PlatformType platform;
+    private volatile int flags;
+
     public TS3ClientHolder() {
         super();
     }
 
+    @Override
+    protected void onPropertyChanged(String key, String value) {
+        switch (key) {
+            case PropertyKeys.Client.ID:
+                clientId = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Client.CHANNEL_ID:
+                channelId = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Client.CHANNEL_GROUP:
+                channelGroupId = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Client.CHANNEL_GROUP_SOURCE:
+                channelGroupSource = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Client.TALKPOWER:
+                talkPower = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Client.IDLE_TIME:
+                idleTime = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Client.TYPE:
+                clientType = clientTypeOf(value);
+                break;
+            case PropertyKeys.Client.PLATFORM:
+                platform = platformOf(value);
+                break;
+            case PropertyKeys.Client.FLAG_AWAY:
+                flags = TypedProperties.withFlag(flags, AWAY, value);
+                break;
+            case PropertyKeys.Client.FLAG_TALKING:
+                flags = TypedProperties.withFlag(flags, TALKING, value);
+                break;
+            case PropertyKeys.Client.FLAG_TALKER:
+                flags = TypedProperties.withFlag(flags, TALKER, value);
+                break;
+            case PropertyKeys.Client.FLAG_PRIO_TALKER:
+                flags = TypedProperties.withFlag(flags, PRIO_TALKER, value);
+                break;
+            case PropertyKeys.Client.FLAG_COMMANDER:
+                flags = TypedProperties.withFlag(flags, COMMANDER, value);
+                break;
+            case PropertyKeys.Client.FLAG_RECORDING:
+                flags = TypedProperties.withFlag(flags, RECORDING, value);
+                break;
+            case PropertyKeys.Client.IOIN:
+                flags = TypedProperties.withFlag(flags, MIC, value);
+                break;
+            case PropertyKeys.Client.IOIN_MUTED:
+                flags = TypedProperties.withFlag(flags, MIC_MUTED, value);
+                break;
+            case PropertyKeys.Client.IOOUT:
+                flags = TypedProperties.withFlag(flags, OUTPUT, value);
+                break;
+            case PropertyKeys.Client.IOOUT_MUTED:
+                flags = TypedProperties.withFlag(flags, OUTPUT_MUTED, value);
+                break;
+            default:
+                super.onPropertyChanged(key, value);
+        }
+    }
+
     public void invalidate() {
         invalidated = true;
     }
@@ -24,6 +108,10 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public Integer getClientID() {
+        final int cached = clientId;
+        if (cached != TypedProperties.MISSING) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.ID);
         if (optProperty.isEmpty())
             throw new ConsistencyViolationException("Client is missing ID")
@@ -33,7 +121,15 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public PlatformType getPlatform() {
-        switch (getProperty(PropertyKeys.Client.PLATFORM).orElse("unknown").toLowerCase()) {
+        final PlatformType cached = platform;
+        return cached != null ? cached : PlatformType.UNKNOWN;
+    }
+
+    private static PlatformType platformOf(String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (value.toLowerCase()) {
             case "windows":
                 return PlatformType.WINDOWS;
             case "android":
@@ -56,7 +152,15 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public ClientType getClientType() {
-        return ClientType.values()[Integer.parseInt(getProperty(PropertyKeys.Client.TYPE).orElse("0"))];
+        final ClientType cached = clientType;
+        return cached != null ? cached : ClientType.values()[Integer.parseInt(getProperty(PropertyKeys.Client.TYPE).orElse("0"))];
+    }
+
+    private static ClientType clientTypeOf(String value) {
+        final int ordinal = TypedProperties.parseInt(value);
+        final ClientType[] types = ClientType.values();
+        // The sentinel is negative as well.
+        return ordinal >= 0 && ordinal < types.length ? types[ordinal] : null;
     }
 
     @Override
@@ -66,6 +170,10 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public Integer getChannelID() {
+        final int cached = channelId;
+        if (cached != TypedProperties.MISSING) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.CHANNEL_ID);
         if (optProperty.isEmpty())
             throw new ConsistencyViolationException("Client is missing channel ID")
@@ -75,6 +183,10 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public Integer getChannelGroupID() {
+        final int cached = channelGroupId;
+        if (cached != TypedProperties.MISSING) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.CHANNEL_GROUP);
         if (optProperty.isEmpty())
             throw new ConsistencyViolationException("Client is missing channel group ID")
@@ -84,6 +196,10 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public Integer getChannelGroupSource() {
+        final int cached = channelGroupSource;
+        if (cached != TypedProperties.MISSING) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.CHANNEL_GROUP_SOURCE);
         if (optProperty.isEmpty())
             throw new ConsistencyViolationException("Client has no channel group source!")
@@ -93,7 +209,7 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public Boolean isAway() {
-        return "1".equals(getProperty(PropertyKeys.Client.FLAG_AWAY).orElse(null));
+        return (flags & AWAY) != 0;
     }
 
     @Override
@@ -103,57 +219,59 @@ public abstract class TS3ClientHolder extends TS3User implements IClient {
 
     @Override
     public Integer getTalkPower() {
-        return Integer.parseInt(getProperty(PropertyKeys.Client.TALKPOWER).orElse("0"));
+        final int cached = talkPower;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Client.TALKPOWER).orElse("0"));
     }
 
     @Override
     public Boolean isTalking() {
-        return "1".equals(getProperty(PropertyKeys.Client.FLAG_TALKING).orElse(null));
+        return (flags & TALKING) != 0;
     }
 
     @Override
     public Boolean isTalker() {
-        return "1".equals(getProperty(PropertyKeys.Client.FLAG_TALKER).orElse(null));
+        return (flags & TALKER) != 0;
     }
 
     @Override
     public Boolean isPrioTalker() {
-        return "1".equals(getProperty(PropertyKeys.Client.FLAG_PRIO_TALKER).orElse(null));
+        return (flags & PRIO_TALKER) != 0;
     }
 
     @Override
     public Boolean isCommander() {
-        return "1".equals(getProperty(PropertyKeys.Client.FLAG_COMMANDER).orElse(null));
+        return (flags & COMMANDER) != 0;
     }
 
     @Override
     public Boolean isRecording() {
-        return "1".equals(getProperty(PropertyKeys.Client.FLAG_RECORDING).orElse(null));
+        return (flags & RECORDING) != 0;
     }
 
     @Override
     public Boolean hasMic() {
-        return "1".equals(getProperty(PropertyKeys.Client.IOIN).orElse(null));
+        return (flags & MIC) != 0;
     }
 
     @Override
     public Boolean hasMicMuted() {
-        return "1".equals(getProperty(PropertyKeys.Client.IOIN_MUTED).orElse(null));
+        return (flags & MIC_MUTED) != 0;
     }
 
     @Override
     public Boolean hasOutput() {
-        return "1".equals(getProperty(PropertyKeys.Client.IOOUT).orElse(null));
+        return (flags & OUTPUT) != 0;
     }
 
     @Override
     public Boolean hasOutputMuted() {
-        return "1".equals(getProperty(PropertyKeys.Client.IOOUT_MUTED).orElse(null));
+        return (flags & OUTPUT_MUTED) != 0;
     }
 
     @Override
     public Integer getIdleTime() {
-        return Integer.parseInt(getProperty(PropertyKeys.Client.IDLE_TIME).orElse("0"));
+        final int cached = idleTime;
+        return cached != TypedProperties.MISSING ? cached : Integer.parseInt(getProperty(PropertyKeys.Client.IDLE_TIME).orElse("0"));
     }
 
     @Override
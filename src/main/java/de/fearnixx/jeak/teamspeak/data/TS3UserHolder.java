@@ -22,21 +22,68 @@ public abstract class TS3UserHolder extends RawQueryEvent.Message implements IUs
 
     private static final Logger logger = LoggerFactory.getLogger(TS3UserHolder.class);
 
+    // Parsed on change. Missing or malformed: null or the sentinels of TypedProperties.
+    private volatile String uniqueId;
+    private volatile int dbId = TypedProperties.MISSING;
+    private volatile String nickName;
+    private volatile long created = TypedProperties.MISSING_LONG;
+    private volatile long lastJoin = TypedProperties.MISSING_LONG;
+    // null if missing or blank.
+    private volatile List<Integer> groupIds;
+
     protected abstract int getDefaultSGID();
 
+    @Override
+    protected void onPropertyChanged(String key, String value) {
+        switch (key) {
+            case PropertyKeys.Client.UID:
+                uniqueId = value;
+                break;
+            case PropertyKeys.Client.DBID:
+                dbId = TypedProperties.parseInt(value);
+                break;
+            case PropertyKeys.Client.NICKNAME:
+                nickName = value;
+                break;
+            case PropertyKeys.Client.CREATED_TIME:
+                created = TypedProperties.parseLong(value);
+                break;
+            case PropertyKeys.Client.LAST_JOIN_TIME:
+                lastJoin = TypedProperties.parseLong(value);
+                break;
+            case PropertyKeys.Client.GROUPS:
+                groupIds = value == null || value.isBlank() ? null : parseGroupIDs(value);
+                break;
+            default:
+                super.onPropertyChanged(key, value);
+        }
+    }
+
     public String getClientUniqueID() {
+        final String cached = uniqueId;
+        if (cached != null) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.UID);
         return optProperty.orElseThrow(
                 () -> new ConsistencyViolationException("Client is missing unique ID").setSourceObject(this));
     }
 
     public Integer getClientDBID() {
+        final int cached = dbId;
+        if (cached != TypedProperties.MISSING) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.DBID);
         return Integer.parseInt(optProperty.orElseThrow(
                 () -> new ConsistencyViolationException("Client is missing database ID").setSourceObject(this)));
     }
 
     public String getNickName() {
+        final String cached = nickName;
+        if (cached != null) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.NICKNAME);
         return optProperty.orElseThrow(
                 () -> new ConsistencyViolationException("Client is missing nickname").setSourceObject(this));
@@ -53,6 +100,10 @@ public abstract class TS3UserHolder extends RawQueryEvent.Message implements IUs
     }
 
     public Long getCreated() {
+        final long cached = created;
+        if (cached != TypedProperties.MISSING_LONG) {
+            return cached;
+        }
         Optional<String> optProperty = getProperty(PropertyKeys.Client.CREATED_TIME);
         return Long.parseLong(optProperty.orElseThrow(
                 () -> new ConsistencyViolationException("Client is missing creation timestamp").setSourceObject(this)));
@@ -63,7 +114,8 @@ public abstract class TS3UserHolder extends RawQueryEvent.Message implements IUs
     }
 
     public Long getLastJoin() {
-        return Long.parseLong(getProperty(PropertyKeys.Client.LAST_JOIN_TIME).orElse("0"));
+        final long cached = lastJoin;
+        return cached != TypedProperties.MISSING_LONG ? cached : Long.parseLong(getProperty(PropertyKeys.Client.LAST_JOIN_TIME).orElse("0"));
     }
 
     public LocalDateTime getLastJoinTime() {
@@ -72,24 +124,18 @@ public abstract class TS3UserHolder extends RawQueryEvent.Message implements IUs
 
     @Override
     public List<Integer> getGroupIDs() {
+        final List<Integer> cached = groupIds;
+        if (cached != null) {
+            return cached;
+        }
+
         Optional<String> optProperty = getProperty(PropertyKeys.Client.GROUPS);
 
         String s = optProperty.orElseThrow(
                 () -> new ConsistencyViolationException("Client has no server groups").setSourceObject(this));
 
         if (!s.isBlank()) {
-            return Arrays.stream(s.split(","))
-                    .filter(sID -> sID != null && !sID.isBlank())
-                    .map(sID -> {
-                        try {
-                            return Integer.parseInt(sID);
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid group ID from TS: {} in {}", sID, this, new ConsistencyViolationException(e));
-                            return -1;
-                        }
-                    })
-                    .filter(id -> id > 0)
-                    .collect(Collectors.toUnmodifiableList());
+            return parseGroupIDs(s);
         } else {
             // No groups: Apply default group?
             if (INHERIT_DEFAULT_GRP_ON_NONE) {
@@ -100,6 +146,21 @@ public abstract class TS3UserHolder extends RawQueryEvent.Message implements IUs
         }
     }
 
+    private static List<Integer> parseGroupIDs(String groups) {
+        return Arrays.stream(groups.split(","))
+                .filter(sID -> sID != null && !sID.isBlank())
+                .map(sID -> {
+                    try {
+                        return Integer.parseInt(sID);
+                    } catch (NumberFormatException e) {
+                        logger.warn("Invalid group ID from TS: {} in {}", sID, groups, new ConsistencyViolationException(e));
+                        return -1;
+                    }
+                })
+                .filter(id -> id > 0)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
     @Override
     public String toString() {
         return getNickName() + "/db" + getClientDBID();
@@ -0,0 +1,58 @@
+package de.fearnixx.jeak.teamspeak.data;
+
+/**
+ * Parsing helpers for the typed fields of the data holders.
+ * Known properties are parsed once when they are set and kept as primitives, using a sentinel for missing or malformed values.
+ * Getters use the parsed value and only fall back to the string for the sentinel - so defaults and exceptions stay the same.
+ *
+ * @since 1.2.0
+ */
+final class TypedProperties {
+
+    /**
+     * Sentinel of int fields: Missing or malformed. A value that actually equals the sentinel is parsed from the string.
+     */
+    static final int MISSING = Integer.MIN_VALUE;
+    /**
+     * Sentinel of long fields, see {@link #MISSING}.
+     */
+    static final long MISSING_LONG = Long.MIN_VALUE;
+
+    private TypedProperties() {
+    }
+
+    /**
+     * @return the parsed value or {@link #MISSING} if missing or malformed.
+     */
+    static int parseInt(String value) {
+        if (value == null) {
+            return MISSING;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return MISSING;
+        }
+    }
+
+    /**
+     * @return the parsed value or {@link #MISSING_LONG} if missing or malformed.
+     */
+    static long parseLong(String value) {
+        if (value == null) {
+            return MISSING_LONG;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return MISSING_LONG;
+        }
+    }
+
+    /**
+     * Sets or clears the given bit of a flag field.
+     */
+    static int withFlag(int flags, int bit, String value) {
+        return "1".equals(value) ? flags | bit : flags & ~bit;
+    }
+}
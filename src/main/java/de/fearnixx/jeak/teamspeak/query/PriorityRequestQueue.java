@@ -0,0 +1,225 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+import de.fearnixx.jeak.Main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request queue with one lane per {@link QueryPriority}.
+ * Lanes are served weighted round-robin: Within a round, each lane may deliver as many requests as its weight allows.
+ * Higher priorities are asked first, a new round starts when no lane with requests has credit left.
+ *
+ * @implNote Adding requests is thread safe. Polling is only supposed to be done by the request pump of the connection.
+ * @since 1.2.0
+ */
+public class PriorityRequestQueue {
+
+    private static final QueryPriority[] PRIORITIES = QueryPriority.values();
+
+    private final Lane[] lanes = new Lane[PRIORITIES.length];
+    private final AtomicInteger size = new AtomicInteger();
+
+    public PriorityRequestQueue() {
+        for (QueryPriority priority : PRIORITIES) {
+            final int weight = Main.getProperty("jeak.connection.lanes." + priority.name().toLowerCase() + ".weight", priority.getDefaultWeight());
+            lanes[priority.ordinal()] = new Lane(priority, Math.max(1, weight));
+        }
+    }
+
+    public void add(IQueryRequest request) {
+        // Counted once it can be polled: A non-empty queue always delivers a request.
+        lanes[request.getPriority().ordinal()].add(request);
+        size.incrementAndGet();
+    }
+
+    /**
+     * Puts the last polled request back to the head of its lane, e.g. when the rate limit does not allow sending it yet.
+     * The request keeps its place and the lane credit it has been polled with.
+     */
+    public void requeue(IQueryRequest request) {
+        final Lane lane = lanes[request.getPriority().ordinal()];
+        lane.requeue(request);
+        lane.credit++;
+        size.incrementAndGet();
+    }
+
+    public boolean isEmpty() {
+        // Polling may overtake the increment of a concurrent add.
+        return size.get() <= 0;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Takes the next request according to the lane weights.
+     *
+     * @return the request or {@code null} if all lanes are empty.
+     */
+    public IQueryRequest poll() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        for (int round = 0; round < 2; round++) {
+            for (Lane lane : lanes) {
+                if (lane.credit > 0) {
+                    final IQueryRequest request = lane.poll();
+                    if (request != null) {
+                        lane.credit--;
+                        size.decrementAndGet();
+                        return request;
+                    }
+                }
+            }
+
+            // No busy lane has credit left: Start a new round.
+            for (Lane lane : lanes) {
+                lane.credit = lane.weight;
+            }
+        }
+        return null;
+    }
+
+    public List<IRequestLaneStats> getLaneStats() {
+        final List<IRequestLaneStats> stats = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            stats.add(lane.snapshot());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    private static class Lane {
+
+        private final QueryPriority priority;
+        private final int weight;
+        private final Deque<Entry> queue = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong dequeued = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private int credit;
+        private Entry lastPolled;
+        private long lastPolledWait;
+
+        private Lane(QueryPriority priority, int weight) {
+            this.priority = priority;
+            this.weight = weight;
+            this.credit = weight;
+        }
+
+        private void add(IQueryRequest request) {
+            queue.add(new Entry(request, System.nanoTime()));
+            depth.incrementAndGet();
+            enqueued.incrementAndGet();
+        }
+
+        private IQueryRequest poll() {
+            final Entry entry = queue.poll();
+            if (entry == null) {
+                return null;
+            }
+
+            final long waited = System.nanoTime() - entry.enqueuedAt;
+            depth.decrementAndGet();
+            dequeued.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            lastPolled = entry;
+            lastPolledWait = waited;
+            return entry.request;
+        }
+
+        private void requeue(IQueryRequest request) {
+            final Entry entry;
+            if (lastPolled != null && lastPolled.request == request) {
+                // Still waiting: Keep the original timestamp and only count the wait once it is finally dequeued.
+                entry = lastPolled;
+                dequeued.decrementAndGet();
+                totalWaitNanos.addAndGet(-lastPolledWait);
+            } else {
+                entry = new Entry(request, System.nanoTime());
+                enqueued.incrementAndGet();
+            }
+            lastPolled = null;
+            queue.addFirst(entry);
+            depth.incrementAndGet();
+        }
+
+        private IRequestLaneStats snapshot() {
+            final long dequeuedCount = dequeued.get();
+            final double avgWait = dequeuedCount > 0 ? totalWaitNanos.get() / 1_000_000d / dequeuedCount : 0d;
+            return new LaneStats(priority, depth.get(), enqueued.get(), dequeuedCount, avgWait,
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+        }
+    }
+
+    private static class Entry {
+
+        private final IQueryRequest request;
+        private final long enqueuedAt;
+
+        private Entry(IQueryRequest request, long enqueuedAt) {
+            this.request = request;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static class LaneStats implements IRequestLaneStats {
+
+        private final QueryPriority priority;
+        private final int depth;
+        private final long enqueued;
+        private final long dequeued;
+        private final double avgWaitMillis;
+        private final long maxWaitMillis;
+
+        private LaneStats(QueryPriority priority, int depth, long enqueued, long dequeued, double avgWaitMillis, long maxWaitMillis) {
+            this.priority = priority;
+            this.depth = depth;
+            this.enqueued = enqueued;
+            this.dequeued = dequeued;
+            this.avgWaitMillis = avgWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        @Override
+        public QueryPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public int getDepth() {
+            return depth;
+        }
+
+        @Override
+        public long getEnqueuedCount() {
+            return enqueued;
+        }
+
+        @Override
+        public long getDequeuedCount() {
+            return dequeued;
+        }
+
+        @Override
+        public double getAverageWaitMillis() {
+            return avgWaitMillis;
+        }
+
+        @Override
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+    }
+}
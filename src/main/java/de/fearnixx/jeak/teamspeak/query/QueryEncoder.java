@@ -1,8 +1,14 @@
 package de.fearnixx.jeak.teamspeak.query;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
  * Encoder and Decoder utility class for the telnet-like TeamSpeak query protocol.
  * Currently (Dec. 2020), this applies to telnet, telnet-tls and ssh connections.
+ * <p>
+ * Escaping and unescaping are done in a single pass using lookup tables.
+ * When there is nothing to escape or unescape, the input is returned as-is.
  */
 public class QueryEncoder {
 
@@ -21,7 +27,7 @@ public class QueryEncoder {
             '\n',
             '\r',
             '\t',
-            '\u2B7F' // vertical tab
+            '\u000B' // vertical tab
     };
 
     public static final String[] escapeSeqs = {
@@ -38,41 +44,61 @@ public class QueryEncoder {
             "\\v"
     };
 
+    // All critical characters are ASCII: Index by character, value is the escape letter (or the critical character respectively). 0 means none.
+    private static final char[] ESCAPE_TABLE = new char[128];
+    private static final char[] UNESCAPE_TABLE = new char[128];
+
+    static {
+        for (int i = 0; i < critChars.length; i++) {
+            final char escapeLetter = escapeSeqs[i].charAt(1);
+            ESCAPE_TABLE[critChars[i]] = escapeLetter;
+            UNESCAPE_TABLE[escapeLetter] = critChars[i];
+        }
+    }
+
+    /**
+     * @return the escape letter (the character following {@link #ESCAPE_CHAR}) for the character or {@code 0} if it is not critical.
+     */
+    public static char escapeLetterOf(int c) {
+        return c >= 0 && c < ESCAPE_TABLE.length ? ESCAPE_TABLE[c] : 0;
+    }
+
+    /**
+     * @return the character represented by the escape letter or {@code 0} if the letter is not a known escape sequence.
+     */
+    public static char unescapedCharOf(int escapeLetter) {
+        return escapeLetter >= 0 && escapeLetter < UNESCAPE_TABLE.length ? UNESCAPE_TABLE[escapeLetter] : 0;
+    }
+
     /**
      * Encode an ASCII String for the query connection
      * @param upTo only work on partial buffer - exclusive last index
-     * @return A new buffer with critical characters replaced
+     * @return A buffer with critical characters replaced. {@code origin} itself, if there is nothing to replace in the whole buffer.
      */
     public static char[] encodeBuffer(char[] origin, int upTo) {
-        // Evaluate the new size first
-        int pos;
-        int innerPos;
-        int replaced = 0;
-        for (pos = 0; pos < upTo; pos++) {
-            for (innerPos = 0; innerPos < critChars.length; innerPos++)
-                if (origin[pos] == critChars[innerPos]) {
-                    // Add an additional character
-                    replaced++;
-                }
+        int pos = 0;
+        while (pos < upTo && escapeLetterOf(origin[pos]) == 0) {
+            pos++;
         }
-        char[] dest = new char[upTo + replaced];
-
-        replaced = 0;
-        int destPos;
-        outer: for (pos = 0; pos < upTo; pos++) {
-            destPos = pos + replaced;
-            for (innerPos = 0; innerPos < critChars.length; innerPos++) {
-                if (origin[pos] == critChars[innerPos]) {
-                    // Replace critical character
-                    dest[destPos] = escapeSeqs[innerPos].charAt(0);
-                    dest[destPos+1] = escapeSeqs[innerPos].charAt(1);
-                    replaced++;
-                    continue outer;
-                }
+        if (pos == upTo) {
+            return upTo == origin.length ? origin : Arrays.copyOf(origin, upTo);
+        }
+
+        // Worst case: Every remaining character has to be escaped.
+        char[] dest = new char[pos + (upTo - pos) * 2];
+        System.arraycopy(origin, 0, dest, 0, pos);
+        int destPos = pos;
+        for (; pos < upTo; pos++) {
+            final char c = origin[pos];
+            final char escapeLetter = escapeLetterOf(c);
+            if (escapeLetter != 0) {
+                dest[destPos++] = ESCAPE_CHAR;
+                dest[destPos++] = escapeLetter;
+            } else {
+                dest[destPos++] = c;
             }
-            dest[destPos] = origin[pos];
         }
-        return dest;
+        return destPos == dest.length ? dest : Arrays.copyOf(dest, destPos);
     }
 
 
@@ -80,42 +106,201 @@ public class QueryEncoder {
         return encodeBuffer(origin, origin.length);
     }
 
+    /**
+     * Encode a String for the query connection.
+     * @return The encoded string. The input itself (as a string), if there is nothing to escape.
+     */
+    public static String encode(CharSequence origin) {
+        final int length = origin.length();
+        int pos = 0;
+        while (pos < length && escapeLetterOf(origin.charAt(pos)) == 0) {
+            pos++;
+        }
+        if (pos == length) {
+            return origin.toString();
+        }
+
+        final StringBuilder dest = new StringBuilder(length + 16);
+        dest.append(origin, 0, pos);
+        for (; pos < length; pos++) {
+            final char c = origin.charAt(pos);
+            final char escapeLetter = escapeLetterOf(c);
+            if (escapeLetter != 0) {
+                dest.append(ESCAPE_CHAR).append(escapeLetter);
+            } else {
+                dest.append(c);
+            }
+        }
+        return dest.toString();
+    }
+
+    /**
+     * Encode characters for the query connection and write them as UTF-8 into the buffer.
+     * Malformed surrogates are replaced by {@code ?}, like {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param dest must have at least {@link #maxEncodedBytes(int)} bytes remaining.
+     * @return the number of bytes written.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public static int encode(CharSequence origin, ByteBuffer dest) {
+        final int start = dest.position();
+        final int length = origin.length();
+        for (int i = 0; i < length; i++) {
+            final char c = origin.charAt(i);
+            if (c < 0x80) {
+                final char escapeLetter = ESCAPE_TABLE[c];
+                if (escapeLetter != 0) {
+                    dest.put((byte) ESCAPE_CHAR);
+                    dest.put((byte) escapeLetter);
+                } else {
+                    dest.put((byte) c);
+                }
+            } else if (c < 0x800) {
+                dest.put((byte) (0xC0 | (c >> 6)));
+                dest.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(origin.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, origin.charAt(++i));
+                dest.put((byte) (0xF0 | (codePoint >> 18)));
+                dest.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                dest.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                dest.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                dest.put((byte) '?');
+            } else {
+                dest.put((byte) (0xE0 | (c >> 12)));
+                dest.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                dest.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return dest.position() - start;
+    }
+
+    /**
+     * The maximum number of bytes {@link #encode(CharSequence, ByteBuffer)} writes for the given number of characters.
+     * (Escapes take 2 bytes, BMP characters at most 3 and surrogate pairs 4 for 2 chars.)
+     */
+    public static int maxEncodedBytes(int chars) {
+        return chars * 3;
+    }
+
     /**
      * Decode an ASCII String for the query connection
+     * A trailing escape character and unknown escape sequences are kept as they are.
      * @param upTo only work on partial buffer - exclusive last index
-     * @return A new buffer with escape characters replaced
+     * @return A buffer with escape characters replaced. {@code origin} itself, if there is nothing to replace in the whole buffer.
      */
     public static char[] decodeBuffer(char[] origin, int upTo) {
-        // Evaluate the new size first
-        int pos;
-        int innerPos;
-        int size = upTo;
-        for (pos = upTo-1; pos >= 0; pos--) {
-            for (innerPos = 0; innerPos < escapeSeqs.length; innerPos++)
-                if (origin[pos] == escapeSeqs[innerPos].charAt(0) && origin[pos+1] == escapeSeqs[innerPos].charAt(1))
-                    // Subtract a character
-                    size--;
-        }
-        char[] dest = new char[size];
-        int replacements = 0;
-        int origPos;
-        outer: for (pos = 0; pos < dest.length; pos++) {
-            // Each replacement causes the lengths to be 1 char off since we replace 2 chars with 1
-            origPos = pos + replacements;
-            for (innerPos = 0; innerPos < escapeSeqs.length; innerPos++)
-                if (origin[origPos] == escapeSeqs[innerPos].charAt(0) && origin[origPos + 1] == escapeSeqs[innerPos].charAt(1)) {
-                    // Replace escape characters
-                    dest[pos] = critChars[innerPos];
-                    replacements++;
-                    // Abort normal copy
-                    continue outer;
+        int pos = 0;
+        while (pos < upTo && origin[pos] != ESCAPE_CHAR) {
+            pos++;
+        }
+        if (pos == upTo) {
+            return upTo == origin.length ? origin : Arrays.copyOf(origin, upTo);
+        }
+
+        // Decoding never grows the input.
+        char[] dest = new char[upTo];
+        System.arraycopy(origin, 0, dest, 0, pos);
+        int destPos = pos;
+        for (; pos < upTo; pos++) {
+            final char c = origin[pos];
+            if (c == ESCAPE_CHAR && pos + 1 < upTo) {
+                final char unescaped = unescapedCharOf(origin[pos + 1]);
+                if (unescaped != 0) {
+                    dest[destPos++] = unescaped;
+                    pos++;
+                    continue;
                 }
-            dest[pos] = origin[origPos];
+            }
+            dest[destPos++] = c;
         }
-        return dest;
+        return destPos == dest.length ? dest : Arrays.copyOf(dest, destPos);
     }
 
     public static char[] decodeBuffer(char[] origin) {
         return decodeBuffer(origin, origin.length);
     }
+
+    /**
+     * Decode a String received from the query connection.
+     * @return The decoded string. The input itself (as a string), if there is nothing to unescape.
+     */
+    public static String decode(CharSequence origin) {
+        final int length = origin.length();
+        int pos = 0;
+        while (pos < length && origin.charAt(pos) != ESCAPE_CHAR) {
+            pos++;
+        }
+        if (pos == length) {
+            return origin.toString();
+        }
+
+        final StringBuilder dest = new StringBuilder(length);
+        dest.append(origin, 0, pos);
+        for (; pos < length; pos++) {
+            final char c = origin.charAt(pos);
+            if (c == ESCAPE_CHAR && pos + 1 < length) {
+                final char unescaped = unescapedCharOf(origin.charAt(pos + 1));
+                if (unescaped != 0) {
+                    dest.append(unescaped);
+                    pos++;
+                    continue;
+                }
+            }
+            dest.append(c);
+        }
+        return dest.toString();
+    }
+
+    /**
+     * Unescapes the given byte range in place.
+     * As all escape sequences are ASCII, this works on UTF-8 encoded input without decoding it.
+     *
+     * @return the exclusive end of the unescaped range.
+     */
+    public static int decodeInPlace(byte[] buffer, int from, int end) {
+        int write = from;
+        for (int read = from; read < end; read++) {
+            final byte b = buffer[read];
+            if (b == ESCAPE_CHAR && read + 1 < end) {
+                final char unescaped = unescapedCharOf(buffer[read + 1]);
+                if (unescaped != 0) {
+                    buffer[write++] = (byte) unescaped;
+                    read++;
+                    continue;
+                }
+            }
+            buffer[write++] = b;
+        }
+        return write;
+    }
+
+    /**
+     * Unescapes the remaining bytes of the buffer in place and moves its limit to the end of the unescaped content.
+     *
+     * @see #decodeInPlace(byte[], int, int)
+     */
+    public static ByteBuffer decodeInPlace(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            final int end = decodeInPlace(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+            return buffer.limit(end - offset);
+        }
+
+        final int end = buffer.limit();
+        int write = buffer.position();
+        for (int read = write; read < end; read++) {
+            final byte b = buffer.get(read);
+            if (b == ESCAPE_CHAR && read + 1 < end) {
+                final char unescaped = unescapedCharOf(buffer.get(read + 1));
+                if (unescaped != 0) {
+                    buffer.put(write++, (byte) unescaped);
+                    read++;
+                    continue;
+                }
+            }
+            buffer.put(write++, b);
+        }
+        return buffer.limit(write);
+    }
 }
@@ -0,0 +1,44 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+import de.fearnixx.jeak.util.NamePatternThreadFactory;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer thread shared by the query connections and their helpers, instead of one timer thread each.
+ * Meant for short bookkeeping like timeout checks and flushing held back requests or notifications.
+ * <p>
+ * Tasks must not block, they would delay all other timers. Owners cancel their tasks, the timer itself lives as long as the framework.
+ *
+ * @since 1.2.0
+ */
+public final class QueryScheduler {
+
+    private static final ScheduledThreadPoolExecutor executor = createExecutor();
+
+    private QueryScheduler() {
+    }
+
+    private static ScheduledThreadPoolExecutor createExecutor() {
+        final ThreadFactory names = new NamePatternThreadFactory("query-timer-%d");
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = names.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Connections come and go: Don't keep their cancelled timers around until they would have been due.
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    public static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return executor.schedule(task, delay, unit);
+    }
+
+    public static ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(task, initialDelay, delay, unit);
+    }
+}
@@ -0,0 +1,285 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+import de.fearnixx.jeak.Main;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.QueryCommands;
+import de.fearnixx.jeak.teamspeak.data.BasicDataHolder;
+import de.fearnixx.jeak.teamspeak.data.IDataHolder;
+import de.fearnixx.jeak.util.NamePatternThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Merges compatible requests into one command with a {@code |}-chained data chain.
+ * Requests are compatible when they use the same command and only differ by their target (e.g. the client id of {@code clientmove}).
+ * Requests are held back for a short window. Then all compatible requests are sent as one command.
+ * The answer is passed to the callbacks of every merged request.
+ *
+ * @apiNote Disabled unless {@code jeak.connection.batch.windowMs} is set.
+ * TeamSpeak aborts a chained command at the first failing element, so every merged request receives that error.
+ * Elements before the failing one have been applied nonetheless.
+ * @implNote {@code sendtextmessage} is not batched, because TeamSpeak accepts a single target per text message.
+ * @since 1.2.0
+ */
+public class RequestBatcher {
+
+    private static final int WINDOW_MS = Main.getProperty("jeak.connection.batch.windowMs", 0);
+    private static final int MAX_SIZE = Main.getProperty("jeak.connection.batch.maxSize", 100);
+    private static final Logger logger = LoggerFactory.getLogger(RequestBatcher.class);
+
+    /**
+     * Batchable commands mapped to the key that may be repeated in the chain.
+     */
+    private static final Map<String, String> BATCHED_COMMANDS = Map.of(
+            QueryCommands.CLIENT.CLIENT_MOVE, PropertyKeys.Client.ID,
+            QueryCommands.CLIENT.CLIENT_POKE, PropertyKeys.Client.ID,
+            QueryCommands.CLIENT.CLIENT_KICK, PropertyKeys.Client.ID,
+            QueryCommands.SERVER_GROUP.SERVERGROUP_ADD_CLIENT, PropertyKeys.Client.DBID_S,
+            QueryCommands.SERVER_GROUP.SERVERGROUP_DEL_CLIENT, PropertyKeys.Client.DBID_S
+    );
+
+    private final Object lock = new Object();
+    private final Map<BatchKey, Batch> batches = new HashMap<>();
+    private final Consumer<IQueryRequest> sender;
+    private final AtomicLong mergedCount = new AtomicLong();
+    private ScheduledExecutorService executor;
+    private boolean closed = false;
+
+    /**
+     * @param sender queues the requests that actually have to be sent.
+     */
+    public RequestBatcher(Consumer<IQueryRequest> sender) {
+        this.sender = sender;
+    }
+
+    public boolean isBatchable(IQueryRequest request) {
+        if (WINDOW_MS <= 0 || request.getCommand() == null || !request.getOptions().isEmpty()) {
+            return false;
+        }
+
+        final String targetKey = BATCHED_COMMANDS.get(request.getCommand().toLowerCase());
+        if (targetKey == null) {
+            return false;
+        }
+
+        IDataHolder element = null;
+        for (IDataHolder holder : request.getDataChain()) {
+            if (holder.getValues().isEmpty()) {
+                continue;
+            } else if (element != null) {
+                // Already chained.
+                return false;
+            }
+            element = holder;
+        }
+        return element != null && element.hasProperty(targetKey);
+    }
+
+    public void queueRequest(IQueryRequest request) {
+        submit(request, null);
+    }
+
+    public Future<IQueryEvent.IAnswer> promiseRequest(IQueryRequest request) {
+        final var future = new CompletableFuture<IQueryEvent.IAnswer>();
+        submit(request, future);
+        return future;
+    }
+
+    /**
+     * The number of requests that have been sent as part of another command.
+     */
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    /**
+     * Stops the timer and fails all held back requests with a "Connection closed." error. Used when the connection has been closed.
+     * Further requests are rejected.
+     */
+    public void close() {
+        final List<Batch> held;
+        synchronized (lock) {
+            closed = true;
+            held = new ArrayList<>(batches.values());
+            batches.clear();
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+
+        for (Batch batch : held) {
+            batch.fail("Connection closed.");
+        }
+    }
+
+    private void submit(IQueryRequest request, CompletableFuture<IQueryEvent.IAnswer> future) {
+        final String targetKey = BATCHED_COMMANDS.get(request.getCommand().toLowerCase());
+        final Map<String, String> values = new HashMap<>(firstElement(request).getValues());
+        final String target = values.remove(targetKey);
+        final var key = new BatchKey(request.getCommand().toLowerCase(), request.getPriority(), values);
+
+        Batch full = null;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Cannot perform action on terminated connection!");
+            }
+
+            Batch batch = batches.get(key);
+            if (batch == null) {
+                batch = new Batch(key, targetKey);
+                batches.put(key, batch);
+                final Batch scheduled = batch;
+                getExecutor().schedule(() -> flush(scheduled), WINDOW_MS, TimeUnit.MILLISECONDS);
+            }
+
+            batch.add(request, target, future);
+            if (batch.requests.size() >= MAX_SIZE) {
+                batches.remove(key);
+                full = batch;
+            }
+        }
+
+        if (full != null) {
+            send(full);
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (lock) {
+            if (!batches.remove(batch.key, batch)) {
+                // Already sent because it was full.
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        final int size = batch.requests.size();
+        if (size > 1) {
+            mergedCount.addAndGet(size);
+            logger.debug("Sending {} requests as one: {}", size, batch.key.command);
+        }
+        try {
+            sender.accept(batch.createCarrier());
+        } catch (IllegalStateException e) {
+            // The connection terminated while the batch was held back.
+            batch.fail("Connection closed.");
+        }
+    }
+
+    private ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new NamePatternThreadFactory("query-batch-%d"));
+        }
+        return executor;
+    }
+
+    private static IDataHolder firstElement(IQueryRequest request) {
+        return request.getDataChain().stream()
+                .filter(holder -> !holder.getValues().isEmpty())
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Request has no data!"));
+    }
+
+    private static class Batch {
+
+        private final BatchKey key;
+        private final String targetKey;
+        private final List<IQueryRequest> requests = new ArrayList<>();
+        private final List<String> targets = new ArrayList<>();
+        private final List<CompletableFuture<IQueryEvent.IAnswer>> futures = new ArrayList<>();
+
+        private Batch(BatchKey key, String targetKey) {
+            this.key = key;
+            this.targetKey = targetKey;
+        }
+
+        private void add(IQueryRequest request, String target, CompletableFuture<IQueryEvent.IAnswer> future) {
+            requests.add(request);
+            targets.add(target);
+            futures.add(future);
+        }
+
+        /**
+         * Builds the command that is actually sent: {@code cmd shared=val target=1|target=2|...}
+         */
+        private IQueryRequest createCarrier() {
+            final var builder = IQueryRequest.builder()
+                    .command(requests.get(0).getCommand())
+                    .priority(key.priority)
+                    .onDone(this::complete);
+
+            final var first = new BasicDataHolder();
+            key.values.forEach(first::setProperty);
+            first.setProperty(targetKey, targets.get(0));
+            builder.appendToChain(first);
+            for (int i = 1; i < targets.size(); i++) {
+                builder.addKey(targetKey, targets.get(i)).commitChainElement();
+            }
+            return builder.build();
+        }
+
+        private void complete(IQueryEvent.IAnswer answer) {
+            for (int i = 0; i < requests.size(); i++) {
+                RequestCallbacks.complete(requests.get(i), futures.get(i), answer);
+            }
+        }
+
+        private void fail(String message) {
+            for (int i = 0; i < requests.size(); i++) {
+                RequestCallbacks.fail(requests.get(i), futures.get(i), message);
+            }
+        }
+    }
+
+    private static class BatchKey {
+
+        private final String command;
+        private final QueryPriority priority;
+        private final Map<String, String> values;
+        private final int hash;
+
+        private BatchKey(String command, QueryPriority priority, Map<String, String> values) {
+            this.command = command;
+            this.priority = priority;
+            this.values = values;
+            this.hash = Objects.hash(command, priority, values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            final var other = (BatchKey) o;
+            return hash == other.hash
+                    && command.equals(other.command)
+                    && priority == other.priority
+                    && values.equals(other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.event.query.QueryEvent;
+import de.fearnixx.jeak.event.query.RawQueryEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Invokes the callbacks of requests that did not go over the wire themselves but share the answer of another request.
+ *
+ * @since 1.2.0
+ */
+final class RequestCallbacks {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCallbacks.class);
+
+    private RequestCallbacks() {
+    }
+
+    /**
+     * Invokes the callbacks of the request and completes its future (if any) with the shared answer.
+     * Callbacks may compare {@link IQueryEvent.IAnswer#getRequest()} with their own request,
+     * so they receive a view of the answer that reports the request as its own.
+     */
+    static void complete(IQueryRequest request, CompletableFuture<IQueryEvent.IAnswer> future, IQueryEvent.IAnswer answer) {
+        final IQueryEvent.IAnswer requestAnswer;
+        if (answer instanceof QueryEvent.Answer) {
+            requestAnswer = ((QueryEvent.Answer) answer).forRequest(request);
+        } else {
+            requestAnswer = answer;
+        }
+
+        isolateExcept(requestAnswer.getErrorCode() == 0 ? request.onSuccess() : request.onError(), requestAnswer);
+        isolateExcept(request.onDone(), requestAnswer);
+        if (future != null) {
+            future.complete(requestAnswer);
+        }
+    }
+
+    /**
+     * Completes a request that will never be sent with an error answer, like the connection does for queued requests when it closes.
+     */
+    static void fail(IQueryRequest request, CompletableFuture<IQueryEvent.IAnswer> future, String message) {
+        final var error = new RawQueryEvent.ErrorMessage(request);
+        error.setNext(error);
+        error.setProperty("id", "-1");
+        error.setProperty("msg", message);
+
+        final var answer = new QueryEvent.Answer();
+        answer.setRequest(request);
+        answer.setError(error);
+        answer.setChain(List.of());
+        complete(request, future, answer);
+    }
+
+    private static void isolateExcept(Consumer<IQueryEvent.IAnswer> callback, IQueryEvent.IAnswer answer) {
+        try {
+            if (callback != null) {
+                callback.accept(answer);
+            }
+        } catch (Exception e) {
+            logger.warn("Uncaught exception in request callback!", e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+import de.fearnixx.jeak.Main;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.teamspeak.data.IDataHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight layer for read-only requests.
+ * When an identical request (same command, data chain and options) is already queued or awaiting its answer,
+ * further requests are attached to it instead of being sent again. Once the answer arrives, the callbacks of every attached request are invoked with it.
+ * <p>
+ * Requests are only attached to requests of the same or a higher priority, so a request never waits behind a less urgent one.
+ * A more urgent request is sent on its own, even if an identical request of a lower priority is already in flight.
+ *
+ * @implNote Only commands that do not change server state are coalesced. See {@link #isCoalescable(IQueryRequest)}.
+ * @since 1.2.0
+ */
+public class RequestCoalescer {
+
+    private static final boolean ENABLED = Main.getProperty("jeak.connection.coalesce", true);
+    private static final long MAX_FLIGHT_AGE_NANOS = TimeUnit.MILLISECONDS.toNanos(Main.getProperty("jeak.connection.coalesce.maxAgeMs", 30000L));
+    private static final String[] READ_ONLY_SUFFIXES = {"list", "info", "find"};
+    private static final String[] READ_ONLY_PREFIXES = {"clientget", "permget", "permidget", "servergroupsby"};
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Map<RequestKey, Flight> flights = new ConcurrentHashMap<>();
+    private final Consumer<IQueryRequest> sender;
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * @param sender queues the requests that actually have to be sent.
+     */
+    public RequestCoalescer(Consumer<IQueryRequest> sender) {
+        this.sender = sender;
+    }
+
+    public boolean isCoalescable(IQueryRequest request) {
+        if (!ENABLED || request.getCommand() == null) {
+            return false;
+        }
+
+        final String command = request.getCommand().toLowerCase();
+        for (String suffix : READ_ONLY_SUFFIXES) {
+            if (command.endsWith(suffix)) {
+                return true;
+            }
+        }
+        for (String prefix : READ_ONLY_PREFIXES) {
+            if (command.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void queueRequest(IQueryRequest request) {
+        submit(request, null);
+    }
+
+    public Future<IQueryEvent.IAnswer> promiseRequest(IQueryRequest request) {
+        final var future = new CompletableFuture<IQueryEvent.IAnswer>();
+        submit(request, future);
+        return future;
+    }
+
+    /**
+     * The number of requests that have been attached to an identical request instead of being sent.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Forgets all requests in flight. Used when the connection has been closed and no answers will arrive anymore.
+     */
+    public void clear() {
+        flights.clear();
+    }
+
+    private void submit(IQueryRequest request, CompletableFuture<IQueryEvent.IAnswer> future) {
+        final var key = new RequestKey(request, request.getPriority());
+        while (true) {
+            // Flights of more urgent requests serve this one as well.
+            for (QueryPriority priority : QueryPriority.values()) {
+                if (priority.compareTo(key.priority) >= 0) {
+                    break;
+                }
+                if (attachTo(key.withPriority(priority), request, future)) {
+                    return;
+                }
+            }
+            if (attachTo(key, request, future)) {
+                return;
+            }
+
+            final var created = new Flight(key);
+            if (flights.putIfAbsent(key, created) == null) {
+                created.attach(request, future);
+                sender.accept(created.createCarrier(request));
+                return;
+            }
+            // An identical request has been submitted concurrently, start over.
+        }
+    }
+
+    /**
+     * @return whether or not the request has been attached to a flight in progress.
+     */
+    private boolean attachTo(RequestKey key, IQueryRequest request, CompletableFuture<IQueryEvent.IAnswer> future) {
+        final Flight flight = flights.get(key);
+        if (flight == null) {
+            return false;
+        }
+        if (flight.isStale()) {
+            // The answer may have been lost together with a (pooled) connection. Do not wait on it forever.
+            flights.remove(key, flight);
+            return false;
+        }
+        if (!flight.attach(request, future)) {
+            // The flight completed concurrently.
+            flights.remove(key, flight);
+            return false;
+        }
+        coalescedCount.incrementAndGet();
+        logger.debug("Coalesced request: {}", request.getCommand());
+        return true;
+    }
+
+    private class Flight {
+
+        private final RequestKey key;
+        private final long startedAt = System.nanoTime();
+        private final List<IQueryRequest> requests = new ArrayList<>(1);
+        private final List<CompletableFuture<IQueryEvent.IAnswer>> futures = new ArrayList<>(1);
+        private boolean completed = false;
+
+        private Flight(RequestKey key) {
+            this.key = key;
+        }
+
+        private boolean isStale() {
+            return System.nanoTime() - startedAt > MAX_FLIGHT_AGE_NANOS;
+        }
+
+        private synchronized boolean attach(IQueryRequest request, CompletableFuture<IQueryEvent.IAnswer> future) {
+            if (completed) {
+                return false;
+            }
+            requests.add(request);
+            futures.add(future);
+            return true;
+        }
+
+        /**
+         * Copies the request without its callbacks. The copy is what is actually sent, so callers' request objects are never modified.
+         */
+        private IQueryRequest createCarrier(IQueryRequest request) {
+            final var builder = IQueryRequest.builder()
+                    .command(request.getCommand())
+                    .priority(key.priority)
+                    .onDone(this::complete);
+            request.getDataChain().stream()
+                    .filter(holder -> !holder.getValues().isEmpty())
+                    .forEach(builder::appendToChain);
+            request.getOptions().forEach(builder::addOption);
+            return builder.build();
+        }
+
+        private void complete(IQueryEvent.IAnswer answer) {
+            flights.remove(key, this);
+            synchronized (this) {
+                completed = true;
+            }
+
+            for (int i = 0; i < requests.size(); i++) {
+                RequestCallbacks.complete(requests.get(i), futures.get(i), answer);
+            }
+        }
+    }
+
+    private static class RequestKey {
+
+        private final String command;
+        private final List<Map<String, String>> chain;
+        private final List<String> options;
+        private final QueryPriority priority;
+        private final int hash;
+
+        private RequestKey(IQueryRequest request, QueryPriority priority) {
+            this(request.getCommand().toLowerCase(),
+                    request.getDataChain().stream()
+                            .map(IDataHolder::getValues)
+                            .filter(values -> !values.isEmpty())
+                            .map(HashMap::new)
+                            .collect(Collectors.toList()),
+                    List.copyOf(request.getOptions()),
+                    priority);
+        }
+
+        private RequestKey(String command, List<Map<String, String>> chain, List<String> options, QueryPriority priority) {
+            this.command = command;
+            this.chain = chain;
+            this.options = options;
+            this.priority = priority;
+            this.hash = Objects.hash(command, chain, options, priority);
+        }
+
+        private RequestKey withPriority(QueryPriority priority) {
+            return new RequestKey(command, chain, options, priority);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RequestKey)) {
+                return false;
+            }
+            final var other = (RequestKey) o;
+            return hash == other.hash
+                    && priority == other.priority
+                    && command.equals(other.command)
+                    && chain.equals(other.chain)
+                    && options.equals(other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
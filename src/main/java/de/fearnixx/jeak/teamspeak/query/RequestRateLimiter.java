@@ -0,0 +1,54 @@
+package de.fearnixx.jeak.teamspeak.query;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket pacing outgoing query requests.
+ * Tokens are refilled continuously at one token per interval, up to the configured burst size.
+ *
+ * @implNote Not thread safe. Only the request pump of a connection is supposed to acquire tokens.
+ * @since 1.2.0
+ */
+public class RequestRateLimiter {
+
+    private final long nanosPerToken;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param interval time between two requests when the bucket is drained. Zero disables pacing.
+     * @param burst    the number of requests that may be sent back to back after a quiet period.
+     */
+    public RequestRateLimiter(long interval, TimeUnit unit, int burst) {
+        if (interval < 0 || burst < 1) {
+            throw new IllegalArgumentException("Interval must not be negative and burst must be at least 1!");
+        }
+        this.nanosPerToken = unit.toNanos(interval);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Attempts to take a token.
+     *
+     * @return {@code 0} if a token has been taken, otherwise the nanoseconds until the next token becomes available.
+     */
+    public long tryAcquire() {
+        if (nanosPerToken == 0) {
+            return 0;
+        }
+
+        final long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / nanosPerToken);
+        lastRefill = now;
+
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            return 0;
+        }
+        return Math.max(1L, (long) Math.ceil((1d - tokens) * nanosPerToken));
+    }
+}
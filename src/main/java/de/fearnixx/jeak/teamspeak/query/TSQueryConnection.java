@@ -14,10 +14,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -27,8 +32,9 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
     public static final int KEEP_ALIVE_MILLIS = KEEP_ALIVE_SECS * 1000;
     public static final long READ_TIMEOUT_MILLIS = KEEP_ALIVE_MILLIS * 2L;
     private static final float MAX_REQUEST_INTERVAL_PER_SECOND = Main.getProperty("bot.connection.reqdelay", 0.25f);
-    private static final float MS_DELAY_PER_MESSAGE = 1000 * MAX_REQUEST_INTERVAL_PER_SECOND;
-    private static final int WAIT_INTERVAL = Main.getProperty("bot.connection.wait_interval_ms", 50);
+    private static final long MS_DELAY_PER_MESSAGE = (long) (1000 * MAX_REQUEST_INTERVAL_PER_SECOND);
+    private static final int REQUEST_BURST = Main.getProperty("jeak.connection.reqburst", 1);
+    private static final int TIMER_INTERVAL = Main.getProperty("jeak.connection.timer_interval_ms", 1000);
     private static final Logger logger = LoggerFactory.getLogger(TSQueryConnection.class);
 
     private URIContainer createdWithURI;
@@ -39,26 +45,37 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
     private final AtomicReference<IDataHolder> whoAmIResponse = new AtomicReference<>();
     private final IQueryRequest KEEPALIVE_REQUEST = IQueryRequest.builder()
             .command(QueryCommands.WHOAMI)
+            .priority(QueryPriority.SYSTEM)
             .build();
 
     private final Thread serialChannelHost;
-    private final Queue<IQueryRequest> requestQueue = new LinkedList<>();
-    private final List<Consumer<IQueryEvent.INotification>> notificationListeners = new ArrayList<>();
-    private final List<Consumer<IQueryEvent.IAnswer>> answerListeners = new ArrayList<>();
-    private final List<BiConsumer<ITSQueryConnection, Boolean>> closeListeners = new ArrayList<>();
+    private final PriorityRequestQueue requestQueue = new PriorityRequestQueue();
+    private volatile RequestRateLimiter rateLimiter = new RequestRateLimiter(MS_DELAY_PER_MESSAGE, TimeUnit.MILLISECONDS, REQUEST_BURST);
+    private final ReentrantLock pumpLock = new ReentrantLock();
+    private final Condition pumpSignal = pumpLock.newCondition();
+    private final AtomicBoolean keepAliveQueued = new AtomicBoolean(false);
+    // Ticks of the shared QueryScheduler. The checks themselves run on the request pump of this connection.
+    private ScheduledFuture<?> timer;
+    private final AtomicBoolean timeoutCheckDue = new AtomicBoolean(false);
+    // Listeners are invoked without holding the monitor: Dispatching may wait for event queue space,
+    // while listeners draining those queues may need this connection.
+    private final List<Consumer<IQueryEvent.INotification>> notificationListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<IQueryEvent.IAnswer>> answerListeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<ITSQueryConnection, Boolean>> closeListeners = new CopyOnWriteArrayList<>();
     private final AtomicReference<String> lockListenersReason = new AtomicReference<>();
     private final AtomicLong lastRequestTSP = new AtomicLong(System.currentTimeMillis());
     private final AtomicLong lastReceivedTSP = new AtomicLong(0);
     private final AtomicBoolean gracefullyClosed = new AtomicBoolean(false);
 
-    @Deprecated
-    private final AtomicReference<ITSQueryConnection> delegationTarget = new AtomicReference<>();
+    private final AtomicReference<ITSQueryConnection> eventConnection = new AtomicReference<>();
 
     public TSQueryConnection(ITSMessageChannel messageChannel, StandardMessageMarshaller marshaller) {
         this.messageChannel = messageChannel;
         this.marshaller = marshaller;
         this.messageChannel.setNotificationCallback(this::dispatchNotification);
         this.messageChannel.setAnswerCallback(this::dispatchAnswer);
+        this.messageChannel.setReadyCallback(this::signalPump);
+        this.messageChannel.setRejectedMessageCallback(this::onRequestRejected);
         this.serialChannelHost = new Thread(messageChannel);
     }
 
@@ -70,19 +87,56 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
         return createdWithURI;
     }
 
+    /**
+     * @deprecated Use {@link #setEventConnection(ITSQueryConnection)}.
+     */
     @Deprecated
     public void setDelegationTarget(ITSQueryConnection connection) {
-        delegationTarget.set(connection);
+        setEventConnection(connection);
+    }
+
+    /**
+     * Sets the connection propagated events report as their origin instead of this connection.
+     * Used by wrappers and pooled sessions that act on behalf of another connection.
+     *
+     * @apiNote Only supposed to be called before the connection is started.
+     * @since 1.2.0
+     */
+    public void setEventConnection(ITSQueryConnection connection) {
+        eventConnection.set(connection);
     }
 
     /**
-     * Since the old and new contract differ from each other, the current implementation allows delegation of itself.
-     * This reference is used e.g. in propagated events.
+     * The connection reported by propagated events.
+     */
+    protected ITSQueryConnection getEventConnection() {
+        final var connection = eventConnection.get();
+        return connection != null ? connection : this;
+    }
+
+    /**
+     * @deprecated Use {@link #getEventConnection()}.
      */
     @Deprecated
     protected ITSQueryConnection __delegatedThis() {
-        final var delegate = delegationTarget.get();
-        return delegate != null ? delegate : this;
+        return getEventConnection();
+    }
+
+    /**
+     * Replaces the default request pacing of this connection.
+     *
+     * @apiNote Only supposed to be called before the connection is started.
+     */
+    public void setRateLimiter(RequestRateLimiter rateLimiter) {
+        this.rateLimiter = Objects.requireNonNull(rateLimiter, "Rate limiter may not be null!");
+    }
+
+    public int getQueuedRequestCount() {
+        return requestQueue.size();
+    }
+
+    public List<IRequestLaneStats> getRequestLaneStats() {
+        return requestQueue.getLaneStats();
     }
 
     public Optional<IDataHolder> getWhoAmIResponse() {
@@ -92,9 +146,8 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
     @Override
     public void queueRequest(IQueryRequest queryRequest) {
         assertUnterminated();
-        synchronized (requestQueue) {
-            requestQueue.add(queryRequest);
-        }
+        requestQueue.add(queryRequest);
+        signalPump();
     }
 
     @Override
@@ -102,9 +155,8 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
         assertUnterminated();
         final var future = new CompletableFuture<IQueryEvent.IAnswer>();
         queryRequest.onDone(future::complete);
-        synchronized (requestQueue) {
-            requestQueue.add(queryRequest);
-        }
+        requestQueue.add(queryRequest);
+        signalPump();
         return future;
     }
 
@@ -150,8 +202,12 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
 
     @Override
     public synchronized void close() throws Exception {
-        if (messageChannel.isOpen()) {
-            messageChannel.close();
+        try {
+            if (messageChannel.isOpen()) {
+                messageChannel.close();
+            }
+        } finally {
+            signalPump();
         }
     }
 
@@ -182,44 +238,94 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
     }
 
     protected synchronized void doStartup() {
-        if (serialChannelHost.isAlive()) {
+        if (serialChannelHost.getState() != Thread.State.NEW) {
             throw new IllegalStateException("Already connected?!");
         }
-        serialChannelHost.start();
         lastReceivedTSP.set(System.currentTimeMillis());
+        if (messageChannel.isBlocking()) {
+            serialChannelHost.start();
+        } else {
+            // Non-blocking channels only register with their event loop.
+            messageChannel.run();
+        }
+
+        timer = QueryScheduler.scheduleWithFixedDelay(this::onTimerTick, TIMER_INTERVAL, TIMER_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Request pump. Sleeps until either a request has been queued, the channel became available or the rate limit allows the next request.
+     */
     protected void doLifeCycle() {
         while (isActive() && !Thread.currentThread().isInterrupted()) {
-            sendIfPossible();
-            checkTimeout();
-
-            synchronized (this) {
-                try {
-                    this.wait(WAIT_INTERVAL);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+            if (timeoutCheckDue.compareAndSet(true, false)) {
+                checkTimeout();
+            }
+            pumpLock.lock();
+            try {
+                final long waitNanos = sendIfPossible();
+                if (waitNanos < 0) {
+                    pumpSignal.await();
+                } else if (waitNanos > 0) {
+                    pumpSignal.awaitNanos(waitNanos);
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pumpLock.unlock();
             }
         }
     }
 
-    protected void sendIfPossible() {
-        synchronized (requestQueue) {
-            if (!messageChannel.isReady() || messageChannel.hasPendingRequest()) {
-                return;
-            }
+    /**
+     * Wakes the request pump so it re-evaluates whether a request can be sent.
+     */
+    protected void signalPump() {
+        pumpLock.lock();
+        try {
+            pumpSignal.signalAll();
+        } finally {
+            pumpLock.unlock();
+        }
+    }
 
-            boolean maySend = MS_DELAY_PER_MESSAGE == 0
-                    || (System.currentTimeMillis() - lastRequestTSP.get()) > MS_DELAY_PER_MESSAGE;
-            if (!maySend) {
-                return;
-            }
+    /**
+     * Sends the next request if the channel is free and the rate limit allows it.
+     *
+     * @return {@code -1} if the pump has to wait for a signal, otherwise the nanoseconds to wait before trying again.
+     */
+    protected long sendIfPossible() {
+        if (!messageChannel.isReady() || messageChannel.isSaturated()) {
+            return -1;
+        }
+        final var request = requestQueue.poll();
+        if (request == null) {
+            return -1;
+        }
+
+        // Tokens are only taken for a request at hand.
+        final long delay = rateLimiter.tryAcquire();
+        if (delay > 0) {
+            requestQueue.requeue(request);
+            return delay;
+        }
 
-            final var request = requestQueue.poll();
-            if (request != null) {
-                messageChannel.writeMessage(request);
-                lastRequestTSP.set(System.currentTimeMillis());
+        messageChannel.writeMessage(request);
+        lastRequestTSP.set(System.currentTimeMillis());
+        return 0;
+    }
+
+    /**
+     * Runs on the shared timer thread: Only wakes the request pump, which then checks for timeouts.
+     * Also makes the pump re-evaluate channels that do not report readiness, see {@link ITSMessageChannel#setReadyCallback(Runnable)}.
+     */
+    private void onTimerTick() {
+        timeoutCheckDue.set(true);
+        // A busy pump checks on its next iteration anyways, the shared timer must not wait for it.
+        if (pumpLock.tryLock()) {
+            try {
+                pumpSignal.signalAll();
+            } finally {
+                pumpLock.unlock();
             }
         }
     }
@@ -229,66 +335,84 @@ public class TSQueryConnection implements ITSQueryConnection, Runnable {
         if (silence > READ_TIMEOUT_MILLIS) {
             logger.error("Read timed out. Closing connection.");
             uncheckedClose(false);
-        } else if (silence > KEEP_ALIVE_MILLIS && !messageChannel.hasPendingRequest()) {
+        } else if (silence > KEEP_ALIVE_MILLIS && keepAliveQueued.compareAndSet(false, true)) {
             queueRequest(KEEPALIVE_REQUEST);
         }
     }
 
-    protected synchronized void doCleanup() {
+    protected void onRequestRejected(IQueryRequest request) {
+        logger.warn("Request has been rejected by the channel: {}", request.getCommand());
+        if (request == KEEPALIVE_REQUEST) {
+            keepAliveQueued.set(false);
+        }
+        signalPump();
+    }
+
+    protected void doCleanup() {
         logger.debug("Performing cleanup.");
         terminated.set(true);
+        if (timer != null) {
+            timer.cancel(false);
+        }
 
-        // Empty request queue and abort messages.
-        synchronized (requestQueue) {
-            requestQueue.removeIf(req -> {
-                logger.debug("Rejecting queued request: {}", req.getCommand());
-                final var error = new RawQueryEvent.ErrorMessage(req);
-                error.setNext(error);
-                error.setProperty("id", "-1");
-                error.setProperty("msg", "Connection closed.");
-                error.setTsConnection(__delegatedThis());
-
-                final var answer = new RawQueryEvent.Message.Answer(req);
-                answer.setTsConnection(__delegatedThis());
-                answer.setError(error);
-                dispatchAnswer(answer);
-                return true;
-            });
-            final boolean gracefulState = gracefullyClosed.get();
-            closeListeners.forEach(it -> it.accept(__delegatedThis(), gracefulState));
+        // Abort requests that won't be answered anymore, written ones first.
+        for (IQueryRequest req : messageChannel.drainPendingRequests()) {
+            logger.debug("Rejecting unanswered request: {}", req.getCommand());
+            rejectClosed(req);
         }
+        IQueryRequest req;
+        while ((req = requestQueue.poll()) != null) {
+            logger.debug("Rejecting queued request: {}", req.getCommand());
+            rejectClosed(req);
+        }
+        final boolean gracefulState = gracefullyClosed.get();
+        closeListeners.forEach(it -> it.accept(getEventConnection(), gracefulState));
 
         // Close connection
         uncheckedClose(gracefullyClosed.get());
     }
 
+    private void rejectClosed(IQueryRequest req) {
+        final var error = new RawQueryEvent.ErrorMessage(req);
+        error.setNext(error);
+        error.setProperty("id", "-1");
+        error.setProperty("msg", "Connection closed.");
+        error.setTsConnection(getEventConnection());
+
+        final var answer = new RawQueryEvent.Message.Answer(req);
+        answer.setTsConnection(getEventConnection());
+        answer.setError(error);
+        dispatchAnswer(answer);
+    }
+
     protected void dispatchAnswer(Message.Answer message) {
-        message.setTsConnection(__delegatedThis());
+        message.setTsConnection(getEventConnection());
         final var marshalled = marshaller.marshall(message);
-        synchronized (this) {
-            // Intercept whoami-requests and store their answer.
-            if (QueryCommands.WHOAMI.equals(marshalled.getRequest().getCommand())
-                    && marshalled.getErrorCode() == 0
-                    && marshalled.getRequest().getOptions().isEmpty()
-                    && marshalled.getRequest().getDataChain().stream().allMatch(c -> c.getValues().isEmpty())) {
-                whoAmIResponse.set(marshalled.getDataChain().get(0));
-            }
+        // Intercept whoami-requests and store their answer.
+        if (QueryCommands.WHOAMI.equals(marshalled.getRequest().getCommand())
+                && marshalled.getErrorCode() == 0
+                && marshalled.getRequest().getOptions().isEmpty()
+                && marshalled.getRequest().getDataChain().stream().allMatch(c -> c.getValues().isEmpty())) {
+            whoAmIResponse.set(marshalled.getDataChain().get(0));
+        }
 
-            lastReceivedTSP.set(System.currentTimeMillis());
-            this.answerListeners.forEach(it -> it.accept(marshalled));
+        lastReceivedTSP.set(System.currentTimeMillis());
+        this.answerListeners.forEach(it -> it.accept(marshalled));
+        if (message.getRequest() == KEEPALIVE_REQUEST) {
+            keepAliveQueued.set(false);
         }
+        // The channel is free again.
+        signalPump();
     }
 
     protected void dispatchNotification(Message.Notification notification) {
-        notification.setTsConnection(__delegatedThis());
-        synchronized (this) {
-            lastReceivedTSP.set(System.currentTimeMillis());
-            marshaller.marshall(notification)
-                    .forEach(marshalled -> notificationListeners.forEach(it -> it.accept(marshalled)));
-        }
+        notification.setTsConnection(getEventConnection());
+        lastReceivedTSP.set(System.currentTimeMillis());
+        marshaller.marshall(notification)
+                .forEach(marshalled -> notificationListeners.forEach(it -> it.accept(marshalled)));
     }
 
-    protected synchronized void assertUnterminated() {
+    protected void assertUnterminated() {
         if (terminated.get()) {
             throw new IllegalStateException("Cannot perform action on terminated connection!");
         }
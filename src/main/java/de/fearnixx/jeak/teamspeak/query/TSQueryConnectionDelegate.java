@@ -3,10 +3,12 @@ package de.fearnixx.jeak.teamspeak.query;
 import de.fearnixx.jeak.event.IQueryEvent;
 import de.fearnixx.jeak.teamspeak.PropertyKeys;
 import de.fearnixx.jeak.teamspeak.QueryCommands;
+import de.fearnixx.jeak.teamspeak.QueryConnectionPool;
 import de.fearnixx.jeak.teamspeak.data.IDataHolder;
 import de.fearnixx.jeak.teamspeak.query.api.ITSQueryConnection;
 import de.fearnixx.jeak.util.URIContainer;
 
+import java.util.List;
 import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,10 +21,33 @@ import java.util.function.Consumer;
 public class TSQueryConnectionDelegate implements IQueryConnection, ITSQueryConnection {
 
     private final ITSQueryConnection delegate;
+    private volatile QueryConnectionPool connectionPool;
+    private final RequestCoalescer coalescer = new RequestCoalescer(request -> routeRequest(request).queueRequest(request));
+    private final RequestBatcher batcher;
 
     public TSQueryConnectionDelegate(TSQueryConnection delegate) {
         this.delegate = delegate;
-        delegate.setDelegationTarget(this);
+        delegate.setEventConnection(this);
+        this.batcher = new RequestBatcher(delegate::queueRequest);
+        delegate.onClosed((conn, graceful) -> {
+            coalescer.clear();
+            batcher.close();
+        });
+    }
+
+    /**
+     * Sets the pool read-only requests are routed to. Requests that cannot be routed are queued on this connection.
+     */
+    public void setConnectionPool(QueryConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    private ITSQueryConnection routeRequest(IQueryRequest request) {
+        final var pool = connectionPool;
+        if (pool == null) {
+            return delegate;
+        }
+        return pool.route(request).orElse(delegate);
     }
 
     public URIContainer getURI() {
@@ -45,6 +70,11 @@ public class TSQueryConnectionDelegate implements IQueryConnection, ITSQueryConn
         sendRequest(request);
     }
 
+    @Override
+    public List<IRequestLaneStats> getRequestLaneStats() {
+        return ((TSQueryConnection) delegate).getRequestLaneStats();
+    }
+
     @Override
     public void sendRequest(IQueryRequest req) {
         queueRequest(req);
@@ -52,12 +82,24 @@ public class TSQueryConnectionDelegate implements IQueryConnection, ITSQueryConn
 
     @Override
     public void queueRequest(IQueryRequest request) {
-        delegate.queueRequest(request);
+        if (batcher.isBatchable(request)) {
+            batcher.queueRequest(request);
+        } else if (coalescer.isCoalescable(request)) {
+            coalescer.queueRequest(request);
+        } else {
+            routeRequest(request).queueRequest(request);
+        }
     }
 
     @Override
     public Future<IQueryEvent.IAnswer> promiseRequest(IQueryRequest request) {
-        return delegate.promiseRequest(request);
+        if (batcher.isBatchable(request)) {
+            return batcher.promiseRequest(request);
+        }
+        if (coalescer.isCoalescable(request)) {
+            return coalescer.promiseRequest(request);
+        }
+        return routeRequest(request).promiseRequest(request);
     }
 
     @Override
@@ -4,6 +4,8 @@ import de.fearnixx.jeak.event.query.RawQueryEvent;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
 
 import java.nio.channels.Channel;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -28,11 +30,40 @@ public interface ITSMessageChannel extends Channel, Runnable {
      */
     boolean hasPendingRequest();
 
+    /**
+     * Whether or not the channel has reached its limit of unanswered requests.
+     * Without pipelining enabled, this is the case as long as there is any pending request.
+     *
+     * @see #hasPendingRequest()
+     * @since 1.2.0
+     */
+    boolean isSaturated();
+
+    /**
+     * Removes the requests that have been written but not answered yet, so they can be failed once the channel has been closed.
+     *
+     * @return the pending requests, oldest first.
+     * @since 1.2.0
+     */
+    default List<IQueryRequest> drainPendingRequests() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Whether or not {@link #run()} blocks for the lifetime of the channel and therefore requires a thread of its own.
+     *
+     * @implNote Channels served by a shared event loop only register themselves in {@link #run()} and return immediately.
+     */
+    default boolean isBlocking() {
+        return true;
+    }
+
     /**
      * Attempts to write a message to this channel.
      * The message is kept pending until an answer has been received or the request is rejected due to an exception (see: {@link #setRejectedMessageCallback(Consumer)}.
+     * Answers are correlated to pending messages in the order the messages have been written.
      *
-     * @throws IllegalStateException When the channel is not ready to send messages yet. (Unreceived greeting or still a pending request.)
+     * @throws IllegalStateException When the channel is not ready to send messages yet. (Unreceived greeting or saturated, see {@link #isSaturated()}.)
      */
     void writeMessage(IQueryRequest message);
 
@@ -46,6 +77,17 @@ public interface ITSMessageChannel extends Channel, Runnable {
      */
     void setNotificationCallback(Consumer<RawQueryEvent.Message.Notification> notificationConsumer);
 
+    /**
+     * Sets the listener to be notified once the channel became ready to send requests.
+     *
+     * @implNote Optional: Without the notification, connections notice readiness on their next periodic check.
+     * @see #isReady()
+     * @since 1.2.0
+     */
+    default void setReadyCallback(Runnable readyListener) {
+        // Readiness is polled.
+    }
+
     /**
      * Sets the listener to be notified of message rejection.
      *
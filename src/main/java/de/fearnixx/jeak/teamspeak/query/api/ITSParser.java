@@ -2,6 +2,7 @@ package de.fearnixx.jeak.teamspeak.query.api;
 
 import de.fearnixx.jeak.event.query.RawQueryEvent;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 public interface ITSParser {
@@ -13,4 +14,12 @@ public interface ITSParser {
     void setOnNotificationCallback(Consumer<RawQueryEvent.Message.Notification> notificationConsumer);
 
     void parseLine(String line) throws QuerySyntaxException;
+
+    /**
+     * Parses the remaining bytes of the buffer as one line, excluding the line terminator.
+     *
+     * @implNote Implementations may decode in place, so the buffer contents should be considered consumed afterwards.
+     * @since 1.2.0
+     */
+    void parseLine(ByteBuffer line) throws QuerySyntaxException;
 }
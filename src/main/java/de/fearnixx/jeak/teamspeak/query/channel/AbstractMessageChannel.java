@@ -0,0 +1,268 @@
+package de.fearnixx.jeak.teamspeak.query.channel;
+
+import de.fearnixx.jeak.Main;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.api.ITSMessageChannel;
+import de.fearnixx.jeak.teamspeak.query.api.ITSParser;
+import de.fearnixx.jeak.teamspeak.query.api.QuerySyntaxException;
+import de.fearnixx.jeak.teamspeak.query.parser.QueryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static de.fearnixx.jeak.event.query.RawQueryEvent.Message;
+
+/**
+ * Transport independent part of the telnet-like message channels.
+ * Handles the request/answer bookkeeping and the parser callbacks while subclasses only move bytes.
+ *
+ * @since 1.2.0
+ */
+public abstract class AbstractMessageChannel implements ITSMessageChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractMessageChannel.class);
+    protected static final Logger netLogger = LoggerFactory.getLogger("de.fearnixx.jeak.teamspeak.query.Netlog");
+
+    private static final int LINE_BUFFER_SIZE = 1024;
+    private static final int PIPELINE_DEPTH = Math.max(1, Main.getProperty("jeak.connection.pipelineDepth", 1));
+
+    private final ITSParser parser = new QueryParser(this::getCurrentRequest);
+    private final QueryMessageSerializer serializer = new QueryMessageSerializer();
+
+    // Partial line accumulation, only touched by the reading thread.
+    private byte[] lineBuffer = new byte[LINE_BUFFER_SIZE];
+    private int lineLength = 0;
+
+    private final AtomicBoolean greetingState = new AtomicBoolean();
+    // Written requests awaiting their answer, oldest first. Answers arrive in the same order the requests have been written.
+    private final int pipelineDepth;
+    private final Deque<IQueryRequest> pendingRequests;
+    private final AtomicReference<Consumer<Message.Answer>> answerConsumer = new AtomicReference<>();
+    private final AtomicReference<Consumer<Message.Notification>> notificationConsumer = new AtomicReference<>();
+    private final AtomicReference<Consumer<IQueryRequest>> rejectedMessageConsumer = new AtomicReference<>();
+    private final AtomicReference<Runnable> readyListener = new AtomicReference<>();
+
+    protected AbstractMessageChannel() {
+        this(PIPELINE_DEPTH);
+    }
+
+    /**
+     * @param pipelineDepth how many requests may be written before their answers have been received.
+     */
+    protected AbstractMessageChannel(int pipelineDepth) {
+        this.pipelineDepth = Math.max(1, pipelineDepth);
+        this.pendingRequests = new ArrayDeque<>(this.pipelineDepth);
+        parser.setOnGreetingCallback(this::onGreetingReceived);
+        parser.setOnAnswerCallback(this::onAnswerParsed);
+        parser.setOnNotificationCallback(this::onNotificationParsed);
+    }
+
+    @Override
+    public synchronized boolean isReady() {
+        return greetingState.get();
+    }
+
+    /**
+     * The oldest request that has not been answered yet.
+     * As the server answers in order, this is the request the currently received answer belongs to.
+     */
+    protected synchronized IQueryRequest getCurrentRequest() {
+        return pendingRequests.peekFirst();
+    }
+
+    @Override
+    public synchronized boolean hasPendingRequest() {
+        return !pendingRequests.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean isSaturated() {
+        return pendingRequests.size() >= pipelineDepth;
+    }
+
+    @Override
+    public synchronized List<IQueryRequest> drainPendingRequests() {
+        final List<IQueryRequest> drained = List.copyOf(pendingRequests);
+        pendingRequests.clear();
+        return drained;
+    }
+
+    @Override
+    public void writeMessage(IQueryRequest message) {
+        synchronized (this) {
+            if (!isReady()) {
+                throw new IllegalStateException("Channel is not ready to receive requests yet!");
+            }
+            if (isSaturated()) {
+                throw new IllegalStateException("Channel blocked by pending requests!");
+            }
+        }
+
+        try {
+            synchronized (this) {
+                // Registering and writing happen atomically so the pending order matches the order on the wire.
+                // This also guards the reused serialization buffer.
+                final ByteBuffer line = serializer.serializeLine(message);
+                if (netLogger.isDebugEnabled()) {
+                    netLogger.debug("==> {}", StandardCharsets.UTF_8.decode(line.duplicate()).toString().stripTrailing());
+                }
+                pendingRequests.addLast(message);
+                final int count = write(line);
+                logger.debug("Wrote {} bytes to the channel.", count);
+            }
+        } catch (IOException e) {
+            onMessageRejected(message);
+            logger.error("Failed to write message to byte channel!", e);
+        }
+    }
+
+    /**
+     * Writes the serialized message to the underlying transport.
+     * The buffer is reused afterwards, so its content has to be written or copied before returning.
+     *
+     * @return the number of bytes written or queued for writing.
+     */
+    protected abstract int write(ByteBuffer message) throws IOException;
+
+    /**
+     * Splits the received bytes into lines and passes each completed line to the parser.
+     * TeamSpeak terminates lines with {@code \n\r}, so both characters are treated as terminators and empty lines are skipped.
+     * Lines that are completely contained in the given buffer are parsed without copying them.
+     *
+     * @implNote Must only be called from the thread reading the channel. The buffer is consumed entirely.
+     */
+    protected void receivedBytes(ByteBuffer bytes) {
+        while (bytes.hasRemaining()) {
+            final int start = bytes.position();
+            final int limit = bytes.limit();
+            int terminator = -1;
+            for (int i = start; i < limit; i++) {
+                final byte b = bytes.get(i);
+                if (b == '\n' || b == '\r') {
+                    terminator = i;
+                    break;
+                }
+            }
+
+            if (terminator < 0) {
+                appendToLine(bytes, limit - start);
+                return;
+            }
+
+            if (lineLength == 0) {
+                if (terminator > start) {
+                    final ByteBuffer line = bytes.duplicate();
+                    line.limit(terminator);
+                    receivedLine(line);
+                }
+            } else {
+                appendToLine(bytes, terminator - start);
+                final int length = lineLength;
+                lineLength = 0;
+                receivedLine(ByteBuffer.wrap(lineBuffer, 0, length));
+            }
+            bytes.position(terminator + 1);
+        }
+    }
+
+    private void appendToLine(ByteBuffer bytes, int count) {
+        if (lineLength + count > lineBuffer.length) {
+            lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineLength + count, lineBuffer.length * 2));
+        }
+        bytes.get(lineBuffer, lineLength, count);
+        lineLength += count;
+    }
+
+    protected void receivedLine(ByteBuffer line) {
+        if (netLogger.isDebugEnabled()) {
+            netLogger.debug("<== {}", StandardCharsets.UTF_8.decode(line.duplicate()));
+        }
+        try {
+            parser.parseLine(line);
+        } catch (QuerySyntaxException e) {
+            logger.warn("Syntax exception while passing message!", e);
+            synchronized (this) {
+                if (!greetingState.get()) {
+                    suppressedClose();
+                }
+            }
+        }
+    }
+
+    protected void onNotificationParsed(Message.Notification notification) {
+        final var cb = notificationConsumer.get();
+        if (cb != null) {
+            cb.accept(notification);
+        }
+    }
+
+    protected void onAnswerParsed(Message.Answer answer) {
+        synchronized (this) {
+            pendingRequests.pollFirst();
+        }
+        final var cb = answerConsumer.get();
+        if (cb != null) {
+            cb.accept(answer);
+        }
+    }
+
+    protected void onMessageRejected(IQueryRequest request) {
+        final var cb = rejectedMessageConsumer.get();
+        if (cb != null) {
+            cb.accept(request);
+        }
+        synchronized (this) {
+            pendingRequests.removeLastOccurrence(request);
+        }
+    }
+
+    protected void onGreetingReceived(boolean greetingComplete) {
+        synchronized (this) {
+            greetingState.set(greetingComplete);
+        }
+        final var cb = readyListener.get();
+        if (greetingComplete && cb != null) {
+            cb.run();
+        }
+    }
+
+    @Override
+    public void setAnswerCallback(Consumer<Message.Answer> answerConsumer) {
+        this.answerConsumer.set(answerConsumer);
+    }
+
+    @Override
+    public void setNotificationCallback(Consumer<Message.Notification> notificationConsumer) {
+        this.notificationConsumer.set(notificationConsumer);
+    }
+
+    @Override
+    public void setReadyCallback(Runnable readyListener) {
+        this.readyListener.set(readyListener);
+    }
+
+    @Override
+    public void setRejectedMessageCallback(Consumer<IQueryRequest> rejectedMessageConsumer) {
+        this.rejectedMessageConsumer.set(rejectedMessageConsumer);
+    }
+
+    protected void suppressedClose() {
+        try {
+            if (isOpen()) {
+                close();
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to self-close!", e);
+        }
+    }
+}
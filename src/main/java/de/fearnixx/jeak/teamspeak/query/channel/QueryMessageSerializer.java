@@ -4,77 +4,133 @@ import de.fearnixx.jeak.teamspeak.data.IDataHolder;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
 import de.fearnixx.jeak.teamspeak.query.QueryEncoder;
 
-import java.util.LinkedHashMap;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 /**
+ * Serializes {@link IQueryRequest}s into lines for telnet-like TeamSpeak connections.
+ * Each instance encodes into one reusable buffer: Escaping and UTF-8 encoding happen in a single pass over each key and value.
+ *
  * @author Magnus Leßmann
+ * @implNote Instances are not thread safe. Each channel owns one and serializes while holding its write lock.
  * @since 1.2.0
  */
 public class QueryMessageSerializer {
 
-    private QueryMessageSerializer() {
-    }
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_CAPACITY = 1024;
+    // Buffers grown beyond this by huge messages are not kept around.
+    private static final int RETAINED_CAPACITY = 64 * 1024;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
 
     /**
      * Serializes a {@link IQueryRequest} into a message string for telnet-like TeamSpeak connections.
+     * Convenience method for logging and tests, channels use {@link #serializeLine(IQueryRequest)}.
      */
     public static String serialize(IQueryRequest request) {
-        final var message = new StringBuilder();
+        final ByteBuffer line = new QueryMessageSerializer().serializeLine(request);
+        line.limit(line.limit() - LINE_SEPARATOR.length);
+        return StandardCharsets.UTF_8.decode(line).toString();
+    }
+
+    /**
+     * Serializes the request, including the line separator.
+     *
+     * @return the internal buffer, flipped for reading. Only valid until the next invocation.
+     */
+    public ByteBuffer serializeLine(IQueryRequest request) {
+        if (buffer.capacity() > RETAINED_CAPACITY) {
+            buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+        } else {
+            buffer.clear();
+        }
 
         // Append: Command
-        if (request.getCommand().length() > 0) {
-            message.append(request.getCommand()).append(' ');
+        final String command = request.getCommand();
+        if (command != null && command.length() > 0) {
+            writeEncoded(command, false);
         }
 
         // Append: Objects
         // (Chain of `key=val key2=val2...` separated by '|')
-        List<IDataHolder> dataChain = request.getDataChain();
-        final int chainLength = dataChain.size();
-
-        for (int i = 0; i < chainLength; i++) {
-            // Copy the mapping in order to avoid concurrent modification
-            Map<String, String> properties = new LinkedHashMap<>(dataChain.get(i).getValues());
-            String[] keys = properties.keySet().toArray(new String[0]);
-
-            // Skip empty chain elements
-            if (keys.length == 0) {
-                continue;
-            } else if (i > 0) {
-                message.append('|');
-            }
+        final List<IDataHolder> dataChain = request.getDataChain();
+        boolean elementWritten = false;
+        for (int i = 0; i < dataChain.size(); i++) {
+            final Map<String, String> properties = dataChain.get(i).getValues();
+
+            // Lock the (synchronized) mapping in order to avoid concurrent modification
+            synchronized (properties) {
+                // Skip empty chain elements
+                if (properties.isEmpty()) {
+                    continue;
+                }
 
-            for (int j = 0; j < keys.length; j++) {
-                String propKey = keys[j];
-                int keyLen = propKey.length();
-                char[] propKeyParts = new char[keyLen];
-                propKey.getChars(0, keyLen, propKeyParts, 0);
-
-                String propValue = properties.get(keys[j]);
-                int valLen = propValue.length();
-                char[] propValParts = new char[valLen];
-                propValue.getChars(0, valLen, propValParts, 0);
-
-                char[] encodedKeyParts = QueryEncoder.encodeBuffer(propKeyParts);
-                char[] encodedValParts = QueryEncoder.encodeBuffer(propValParts);
-                message.append(encodedKeyParts)
-                        .append('=')
-                        .append(encodedValParts);
-
-                if (j < keys.length - 1) {
-                    message.append(' ');
+                if (elementWritten) {
+                    put((byte) '|');
+                } else {
+                    separateToken();
+                }
+                elementWritten = true;
+
+                boolean first = true;
+                for (Map.Entry<String, String> property : properties.entrySet()) {
+                    if (!first) {
+                        put((byte) ' ');
+                    }
+                    first = false;
+                    writeEncoded(property.getKey(), true);
+                    put((byte) '=');
+                    writeEncoded(property.getValue(), true);
                 }
             }
         }
 
         // Append: Options
-        request.getOptions().forEach(option -> {
-            if (message.length() > 0)
-                message.append(' ');
-            message.append(option);
-        });
+        final List<String> options = request.getOptions();
+        for (int i = 0; i < options.size(); i++) {
+            separateToken();
+            writeEncoded(options.get(i), false);
+        }
 
-        return message.toString();
+        ensureCapacity(LINE_SEPARATOR.length);
+        buffer.put(LINE_SEPARATOR);
+        return buffer.flip();
+    }
+
+    private void separateToken() {
+        if (buffer.position() > 0) {
+            put((byte) ' ');
+        }
+    }
+
+    private void put(byte b) {
+        ensureCapacity(1);
+        buffer.put(b);
+    }
+
+    /**
+     * Writes the UTF-8 representation of the characters.
+     *
+     * @param escape whether or not critical characters are escaped.
+     */
+    private void writeEncoded(String chars, boolean escape) {
+        ensureCapacity(QueryEncoder.maxEncodedBytes(chars.length()));
+        if (escape) {
+            QueryEncoder.encode(chars, buffer);
+        } else {
+            buffer.put(chars.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (buffer.remaining() < additional) {
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + additional));
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
     }
 }
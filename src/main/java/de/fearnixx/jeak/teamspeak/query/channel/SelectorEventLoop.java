@@ -0,0 +1,123 @@
+package de.fearnixx.jeak.teamspeak.query.channel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single threaded event loop that serves any number of {@link SelectorMessageChannel}s through one {@link Selector}.
+ * All selection key operations are performed on the loop thread. Other threads hand in work using {@link #execute(Runnable)}.
+ *
+ * @since 1.2.0
+ */
+public class SelectorEventLoop implements Runnable, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SelectorEventLoop.class);
+
+    private final Selector selector;
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public SelectorEventLoop() throws IOException {
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Schedules a task to be run on the loop thread before the next selection.
+     */
+    public void execute(Runnable task) {
+        pendingTasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Registers the channel with this loop. The registration itself happens asynchronously on the loop thread.
+     */
+    public void register(SelectorMessageChannel channel) {
+        execute(() -> channel.onRegister(selector));
+    }
+
+    /**
+     * The number of channels currently registered to this loop.
+     */
+    public int getChannelCount() {
+        return selector.keys().size();
+    }
+
+    @Override
+    public void run() {
+        logger.debug("Selector loop started.");
+        try {
+            while (!closed.get()) {
+                selector.select();
+                runPendingTasks();
+
+                final Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    final SelectionKey key = selected.next();
+                    selected.remove();
+                    dispatchSelection(key);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Selector loop failed!", e);
+        } finally {
+            closeSelector();
+        }
+        logger.debug("Selector loop finished.");
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Uncaught exception in selector task!", e);
+            }
+        }
+    }
+
+    private void dispatchSelection(SelectionKey key) {
+        final var channel = (SelectorMessageChannel) key.attachment();
+        try {
+            channel.onSelected(key);
+        } catch (CancelledKeyException e) {
+            logger.debug("Selection key has been cancelled for: {}", channel);
+        } catch (RuntimeException e) {
+            // Isolate the loop from misbehaving channels so other connections are not affected.
+            logger.error("Uncaught exception in selected channel! Closing it.", e);
+            channel.suppressedClose();
+        }
+    }
+
+    private void closeSelector() {
+        for (SelectionKey key : selector.keys()) {
+            ((SelectorMessageChannel) key.attachment()).suppressedClose();
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close selector!", e);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package de.fearnixx.jeak.teamspeak.query.channel;
+
+import de.fearnixx.jeak.teamspeak.except.QueryConnectException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Fixed set of {@link SelectorEventLoop}s sharing the load of all selector based query connections.
+ *
+ * @since 1.2.0
+ */
+public class SelectorEventLoopGroup implements AutoCloseable {
+
+    private final List<SelectorEventLoop> loops;
+
+    public SelectorEventLoopGroup(int size, ThreadFactory threadFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Event loop group requires at least one loop!");
+        }
+
+        final List<SelectorEventLoop> created = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                final var loop = new SelectorEventLoop();
+                created.add(loop);
+                threadFactory.newThread(loop).start();
+            }
+        } catch (IOException e) {
+            created.forEach(SelectorEventLoop::close);
+            throw new QueryConnectException("Failed to open selector!", e);
+        }
+        this.loops = Collections.unmodifiableList(created);
+    }
+
+    /**
+     * Returns the loop currently serving the fewest channels.
+     */
+    public SelectorEventLoop next() {
+        return loops.stream()
+                .filter(loop -> !loop.isClosed())
+                .min(Comparator.comparingInt(SelectorEventLoop::getChannelCount))
+                .orElseThrow(() -> new IllegalStateException("Event loop group has been closed!"));
+    }
+
+    public List<SelectorEventLoop> getLoops() {
+        return loops;
+    }
+
+    @Override
+    public void close() {
+        loops.forEach(SelectorEventLoop::close);
+    }
+}
@@ -0,0 +1,198 @@
+package de.fearnixx.jeak.teamspeak.query.channel;
+
+import de.fearnixx.jeak.Main;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+
+/**
+ * Non-blocking message channel implementation.
+ * Instead of occupying a reader thread, the channel is served by a shared {@link SelectorEventLoop}.
+ * Reads and writes go through buffers owned by the channel.
+ * <p>
+ * Writes are attempted directly from the writing thread. Only if the socket does not take all bytes, the loop is woken up to wait for write readiness.
+ * <p>
+ * The request pump of the {@link de.fearnixx.jeak.teamspeak.query.TSQueryConnection} keeps its own thread:
+ * It paces requests according to the rate limit and is what the connection owners wait on until the connection ends.
+ * It only parks on a condition without buffers, the per-connection reader thread of the blocking channels is what this channel saves.
+ *
+ * @since 1.2.0
+ */
+public class SelectorMessageChannel extends AbstractMessageChannel {
+
+    private static final int READ_BUFFER_SIZE = Main.getProperty("jeak.connection.selector.readBuffer", 16384);
+    private static final int WRITE_BUFFER_SIZE = Main.getProperty("jeak.connection.selector.writeBuffer", 4096);
+    private static final Logger logger = LoggerFactory.getLogger(SelectorMessageChannel.class);
+
+    private final SocketChannel socketChannel;
+    private final SelectorEventLoop eventLoop;
+
+    // Heap buffer, so complete lines can be parsed from it without another copy.
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final Object writeLock = new Object();
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    // Whether the key has (or is about to get) write interest. Guarded by the write lock.
+    private boolean writePending = false;
+
+    private SelectionKey selectionKey;
+
+    public SelectorMessageChannel(SocketChannel socketChannel, SelectorEventLoop eventLoop) {
+        Objects.requireNonNull(socketChannel, "Underlying channel may not be null!");
+        Objects.requireNonNull(eventLoop, "Event loop may not be null!");
+        this.socketChannel = socketChannel;
+        this.eventLoop = eventLoop;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return false;
+    }
+
+    /**
+     * Hands this channel over to the event loop.
+     * Returns immediately, reading is performed by the loop thread from there on.
+     */
+    @Override
+    public void run() {
+        try {
+            socketChannel.configureBlocking(false);
+            eventLoop.register(this);
+        } catch (IOException e) {
+            logger.error("Failed to switch channel to non-blocking mode!", e);
+            suppressedClose();
+        }
+    }
+
+    void onRegister(Selector selector) {
+        try {
+            final int interest;
+            synchronized (writeLock) {
+                writePending = writeBuffer.position() > 0;
+                interest = writePending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+                selectionKey = socketChannel.register(selector, interest, this);
+            }
+            logger.debug("Channel registered to event loop.");
+        } catch (ClosedChannelException e) {
+            logger.info("Channel closed before registration.");
+        }
+    }
+
+    void onSelected(SelectionKey key) {
+        if (key.isValid() && key.isReadable()) {
+            readAvailable();
+        }
+        if (key.isValid() && key.isWritable()) {
+            synchronized (writeLock) {
+                flushWriteBuffer();
+                if (writeBuffer.position() == 0 && writePending) {
+                    // We're on the loop thread, no need to hand this over.
+                    writePending = false;
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            }
+        }
+    }
+
+    private void readAvailable() {
+        try {
+            int count;
+            while ((count = socketChannel.read(readBuffer)) > 0) {
+                readBuffer.flip();
+                receivedBytes(readBuffer);
+                readBuffer.clear();
+            }
+
+            if (count < 0) {
+                logger.info("Channel closed by remote.");
+                suppressedClose();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read from socket channel!", e);
+            suppressedClose();
+        }
+    }
+
+    @Override
+    protected int write(ByteBuffer message) throws IOException {
+        if (!socketChannel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+
+        final int count = message.remaining();
+        synchronized (writeLock) {
+            ensureWriteCapacity(count);
+            writeBuffer.put(message);
+            if (!writePending) {
+                flushWriteBuffer();
+                if (writeBuffer.position() > 0) {
+                    // Only the transition to pending needs the loop, further writes are flushed by it.
+                    writePending = true;
+                    eventLoop.execute(this::enableWriteInterest);
+                }
+            }
+        }
+        return count;
+    }
+
+    private void ensureWriteCapacity(int additional) {
+        if (writeBuffer.remaining() < additional) {
+            final var grown = ByteBuffer.allocateDirect(Math.max(writeBuffer.capacity() * 2, writeBuffer.position() + additional));
+            writeBuffer.flip();
+            grown.put(writeBuffer);
+            writeBuffer = grown;
+        }
+    }
+
+    /**
+     * Attempts to write out the buffered bytes.
+     * Must be called while holding the write lock.
+     */
+    private void flushWriteBuffer() {
+        try {
+            writeBuffer.flip();
+            socketChannel.write(writeBuffer);
+            writeBuffer.compact();
+        } catch (IOException e) {
+            logger.error("Failed to write to socket channel!", e);
+            writeBuffer.clear();
+            suppressedClose();
+        }
+    }
+
+    private void enableWriteInterest() {
+        final SelectionKey key = selectionKey;
+        if (key != null && key.isValid()) {
+            synchronized (writeLock) {
+                if (writePending) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return socketChannel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        final SelectionKey key = selectionKey;
+        if (key != null) {
+            key.cancel();
+        }
+        socketChannel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "SelectorMessageChannel{" + socketChannel + '}';
+    }
+}
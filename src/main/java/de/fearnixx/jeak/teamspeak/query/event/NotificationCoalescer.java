@@ -0,0 +1,130 @@
+package de.fearnixx.jeak.teamspeak.query.event;
+
+import de.fearnixx.jeak.Main;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.event.IQueryEvent.INotificationBatch;
+import de.fearnixx.jeak.event.bot.IBotStateEvent;
+import de.fearnixx.jeak.event.query.QueryEvent;
+import de.fearnixx.jeak.reflect.Inject;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.service.event.IEventService;
+import de.fearnixx.jeak.teamspeak.query.QueryScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces bursts of high-frequency notifications into {@link INotificationBatch} events.
+ * <p>
+ * Notifications are collected after the framework has processed them.
+ * The first notification of a batch opens a window ("jeak.eventmgr.coalesce.windowMs") after which the batch is fired.
+ * Full batches ("jeak.eventmgr.coalesce.maxSize") are fired immediately.
+ * Nothing is collected while no listener declares a batch type.
+ * The windows are timed by the {@link QueryScheduler}.
+ *
+ * @since 1.2.0
+ */
+public class NotificationCoalescer {
+
+    public static final Integer WINDOW_MS = Main.getProperty("jeak.eventmgr.coalesce.windowMs", 0);
+    public static final Integer MAX_SIZE = Main.getProperty("jeak.eventmgr.coalesce.maxSize", 500);
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private final Batch<IQueryEvent.INotification.IClientMoved> movedBatch =
+            new Batch<>(QueryEvent.ClientMovedBatch.class, QueryEvent.ClientMovedBatch::new);
+    private final Batch<IQueryEvent.INotification.IClientEnter> enterBatch =
+            new Batch<>(QueryEvent.ClientEnterBatch.class, QueryEvent.ClientEnterBatch::new);
+
+    @Inject
+    private IEventService eventService;
+
+    private volatile boolean shutdown = false;
+
+    public static boolean isEnabled() {
+        return WINDOW_MS > 0;
+    }
+
+    @Listener(order = Listener.Orders.LATEST)
+    public void onClientMoved(IQueryEvent.INotification.IClientMoved event) {
+        movedBatch.add(event);
+    }
+
+    @Listener(order = Listener.Orders.LATEST)
+    public void onClientEnter(IQueryEvent.INotification.IClientEnter event) {
+        enterBatch.add(event);
+    }
+
+    @Listener
+    public void onShutdown(IBotStateEvent.IPreShutdown event) {
+        // Already scheduled flushes are still executed.
+        shutdown = true;
+    }
+
+    private class Batch<T extends IQueryEvent.INotification> {
+
+        private final Class<? extends INotificationBatch<T>> batchClass;
+        private final Function<List<T>, QueryEvent.NotificationBatch<T>> batchFactory;
+        private List<T> pending = new ArrayList<>();
+        // Identifies the window of the pending notifications, so flushes scheduled for already fired batches are ignored.
+        private long window = 0;
+
+        private Batch(Class<? extends INotificationBatch<T>> batchClass, Function<List<T>, QueryEvent.NotificationBatch<T>> batchFactory) {
+            this.batchClass = batchClass;
+            this.batchFactory = batchFactory;
+        }
+
+        private void add(T notification) {
+            if (shutdown || !eventService.hasListeners(batchClass, INotificationBatch.class)) {
+                return;
+            }
+
+            List<T> full = null;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    final long flushedWindow = window;
+                    QueryScheduler.schedule(() -> flush(flushedWindow), WINDOW_MS, TimeUnit.MILLISECONDS);
+                }
+                pending.add(notification);
+                if (pending.size() >= MAX_SIZE) {
+                    full = take();
+                }
+            }
+            if (full != null) {
+                fire(full);
+            }
+        }
+
+        private void flush(long flushedWindow) {
+            final List<T> taken;
+            synchronized (this) {
+                if (window != flushedWindow || pending.isEmpty()) {
+                    return;
+                }
+                taken = take();
+            }
+            fire(taken);
+        }
+
+        /**
+         * Must be called while holding the monitor.
+         */
+        private List<T> take() {
+            final List<T> taken = pending;
+            pending = new ArrayList<>();
+            window++;
+            return taken;
+        }
+
+        private void fire(List<T> notifications) {
+            logger.debug("Firing batch of {} notifications: {}", notifications.size(), batchClass.getSimpleName());
+            final QueryEvent.NotificationBatch<T> batch = batchFactory.apply(notifications);
+            batch.setConnection(notifications.get(0).getConnection());
+            eventService.fireEvent(batch);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package de.fearnixx.jeak.teamspeak.query.parser;
+
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps raw key bytes to canonical {@link String} instances without decoding them first.
+ * Known keys are taken from {@link PropertyKeys}, keys seen during parsing are learned up to a fixed limit.
+ *
+ * @implNote Instances are not thread safe. Each parser owns its own table which is seeded from a shared template.
+ * @since 1.2.0
+ */
+public class PropertyKeyTable {
+
+    private static final int MAX_LEARNED_KEYS = 512;
+    private static final Logger logger = LoggerFactory.getLogger(PropertyKeyTable.class);
+
+    /**
+     * Keys that are part of the protocol but not listed in {@link PropertyKeys}.
+     */
+    private static final String[] PROTOCOL_KEYS = {
+            "id", "msg", "extra_msg", "failed_permid", "return_code"
+    };
+
+    private static final PropertyKeyTable KNOWN_KEYS = createKnownKeys();
+
+    private byte[][] keys;
+    private String[] values;
+    private int size = 0;
+    private int learned = 0;
+
+    private PropertyKeyTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        keys = new byte[capacity][];
+        values = new String[capacity];
+    }
+
+    /**
+     * Creates a new table pre-filled with all known property keys.
+     */
+    public static PropertyKeyTable create() {
+        final var table = new PropertyKeyTable(KNOWN_KEYS.size + MAX_LEARNED_KEYS);
+        for (int i = 0; i < KNOWN_KEYS.keys.length; i++) {
+            if (KNOWN_KEYS.keys[i] != null) {
+                table.insert(KNOWN_KEYS.keys[i], KNOWN_KEYS.values[i]);
+            }
+        }
+        return table;
+    }
+
+    private static PropertyKeyTable createKnownKeys() {
+        final Set<String> collected = new LinkedHashSet<>(List.of(PROTOCOL_KEYS));
+        collectKeys(PropertyKeys.class, collected);
+
+        final var table = new PropertyKeyTable(collected.size());
+        collected.forEach(key -> table.insert(key.getBytes(StandardCharsets.UTF_8), key));
+        logger.debug("Indexed {} known property keys.", table.size);
+        return table;
+    }
+
+    private static void collectKeys(Class<?> holder, Set<String> collected) {
+        final List<Class<?>> nested = new ArrayList<>(List.of(holder.getDeclaredClasses()));
+        for (Field field : holder.getDeclaredFields()) {
+            final int mods = field.getModifiers();
+            if (Modifier.isStatic(mods) && Modifier.isPublic(mods) && field.getType() == String.class) {
+                try {
+                    collected.add((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    logger.debug("Cannot read property key: {}", field, e);
+                }
+            }
+        }
+        nested.forEach(cls -> collectKeys(cls, collected));
+    }
+
+    /**
+     * Returns the canonical string for the given key bytes.
+     * Unknown keys are decoded and - as long as the learning limit has not been reached - remembered.
+     */
+    public String lookup(byte[] buffer, int offset, int length) {
+        final int hash = hash(buffer, offset, length);
+        final int mask = keys.length - 1;
+        int slot = hash & mask;
+
+        byte[] candidate;
+        while ((candidate = keys[slot]) != null) {
+            if (matches(candidate, buffer, offset, length)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        final String decoded = new String(buffer, offset, length, StandardCharsets.UTF_8);
+        if (learned < MAX_LEARNED_KEYS) {
+            learned++;
+            final byte[] copy = new byte[length];
+            System.arraycopy(buffer, offset, copy, 0, length);
+            keys[slot] = copy;
+            values[slot] = decoded;
+            size++;
+        }
+        return decoded;
+    }
+
+    private void insert(byte[] key, String value) {
+        final int mask = keys.length - 1;
+        int slot = hash(key, 0, key.length) & mask;
+        while (keys[slot] != null) {
+            if (matches(keys[slot], key, 0, key.length)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private static boolean matches(byte[] candidate, byte[] buffer, int offset, int length) {
+        if (candidate.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate[i] != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] buffer, int offset, int length) {
+        int h = length;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + buffer[i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -4,11 +4,14 @@ import de.fearnixx.jeak.event.query.RawQueryEvent;
 import de.fearnixx.jeak.event.query.RawQueryEvent.Message;
 import de.fearnixx.jeak.teamspeak.except.QueryParseException;
 import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryEncoder;
 import de.fearnixx.jeak.teamspeak.query.api.ITSParser;
 import de.fearnixx.jeak.teamspeak.query.api.QuerySyntaxException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -20,6 +23,18 @@ import java.util.function.Supplier;
 public class QueryParser implements ITSParser {
 
     private static final Logger logger = LoggerFactory.getLogger(QueryParser.class);
+    private static final int SCRATCH_BUFFER_SIZE = 4096;
+    private static final String[] ASCII_VALUES = new String[128];
+    private static final byte[][] GREETING_BYTES = new byte[Symbols.GREETINGS.length][];
+
+    static {
+        for (int i = 0; i < ASCII_VALUES.length; i++) {
+            ASCII_VALUES[i] = String.valueOf((char) i);
+        }
+        for (int i = 0; i < Symbols.GREETINGS.length; i++) {
+            GREETING_BYTES[i] = Symbols.GREETINGS[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
 
     /* Parsing */
     public static class Symbols {
@@ -47,10 +62,18 @@ public class QueryParser implements ITSParser {
     private ParseContext<Message.Answer> context;
     private int greetingPos = 0;
 
+    private final PropertyKeyTable keyTable = PropertyKeyTable.create();
+    private byte[] scratch = new byte[SCRATCH_BUFFER_SIZE];
+
     private final AtomicReference<Consumer<Boolean>> onGreetingStatus = new AtomicReference<>();
     private final AtomicReference<Consumer<Message.Notification>> onNotification = new AtomicReference<>();
     private final AtomicReference<Consumer<Message.Answer>> onAnswer = new AtomicReference<>();
 
+    /**
+     * @param currentRequestSupplier supplies the oldest request that has not been answered yet.
+     *                               It is queried once per answer, when the first line of the answer is received.
+     *                               All lines up to and including the error line are attributed to that request.
+     */
     public QueryParser(Supplier<IQueryRequest> currentRequestSupplier) {
         this(null, null, null, currentRequestSupplier);
     }
@@ -86,6 +109,11 @@ public class QueryParser implements ITSParser {
         parse(line);
     }
 
+    @Override
+    public void parseLine(ByteBuffer line) throws QuerySyntaxException {
+        parse(line);
+    }
+
     /**
      * Parse a query response
      *
@@ -93,8 +121,32 @@ public class QueryParser implements ITSParser {
      * @return The message if finished - Notifications are one-liners thus don't interrupt receiving other messages
      */
     public Optional<Message> parse(String input) throws QuerySyntaxException {
+        return parse(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Parse a query response directly from its encoded bytes.
+     * The remaining bytes of the buffer are considered to be one line without the line terminator.
+     *
+     * @implNote Escape sequences are decoded in place, so the buffer contents are modified when it is backed by an array.
+     */
+    public Optional<Message> parse(ByteBuffer input) throws QuerySyntaxException {
+        final byte[] buffer;
+        final int offset;
+        final int length = input.remaining();
+        if (input.hasArray()) {
+            buffer = input.array();
+            offset = input.arrayOffset() + input.position();
+        } else {
+            buffer = scratchBuffer(length);
+            offset = 0;
+            input.duplicate().get(buffer, 0, length);
+        }
+        input.position(input.limit());
+        final int end = offset + length;
+
         if (greetingPos < Symbols.GREETINGS.length) {
-            if (input.startsWith(Symbols.GREETINGS[greetingPos])) {
+            if (startsWith(buffer, offset, end, GREETING_BYTES[greetingPos])) {
                 greetingPos++;
                 logger.debug("Received greeting part: {}", greetingPos);
 
@@ -107,14 +159,14 @@ public class QueryParser implements ITSParser {
 
         try {
             ParseInfo parseInfo = new ParseInfo();
-            input = parseInfo.inspect(input);
+            final int start = parseInfo.inspect(buffer, offset, end);
 
             if (parseInfo.isNotification) {
                 Message.Notification notification = new Message.Notification();
-                notification.setHashCode(input.hashCode());
+                notification.setHashCode(hashOf(buffer, start, end));
                 notification.setCaption(parseInfo.caption);
                 ParseContext<Message.Notification> notificationContext = new ParseContext<>(notification);
-                parseToContext(input, parseInfo, notificationContext);
+                parseToContext(buffer, start, end, parseInfo, notificationContext);
                 notificationContext.setError(RawQueryEvent.ErrorMessage.OK());
 
                 if (notificationContext.isClosed()) {
@@ -124,7 +176,7 @@ public class QueryParser implements ITSParser {
 
             } else {
                 ParseContext<Message.Answer> answerContext = getParseContextFor(parseInfo);
-                parseToContext(input, parseInfo, answerContext);
+                parseToContext(buffer, start, end, parseInfo, answerContext);
 
                 if (answerContext.isClosed()) {
                     context = null;
@@ -140,6 +192,13 @@ public class QueryParser implements ITSParser {
         }
     }
 
+    private byte[] scratchBuffer(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        return scratch;
+    }
+
     /**
      * Returns the parsing context in regard to the peek information.
      * Determines whether or not to slot in a Notification context or to continue parsing on the current answer context.
@@ -151,7 +210,7 @@ public class QueryParser implements ITSParser {
 
         if (parseInfo.isError) {
             // This message is an isError message
-            final var errorMessage = new Message.ErrorMessage(internalProvideRequest());
+            final var errorMessage = new Message.ErrorMessage(context.getMessage().getRequest());
             context.setError(errorMessage);
         }
 
@@ -160,21 +219,20 @@ public class QueryParser implements ITSParser {
 
     /**
      * Actually parses the input to objects of the parse context.
+     * Tokens are split on the raw bytes, keys are resolved through the key table and only values are decoded.
      */
-    private void parseToContext(String input, ParseInfo parseInfo, ParseContext parseContext) {
-        boolean doKey = true; // Are we currently reading a property-key ?
-        int len = input.length();
+    private void parseToContext(byte[] buffer, int start, int end, ParseInfo parseInfo, ParseContext<?> parseContext) {
+        int tokenStart = start;
+        int valueStart = -1; // Start of the value within the current token, -1 while still reading the key.
 
-        // Begin parsing the response
-        for (int pos = 0; pos < len; pos++) {
-            char c = input.charAt(pos);
+        for (int pos = start; pos <= end; pos++) {
+            // The end of the line terminates the last token like a property separator.
+            final byte b = pos < end ? buffer[pos] : (byte) Symbols.PROPDIV;
 
-            switch (c) {
+            switch (b) {
                 case '\n':
                 case Symbols.CHAINDIV:
-                    // Flush current key and value
-                    parseContext.flushProperty();
-                    doKey = true;
+                    flushToken(buffer, tokenStart, valueStart, pos, parseContext);
 
                     if (!parseInfo.isError) {
                         Message next;
@@ -182,33 +240,94 @@ public class QueryParser implements ITSParser {
                             next = new Message.Notification();
                             ((Message.Notification) next).setCaption(parseInfo.caption);
                         } else {
-                            next = new Message.Answer(internalProvideRequest());
+                            next = new Message.Answer(context.getMessage().getRequest());
                         }
                         parseContext.nextObject(next);
                     }
+                    tokenStart = pos + 1;
+                    valueStart = -1;
                     break;
 
                 case Symbols.PROPDIV:
-                    parseContext.flushProperty();
-                    doKey = true;
+                    flushToken(buffer, tokenStart, valueStart, pos, parseContext);
+                    tokenStart = pos + 1;
+                    valueStart = -1;
                     break;
 
                 case Symbols.PROPVALDIV:
-                    if (doKey)
-                        doKey = false;
-                    else
-                        parseContext.addToValBuffer(c);
+                    if (valueStart < 0) {
+                        valueStart = pos + 1;
+                    }
                     break;
 
                 default:
-                    if (doKey)
-                        parseContext.addToKeyBuffer(c);
-                    else
-                        parseContext.addToValBuffer(c);
+                    break;
             }
         }
+    }
+
+    private void flushToken(byte[] buffer, int tokenStart, int valueStart, int tokenEnd, ParseContext<?> parseContext) {
+        final int keyEnd = valueStart < 0 ? tokenEnd : valueStart - 1;
+        if (keyEnd <= tokenStart) {
+            return;
+        }
+
+        final String key;
+        if (indexOf(buffer, tokenStart, keyEnd, QueryEncoder.ESCAPE_CHAR) < 0) {
+            key = keyTable.lookup(buffer, tokenStart, keyEnd - tokenStart);
+        } else {
+            key = decodeValue(buffer, tokenStart, keyEnd);
+        }
+        final String value = valueStart < 0 ? "" : decodeValue(buffer, valueStart, tokenEnd);
+        parseContext.addProperty(key, value);
+    }
 
-        parseContext.closeContext();
+    /**
+     * Unescapes the given range in place and decodes it.
+     * Empty and single character ASCII values are served from constants as they make up most of the values in list responses.
+     */
+    private static String decodeValue(byte[] buffer, int start, int end) {
+        int length = end - start;
+        final int firstEscape = indexOf(buffer, start, end, QueryEncoder.ESCAPE_CHAR);
+        if (firstEscape >= 0) {
+            length = QueryEncoder.decodeInPlace(buffer, firstEscape, end) - start;
+        }
+
+        if (length == 0) {
+            return "";
+        } else if (length == 1 && buffer[start] >= 0) {
+            return ASCII_VALUES[buffer[start]];
+        }
+        return new String(buffer, start, length, StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(byte[] buffer, int start, int end, char search) {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == search) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] buffer, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hashOf(byte[] buffer, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + buffer[i];
+        }
+        return h;
     }
 
     private void onNotification(Message.Notification event) {
@@ -240,16 +359,20 @@ public class QueryParser implements ITSParser {
         private boolean isError;
         private boolean isNotification;
 
-        public String inspect(String input) {
-            int firstSpace = input.indexOf(Symbols.PROPDIV);
-            int firstEquals = input.indexOf(Symbols.PROPVALDIV);
+        /**
+         * @return the offset at which the message body starts (after the caption, if any).
+         */
+        public int inspect(byte[] buffer, int start, int end) {
+            int firstSpace = indexOf(buffer, start, end, Symbols.PROPDIV);
+            int firstEquals = indexOf(buffer, start, end, Symbols.PROPVALDIV);
 
             // Determine message type (check for notification)
             caption = null;
+            int bodyStart = start;
             if (firstSpace >= 0 && firstSpace < firstEquals) {
                 // Response has a caption - extract it
-                caption = input.substring(0, firstSpace).toLowerCase();
-                input = input.substring(firstSpace + 1);
+                caption = new String(buffer, start, firstSpace - start, StandardCharsets.US_ASCII).toLowerCase();
+                bodyStart = firstSpace + 1;
             }
 
             isError = "error".equals(caption);
@@ -259,7 +382,7 @@ public class QueryParser implements ITSParser {
                 caption = caption.substring(6);
             }
 
-            return input;
+            return bodyStart;
         }
     }
 }
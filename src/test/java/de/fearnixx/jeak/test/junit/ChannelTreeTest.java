@@ -0,0 +1,64 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.cache.ChannelTree;
+import de.fearnixx.jeak.teamspeak.data.TS3Channel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ChannelTreeTest {
+
+    private final ChannelTree tree = new ChannelTree();
+
+    @Test
+    public void testPlaceAndMove() {
+        final TS3Channel lobby = place(1, 0, 0);
+        final TS3Channel games = place(2, 0, 1);
+        final TS3Channel afk = place(3, 0, 2);
+        final TS3Channel minecraft = place(4, 2, 0);
+
+        Assert.assertEquals(List.of(lobby, games, minecraft, afk), tree.flatten());
+        Assert.assertEquals(List.of(minecraft), games.getSubChannels());
+        Assert.assertEquals(3, minecraft.getSortingNumber());
+
+        // Created between lobby and games: Games now sorts after the new channel.
+        final TS3Channel music = place(5, 0, 1);
+        Assert.assertEquals(List.of(lobby, music, games, minecraft, afk), tree.flatten());
+        Assert.assertEquals(Integer.valueOf(5), games.getOrder());
+
+        // Moving games (including sub channels) to the top.
+        Assert.assertTrue(tree.place(games, 0, 0));
+        Assert.assertEquals(List.of(games, minecraft, lobby, music, afk), tree.flatten());
+        Assert.assertEquals(Integer.valueOf(2), lobby.getOrder());
+        Assert.assertEquals(Integer.valueOf(5), afk.getOrder());
+        Assert.assertFalse(tree.place(games, 0, 0));
+
+        // No cycles.
+        Assert.assertFalse(tree.place(games, 4, 0));
+        Assert.assertTrue(tree.isPlaced(2, 0, 0));
+    }
+
+    @Test
+    public void testRemove() {
+        final TS3Channel lobby = place(1, 0, 0);
+        place(2, 0, 1);
+        place(4, 2, 0);
+        final TS3Channel afk = place(3, 0, 2);
+
+        Assert.assertEquals(2, tree.remove(2).size());
+        Assert.assertEquals(List.of(lobby, afk), tree.flatten());
+        Assert.assertEquals(Integer.valueOf(1), afk.getOrder());
+        Assert.assertEquals(List.of(), tree.remove(4));
+    }
+
+    private TS3Channel place(int channelId, int parentId, int orderAfter) {
+        final TS3Channel channel = new TS3Channel();
+        channel.setProperty(PropertyKeys.Channel.ID, channelId);
+        channel.setProperty(PropertyKeys.Channel.PARENT, parentId);
+        channel.setProperty(PropertyKeys.Channel.ORDER, orderAfter);
+        tree.place(channel, parentId, orderAfter);
+        return channel;
+    }
+}
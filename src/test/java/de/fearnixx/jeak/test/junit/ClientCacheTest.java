@@ -0,0 +1,160 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventService;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.event.IRawQueryEvent;
+import de.fearnixx.jeak.event.query.RawQueryEvent;
+import de.fearnixx.jeak.profile.IProfileService;
+import de.fearnixx.jeak.profile.IUserProfile;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.service.permission.base.IPermissionService;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.cache.ClientCache;
+import de.fearnixx.jeak.teamspeak.data.IClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ClientCacheTest {
+
+    private final EventService eventService = new EventService();
+    private final ClientCache clientCache = new ClientCache(new Object());
+    private final BlockingQueue<IQueryEvent.IDataEvent.IRefreshClients> refreshes = new LinkedBlockingQueue<>();
+    private final BlockingQueue<IQueryEvent.IDataEvent.IClientUpdated> updates = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() throws Exception {
+        final IUserProfile profile = proxy(IUserProfile.class, (method, args) ->
+                "getUniqueId".equals(method.getName()) ? UUID.randomUUID() : null);
+        inject("eventService", eventService);
+        inject("profileService", proxy(IProfileService.class, (method, args) -> Optional.of(profile)));
+        inject("permService", proxy(IPermissionService.class, (method, args) -> null));
+        eventService.registerListener(new DataEventListener());
+    }
+
+    @After
+    public void shutdown() {
+        eventService.shutdown();
+    }
+
+    @Test
+    public void testRefreshDeltas() throws Exception {
+        refresh(client(1, "Alice", 5), client(2, "Bob", 5));
+        final var first = poll(refreshes);
+        Assert.assertEquals(Set.of(1, 2), first.getAddedClientIds());
+        Assert.assertEquals(Set.of(), first.getUpdatedClientIds());
+
+        final var moved = client(2, "Bob", 7);
+        // Idle times change with every refresh and are not reported.
+        moved.setProperty(PropertyKeys.Client.IDLE_TIME, "1000");
+        refresh(moved, client(3, "Carol", 5));
+
+        final var updated = poll(updates);
+        Assert.assertEquals(Integer.valueOf(2), updated.getTarget().getClientID());
+        Assert.assertEquals(Set.of(PropertyKeys.Client.CHANNEL_ID), updated.getChangedProperties());
+        Assert.assertEquals(Optional.of("5"), updated.getPreviousValue(PropertyKeys.Client.CHANNEL_ID));
+
+        final var second = poll(refreshes);
+        Assert.assertEquals(Set.of(3), second.getAddedClientIds());
+        Assert.assertEquals(Set.of(1), second.getRemovedClientIds());
+        Assert.assertEquals(Set.of(2), second.getUpdatedClientIds());
+        Assert.assertTrue(updates.isEmpty());
+    }
+
+    @Test
+    public void testReadersGetImmutableSnapshots() throws Exception {
+        Assert.assertTrue(clientCache.getClients().isEmpty());
+        refresh(client(1, "Alice", 5), client(2, "Bob", 5));
+        poll(refreshes);
+
+        final List<IClient> clients = clientCache.getClients();
+        final Map<Integer, IClient> clientMap = clientCache.getClientMap();
+        // No copies: Readers share the published generation.
+        Assert.assertSame(clients, clientCache.getClients());
+        Assert.assertSame(clientMap, clientCache.getClientMap());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> clients.remove(0));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> clientMap.remove(1));
+
+        refresh(client(2, "Bob", 5), client(3, "Carol", 5));
+        poll(refreshes);
+        // Previously handed out snapshots are not changed by the refresh.
+        Assert.assertEquals(Set.of(1, 2), clientMap.keySet());
+        Assert.assertEquals(2, clients.size());
+        Assert.assertEquals(Set.of(2, 3), clientCache.getClientMap().keySet());
+        Assert.assertNotSame(clients, clientCache.getClients());
+        Assert.assertSame(clientMap.get(2), clientCache.getClient(2).orElseThrow());
+    }
+
+    private static <T> T poll(BlockingQueue<T> events) throws InterruptedException {
+        final T event = events.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("No event fired.", event);
+        return event;
+    }
+
+    private void refresh(RawQueryEvent.Message... clients) throws Exception {
+        final var answer = new RawQueryEvent.Message.Answer(null);
+        answer.merge(clients[0]);
+        RawQueryEvent.Message last = answer;
+        for (int i = 1; i < clients.length; i++) {
+            last.setNext(clients[i]);
+            clients[i].setPrevious(last);
+            last = clients[i];
+        }
+
+        final Method refresh = ClientCache.class.getDeclaredMethod("refreshClients", IRawQueryEvent.IMessage.IAnswer.class);
+        refresh.setAccessible(true);
+        refresh.invoke(clientCache, answer);
+    }
+
+    private static RawQueryEvent.Message client(int clientId, String nickname, int channelId) {
+        final var message = new RawQueryEvent.Message.Answer(null);
+        message.setProperty(PropertyKeys.Client.ID, clientId);
+        message.setProperty(PropertyKeys.Client.UID, "uid-" + clientId);
+        message.setProperty(PropertyKeys.Client.DBID, clientId + 10);
+        message.setProperty(PropertyKeys.Client.NICKNAME, nickname);
+        message.setProperty(PropertyKeys.Client.CHANNEL_ID, channelId);
+        message.setProperty(PropertyKeys.Client.IDLE_TIME, "0");
+        return message;
+    }
+
+    private void inject(String fieldName, Object value) throws Exception {
+        final Field field = ClientCache.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(clientCache, value);
+    }
+
+    private interface Answer {
+        Object answer(Method method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answer.answer(method, args)));
+    }
+
+    public class DataEventListener {
+
+        @Listener
+        public void onRefresh(IQueryEvent.IDataEvent.IRefreshClients event) {
+            refreshes.add(event);
+        }
+
+        @Listener
+        public void onUpdate(IQueryEvent.IDataEvent.IClientUpdated event) {
+            updates.add(event);
+        }
+    }
+}
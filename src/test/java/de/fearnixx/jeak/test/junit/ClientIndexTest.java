@@ -0,0 +1,65 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.cache.ClientIndex;
+import de.fearnixx.jeak.teamspeak.data.TS3Client;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ClientIndexTest {
+
+    private final Map<Integer, TS3Client> clients = new HashMap<>();
+    private final ClientIndex index = new ClientIndex(clients);
+
+    @Test
+    public void testLookups() {
+        final TS3Client alice = add(1, "uid-a", 10, 5, "Alice");
+        final TS3Client aliceMobile = add(2, "uid-a", 10, 6, "Alice (Mobile)");
+        final TS3Client bob = add(3, "uid-b", 11, 5, "Bob");
+
+        Assert.assertEquals(2, index.findByUniqueId("uid-a").size());
+        Assert.assertEquals(List.of(bob), index.findByDBID(11));
+        Assert.assertEquals(2, index.findByChannel(5).size());
+        Assert.assertTrue(index.findByChannel(5).contains(alice));
+
+        Assert.assertEquals(2, index.findByNickname("ALI").size());
+        Assert.assertEquals(List.of(aliceMobile), index.findByNickname("mobile"));
+        // Fragments shorter than a trigram are verified against all clients.
+        Assert.assertEquals(List.of(bob), index.findByNickname("bo"));
+        Assert.assertEquals(List.of(), index.findByNickname("carol"));
+    }
+
+    @Test
+    public void testReindexAndRemove() {
+        final TS3Client alice = add(1, "uid-a", 10, 5, "Alice");
+
+        alice.setProperty(PropertyKeys.Client.CHANNEL_ID, "7");
+        alice.setProperty(PropertyKeys.Client.NICKNAME, "Alicia");
+        index.index(alice);
+        Assert.assertEquals(List.of(), index.findByChannel(5));
+        Assert.assertEquals(List.of(alice), index.findByChannel(7));
+        Assert.assertEquals(List.of(), index.findByNickname("alice"));
+        Assert.assertEquals(List.of(alice), index.findByNickname("alicia"));
+
+        clients.remove(1);
+        index.remove(1);
+        Assert.assertEquals(List.of(), index.findByUniqueId("uid-a"));
+        Assert.assertEquals(List.of(), index.findByNickname("ali"));
+    }
+
+    private TS3Client add(int clientId, String uniqueId, int dbId, int channelId, String nickname) {
+        final TS3Client client = new TS3Client();
+        client.setProperty(PropertyKeys.Client.ID, Integer.toString(clientId));
+        client.setProperty(PropertyKeys.Client.UID, uniqueId);
+        client.setProperty(PropertyKeys.Client.DBID, Integer.toString(dbId));
+        client.setProperty(PropertyKeys.Client.CHANNEL_ID, Integer.toString(channelId));
+        client.setProperty(PropertyKeys.Client.NICKNAME, nickname);
+        clients.put(clientId, client);
+        index.index(client);
+        return client;
+    }
+}
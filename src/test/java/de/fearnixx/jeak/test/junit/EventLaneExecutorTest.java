@@ -0,0 +1,104 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventLaneExecutor;
+import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.event.OverloadPolicy;
+import de.fearnixx.jeak.service.event.IEventLaneStats;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.data.BasicDataHolder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventLaneExecutorTest {
+
+    @Test
+    public void testOverloadPolicies() throws InterruptedException {
+        final EventLaneExecutor executor = new EventLaneExecutor(1, 1);
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy the lane thread and fill the lane.
+        executor.execute(new RefreshEvent(), () -> {
+            started.countDown();
+            awaitQuietly(release);
+            executed.add("running");
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(new RefreshEvent(), () -> executed.add("first"));
+
+        Assert.assertFalse(executor.execute(new OtherEvent(), OverloadPolicy.REJECT, () -> executed.add("rejected")));
+        Assert.assertTrue(executor.execute(new RefreshEvent(), OverloadPolicy.DROP_DUPLICATE, () -> executed.add("duplicate")));
+        Assert.assertTrue(executor.execute(new RefreshEvent(), OverloadPolicy.DROP_OLDEST, () -> executed.add("newest")));
+
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(List.of("running", "newest"), executed);
+
+        final IEventLaneStats stats = executor.getLaneStats().get(0);
+        Assert.assertEquals(2, stats.getDroppedCount());
+        Assert.assertEquals(1, stats.getRejectedCount());
+        Assert.assertEquals(Long.valueOf(2), executor.getShedCounts().get(RefreshEvent.class));
+        Assert.assertEquals(Long.valueOf(1), executor.getShedCounts().get(OtherEvent.class));
+    }
+
+    @Test
+    public void testDuplicatesMatchTheEntity() throws InterruptedException {
+        final EventLaneExecutor executor = new EventLaneExecutor(1, 3);
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(new RefreshEvent(), () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(new ClientEvent(1), () -> executed.add("update:1"));
+        executor.execute(new ClientEvent(2), () -> executed.add("update:2"));
+        executor.execute(new ClientLeftEvent(2), () -> executed.add("left:2"));
+
+        // Only the pending update of the same client is a duplicate. The new one does not overtake the leave.
+        Assert.assertTrue(executor.execute(new ClientEvent(2), OverloadPolicy.DROP_DUPLICATE, () -> executed.add("update:2b")));
+
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(List.of("update:1", "left:2", "update:2b"), executed);
+        Assert.assertEquals(1, executor.getLaneStats().get(0).getDroppedCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RefreshEvent implements IEvent {
+    }
+
+    private static class OtherEvent implements IEvent {
+    }
+
+    private static class ClientEvent extends BasicDataHolder implements IEvent {
+
+        private ClientEvent(int clientId) {
+            setProperty(PropertyKeys.Client.ID, clientId);
+        }
+    }
+
+    private static class ClientLeftEvent extends ClientEvent {
+
+        private ClientLeftEvent(int clientId) {
+            super(clientId);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventListenerContainer;
+import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.event.ListenerInvokers;
+import de.fearnixx.jeak.event.bot.BotStateEvent;
+import de.fearnixx.jeak.event.except.EventAbortException;
+import de.fearnixx.jeak.event.except.EventInvocationException;
+import de.fearnixx.jeak.reflect.Listener;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+public class EventListenerContainerTest {
+
+    @Test
+    public void testInvokersOnNonPublicListener() throws Exception {
+        final Method method = HiddenListener.class.getDeclaredMethod("onEvent", IEvent.class);
+        final List<BiConsumer<Object, IEvent>> invokers = List.of(
+                ListenerInvokers.lambda(method),
+                ListenerInvokers.methodHandle(method)
+        );
+
+        final HiddenListener listener = new HiddenListener();
+        final IEvent event = new BotStateEvent.PluginsLoaded();
+        invokers.forEach(invoker -> invoker.accept(listener, event));
+        Assert.assertEquals(List.of(event, event), listener.received);
+    }
+
+    @Test
+    public void testExceptionRelaying() throws Exception {
+        final ThrowingListener listener = new ThrowingListener();
+        final var container = new EventListenerContainer(listener, ThrowingListener.class.getMethod("onEvent", IEvent.class));
+
+        listener.toThrow = new IllegalStateException("listener failure");
+        try {
+            container.accept(new BotStateEvent.PluginsLoaded());
+            Assert.fail("Exception has not been relayed!");
+        } catch (EventInvocationException e) {
+            Assert.assertSame(listener.toThrow, e.getCause());
+        }
+
+        // Aborts have to reach the event container unwrapped.
+        listener.toThrow = new EventAbortException("abort");
+        try {
+            container.accept(new BotStateEvent.PluginsLoaded());
+            Assert.fail("Abort has not been relayed!");
+        } catch (EventAbortException e) {
+            Assert.assertSame(listener.toThrow, e);
+        }
+    }
+
+    static class HiddenListener {
+
+        private final List<IEvent> received = new ArrayList<>();
+
+        @Listener
+        void onEvent(IEvent event) {
+            received.add(event);
+        }
+    }
+
+    public static class ThrowingListener {
+
+        private RuntimeException toThrow;
+
+        @Listener
+        public void onEvent(IEvent event) {
+            throw toThrow;
+        }
+    }
+}
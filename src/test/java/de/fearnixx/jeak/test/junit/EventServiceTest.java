@@ -0,0 +1,116 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventService;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.event.bot.BotStateEvent;
+import de.fearnixx.jeak.event.bot.IBotStateEvent;
+import de.fearnixx.jeak.event.query.QueryEvent;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.teamspeak.QueryCommands;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventServiceTest {
+
+    private final EventService eventService = new EventService();
+    private final List<String> calls = new ArrayList<>();
+
+    @After
+    public void shutdown() {
+        eventService.shutdown();
+    }
+
+    @Test
+    public void testOrderAndInvalidation() {
+        final var late = new OrderedListener("late");
+        eventService.registerListener(late);
+        eventService.fireEvent(new BotStateEvent.PluginsLoaded());
+        Assert.assertEquals(List.of("late:any", "late:late"), calls);
+
+        // Registering has to invalidate the resolved listeners for an already fired event type.
+        calls.clear();
+        eventService.registerListener(new OrderedListener("second"));
+        eventService.fireEvent(new BotStateEvent.PluginsLoaded());
+        Assert.assertEquals(List.of("late:any", "second:any", "late:late", "second:late"), calls);
+
+        calls.clear();
+        eventService.unregisterListener(late);
+        eventService.fireEvent(new BotStateEvent.PluginsLoaded());
+        Assert.assertEquals(List.of("second:any", "second:late"), calls);
+    }
+
+    @Test
+    public void testEventTypeResolution() {
+        eventService.registerListener(new OrderedListener("listener"));
+        eventService.fireEvent(new BotStateEvent.ConnectEvent.PreConnect());
+        // Only the listener for all bot state events accepts this one.
+        Assert.assertEquals(List.of("listener:any"), calls);
+    }
+
+    @Test
+    public void testHasListeners() {
+        eventService.registerListener(new OrderedListener("listener"));
+        Assert.assertTrue(eventService.hasListeners(BotStateEvent.PluginsLoaded.class, IBotStateEvent.IPluginsLoaded.class));
+        // Only the listener for all bot state events would receive it, which is too general.
+        Assert.assertFalse(eventService.hasListeners(BotStateEvent.ConnectEvent.PreConnect.class, IBotStateEvent.IConnectStateEvent.class));
+        Assert.assertTrue(eventService.hasListeners(BotStateEvent.ConnectEvent.PreConnect.class, IBotStateEvent.class));
+    }
+
+    @Test
+    public void testAnswerStage() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        eventService.registerListener(new Object() {
+            @Listener
+            public void onAnswer(IQueryEvent.IAnswer answer) {
+                calls.add("listener:" + Thread.currentThread().getName().startsWith("query-answer-"));
+                done.countDown();
+            }
+        });
+        eventService.fireAnswer(new QueryEvent.Answer(), answer -> calls.add("callbacks"));
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        // The listeners run right after the callbacks, without being queued again.
+        Assert.assertEquals(List.of("callbacks", "listener:true"), calls);
+    }
+
+    @Test
+    public void testAnswerAfterShutdownFailsRequest() throws Exception {
+        final IQueryRequest request = IQueryRequest.builder().command(QueryCommands.WHOAMI).build();
+        final var answer = new QueryEvent.Answer();
+        answer.setRequest(request);
+        eventService.shutdown();
+
+        final CompletableFuture<IQueryEvent.IAnswer> completed = new CompletableFuture<>();
+        eventService.fireAnswer(answer, completed::complete);
+        // Requests waiting for the answer are failed instead of left hanging.
+        final IQueryEvent.IAnswer failed = completed.get(5, TimeUnit.SECONDS);
+        Assert.assertSame(request, failed.getRequest());
+        Assert.assertEquals(Integer.valueOf(-1), failed.getErrorCode());
+    }
+
+    public class OrderedListener {
+
+        private final String name;
+
+        private OrderedListener(String name) {
+            this.name = name;
+        }
+
+        @Listener(order = Listener.Orders.LATE)
+        public void onPluginsLoaded(IBotStateEvent.IPluginsLoaded event) {
+            calls.add(name + ":late");
+        }
+
+        @Listener(order = Listener.Orders.EARLY)
+        public void onAnyState(IBotStateEvent event) {
+            calls.add(name + ":any");
+        }
+    }
+}
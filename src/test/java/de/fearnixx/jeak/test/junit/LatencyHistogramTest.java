@@ -0,0 +1,33 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.service.metrics.ILatencySnapshot;
+import de.fearnixx.jeak.service.metrics.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.snapshot().getPercentileMicros(99));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        final ILatencySnapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1000, snapshot.getCount());
+        Assert.assertEquals(500.5, snapshot.getMeanMicros(), 0.001);
+        Assert.assertEquals(1000, snapshot.getMaxMicros());
+        Assert.assertEquals(1000, snapshot.getPercentileMicros(100));
+
+        // Buckets are at most 25% wide and percentiles report their upper bound.
+        assertWithin(500, snapshot.getPercentileMicros(50));
+        assertWithin(990, snapshot.getPercentileMicros(99));
+        Assert.assertEquals(1, snapshot.getPercentileMicros(0.1));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue("Expected about " + expected + " but got " + actual, actual >= expected && actual <= expected * 1.25);
+    }
+}
@@ -0,0 +1,65 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventService;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.event.query.QueryEvent;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.teamspeak.query.event.NotificationCoalescer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class NotificationCoalescerTest {
+
+    static {
+        System.setProperty("jeak.eventmgr.coalesce.windowMs", "50");
+    }
+
+    private final EventService eventService = new EventService();
+    private final BlockingQueue<IQueryEvent.INotificationBatch<?>> batches = new LinkedBlockingQueue<>();
+    private final BlockingQueue<IQueryEvent.INotification> notifications = new LinkedBlockingQueue<>();
+
+    @After
+    public void shutdown() {
+        eventService.shutdown();
+    }
+
+    @Test
+    public void testBatchesAreNoNotifications() throws Exception {
+        final NotificationCoalescer coalescer = new NotificationCoalescer();
+        final Field injected = NotificationCoalescer.class.getDeclaredField("eventService");
+        injected.setAccessible(true);
+        injected.set(coalescer, eventService);
+        eventService.registerListener(new BatchListener());
+
+        final var first = new QueryEvent.ClientMoved();
+        final var second = new QueryEvent.ClientMoved();
+        coalescer.onClientMoved(first);
+        coalescer.onClientMoved(second);
+
+        final var batch = batches.poll(5, TimeUnit.SECONDS);
+        Assert.assertTrue(batch instanceof IQueryEvent.INotificationBatch.IClientMovedBatch);
+        Assert.assertEquals(List.of(first, second), batch.getNotifications());
+        // Listeners for all notifications don't receive the batch.
+        Assert.assertNull(notifications.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    public class BatchListener {
+
+        @Listener
+        public void onBatch(IQueryEvent.INotificationBatch.IClientMovedBatch event) {
+            batches.add(event);
+        }
+
+        @Listener
+        public void onNotification(IQueryEvent.INotification event) {
+            notifications.add(event);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventService;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.teamspeak.NotificationSubscriptions;
+import de.fearnixx.jeak.teamspeak.data.IDataHolder;
+import de.fearnixx.jeak.teamspeak.query.IQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.IRequestLaneStats;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static de.fearnixx.jeak.teamspeak.NotificationSubscriptions.Group.*;
+
+public class NotificationSubscriptionsTest {
+
+    private final EventService eventService = new EventService();
+    private final NotificationSubscriptions subscriptions = new NotificationSubscriptions(eventService);
+    private final List<String> sent = new ArrayList<>();
+
+    @After
+    public void shutdown() {
+        eventService.shutdown();
+    }
+
+    @Test
+    public void testRequiredByListeners() {
+        Assert.assertEquals(List.of(SERVER, CHANNEL), new ArrayList<>(subscriptions.getRequired()));
+
+        eventService.registerListener(new PrivateTextListener());
+        // Listeners for all notifications do not require text messages.
+        eventService.registerListener(new NotificationListener());
+        Assert.assertEquals(List.of(SERVER, CHANNEL, TEXT_PRIVATE), new ArrayList<>(subscriptions.getRequired()));
+
+        eventService.registerListener(new TextListener());
+        Assert.assertEquals(List.of(SERVER, CHANNEL, TEXT_SERVER, TEXT_CHANNEL, TEXT_PRIVATE), new ArrayList<>(subscriptions.getRequired()));
+    }
+
+    @Test
+    public void testDynamicSubscription() {
+        eventService.onListenersChanged(subscriptions::update);
+        subscriptions.open(new RecordingConnection());
+        Assert.assertEquals(List.of("servernotifyregister:server", "servernotifyregister:channel"), sent);
+
+        sent.clear();
+        final var textListener = new TextListener();
+        eventService.registerListener(textListener);
+        Assert.assertEquals(List.of("servernotifyregister:textserver", "servernotifyregister:textchannel", "servernotifyregister:textprivate"), sent);
+
+        // Subscriptions are kept, unregistering would drop the ones of the data cache as well.
+        sent.clear();
+        eventService.unregisterListener(textListener);
+        eventService.registerListener(new PrivateTextListener());
+        Assert.assertEquals(List.of(), sent);
+
+        sent.clear();
+        subscriptions.close();
+        eventService.registerListener(textListener);
+        Assert.assertEquals(List.of(), sent);
+    }
+
+    public static class PrivateTextListener {
+
+        @Listener
+        public void onTextMessage(IQueryEvent.INotification.IClientTextMessage event) {
+            // Only declares interest.
+        }
+    }
+
+    public static class TextListener {
+
+        @Listener
+        public void onTextMessage(IQueryEvent.INotification.ITextMessage event) {
+            // Only declares interest.
+        }
+    }
+
+    public static class NotificationListener {
+
+        @Listener
+        public void onNotification(IQueryEvent.INotification event) {
+            // Only declares interest.
+        }
+    }
+
+    private class RecordingConnection implements IQueryConnection {
+
+        @Override
+        public void queueRequest(IQueryRequest request) {
+            final String event = request.getDataChain().stream()
+                    .map(holder -> holder.getValues().get("event"))
+                    .filter(value -> value != null)
+                    .findFirst()
+                    .map(value -> ":" + value)
+                    .orElse("");
+            sent.add(request.getCommand() + event);
+        }
+
+        @Override
+        public void setNickName(String nickName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IDataHolder getWhoAmI() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sendRequest(IQueryRequest req) {
+            queueRequest(req);
+        }
+
+        @Override
+        public Future<IQueryEvent.IAnswer> promiseRequest(IQueryRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<IRequestLaneStats> getRequestLaneStats() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close.
+        }
+    }
+}
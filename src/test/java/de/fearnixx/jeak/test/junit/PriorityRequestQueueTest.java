@@ -0,0 +1,107 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.PriorityRequestQueue;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PriorityRequestQueueTest {
+
+    private final PriorityRequestQueue queue = new PriorityRequestQueue();
+
+    @Test
+    public void testWeightedLanes() {
+        for (int i = 0; i < 10; i++) {
+            queue.add(request(QueryPriority.BACKGROUND));
+            queue.add(request(QueryPriority.SYSTEM));
+        }
+
+        final List<QueryPriority> served = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            served.add(queue.poll().getPriority());
+        }
+        // Default weights: 8 system requests per background request, but background is never starved.
+        final List<QueryPriority> expected = new ArrayList<>(Collections.nCopies(8, QueryPriority.SYSTEM));
+        expected.add(QueryPriority.BACKGROUND);
+        expected.addAll(Collections.nCopies(2, QueryPriority.SYSTEM));
+        expected.add(QueryPriority.BACKGROUND);
+        Assert.assertEquals(expected, served);
+        Assert.assertEquals(8, queue.size());
+    }
+
+    @Test
+    public void testRequeueKeepsPlace() {
+        final IQueryRequest first = request(QueryPriority.INTERACTIVE);
+        final IQueryRequest second = request(QueryPriority.INTERACTIVE);
+        queue.add(first);
+        queue.add(second);
+
+        Assert.assertSame(first, queue.poll());
+        queue.requeue(first);
+        Assert.assertEquals(2, queue.size());
+        Assert.assertEquals(2, queue.getLaneStats().get(QueryPriority.INTERACTIVE.ordinal()).getEnqueuedCount());
+        Assert.assertEquals(0, queue.getLaneStats().get(QueryPriority.INTERACTIVE.ordinal()).getDequeuedCount());
+        Assert.assertSame(first, queue.poll());
+        Assert.assertSame(second, queue.poll());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentAddAndPoll() throws Exception {
+        final int producers = 4;
+        final int perProducer = 2500;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final QueryPriority priority = QueryPriority.values()[p % QueryPriority.values().length];
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    queue.add(request(priority));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        final Set<IQueryRequest> polled = new HashSet<>();
+        start.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (polled.size() < producers * perProducer && System.nanoTime() < deadline) {
+            if (!queue.isEmpty()) {
+                // A non-empty queue always delivers.
+                final IQueryRequest request = queue.poll();
+                Assert.assertNotNull(request);
+                Assert.assertTrue("Request polled twice!", polled.add(request));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(producers * perProducer, polled.size());
+        Assert.assertNull(queue.poll());
+        Assert.assertEquals(0, queue.size());
+    }
+
+    private static IQueryRequest request(QueryPriority priority) {
+        return IQueryRequest.builder()
+                .command("whoami")
+                .priority(priority)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.QueryCommands;
+import de.fearnixx.jeak.teamspeak.QueryConnectionPool;
+import de.fearnixx.jeak.teamspeak.TeamSpeakConnectionFactory;
+import de.fearnixx.jeak.teamspeak.query.IQueryConnectionPool;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.StandardMessageMarshaller;
+import de.fearnixx.jeak.teamspeak.query.TSQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.api.ITSQueryConnection;
+import de.fearnixx.jeak.util.URIContainer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class QueryConnectionPoolTest {
+
+    static {
+        System.setProperty("jeak.connection.pool.size", "3");
+    }
+
+    private final URIContainer uri = URIContainer.ofLegal("telnet://localhost:10011");
+    private final StubConnectionFactory connector = new StubConnectionFactory();
+    private final QueryConnectionPool pool = new QueryConnectionPool(connector, answer -> {});
+
+    @After
+    public void close() {
+        pool.close();
+    }
+
+    @Test
+    public void testRoutesToLeastBusyActiveSession() throws Exception {
+        final IQueryRequest permList = IQueryRequest.builder().command(QueryCommands.PERMISSION.PERMISSION_LIST).build();
+        final IQueryRequest poke = IQueryRequest.builder().command(QueryCommands.CLIENT.CLIENT_POKE).build();
+        Assert.assertEquals(Optional.empty(), pool.route(permList));
+
+        final StubMessageChannel closedChannel = new StubMessageChannel();
+        closedChannel.open = false;
+        final TSQueryConnection busy = connect(0, new StubMessageChannel());
+        final TSQueryConnection idle = connect(1, new StubMessageChannel());
+        connect(2, closedChannel);
+        busy.queueRequest(poke);
+        setField(QueryConnectionPool.class, pool, "open", true);
+
+        Assert.assertEquals(Optional.empty(), pool.route(poke));
+        Assert.assertEquals(Optional.of(idle), pool.route(permList));
+        Assert.assertEquals(1, pool.getSessions().get(1).getRoutedCount());
+
+        // Sessions losing their connection are skipped.
+        setField(sessionClass(), pool.getSessions().get(1), "connection", null);
+        Assert.assertEquals(Optional.of(busy), pool.route(permList));
+        Assert.assertEquals(0, pool.getSessions().get(2).getRoutedCount());
+        setField(QueryConnectionPool.class, pool, "open", false);
+    }
+
+    @Test
+    public void testCloseDuringLoginShutsSessionDown() throws Exception {
+        final CountDownLatch loginStarted = new CountDownLatch(1);
+        final CountDownLatch loginDone = new CountDownLatch(1);
+        connector.login = () -> {
+            loginStarted.countDown();
+            // The pool interrupts its executor on close, the login keeps going regardless.
+            while (true) {
+                try {
+                    loginDone.await();
+                    return true;
+                } catch (InterruptedException e) {
+                    // Continue waiting.
+                }
+            }
+        };
+
+        pool.open(uri, null);
+        Assert.assertTrue(loginStarted.await(5, TimeUnit.SECONDS));
+        pool.close();
+        loginDone.countDown();
+
+        awaitCondition(() -> !connector.channels.get(0).open);
+        Assert.assertFalse(pool.getSessions().get(0).isActive());
+        Assert.assertEquals(1, connector.channels.size());
+    }
+
+    @Test
+    public void testUnexpectedConnectFailureReconnects() throws Exception {
+        connector.login = () -> {
+            throw new IllegalStateException("Unexpected!");
+        };
+
+        pool.open(uri, null);
+        awaitCondition(() -> pool.getSessions().stream().allMatch(session -> session.getReconnectCount() == 1));
+        Assert.assertEquals(3, connector.channels.size());
+        connector.channels.forEach(channel -> Assert.assertFalse(channel.open));
+        Assert.assertEquals(Optional.of("Unexpected!"), pool.getSessions().get(0).getLastError());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+
+    private TSQueryConnection connect(int index, StubMessageChannel channel) throws Exception {
+        final TSQueryConnection connection = new TSQueryConnection(channel, null);
+        final IQueryConnectionPool.ISession session = pool.getSessions().get(index);
+        setField(sessionClass(), session, "connection", connection);
+        return connection;
+    }
+
+    private Class<?> sessionClass() {
+        return pool.getSessions().get(0).getClass();
+    }
+
+    private static void setField(Class<?> type, Object target, String name, Object value) throws Exception {
+        final Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private interface Login {
+        boolean attempt();
+    }
+
+    private static class StubConnectionFactory extends TeamSpeakConnectionFactory {
+
+        private final List<StubMessageChannel> channels = new CopyOnWriteArrayList<>();
+        private volatile Login login = () -> true;
+
+        @Override
+        public ITSQueryConnection establishConnection(URIContainer connUri) {
+            final StubMessageChannel channel = new StubMessageChannel();
+            channels.add(channel);
+            return new TSQueryConnection(channel, new StandardMessageMarshaller(null));
+        }
+
+        @Override
+        public boolean useInstance(ITSQueryConnection connection, URIContainer connURI) {
+            return true;
+        }
+
+        @Override
+        public boolean attemptLogin(ITSQueryConnection connection, URIContainer connURI) {
+            return login.attempt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.query.QueryEncoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class QueryEncoderTest {
+
+    private static final String DECODED = "Topic: a|b \\ c/d\te\u000Bf";
+    private static final String ENCODED = "Topic:\\sa\\pb\\s\\\\\\sc\\/d\\te\\vf";
+
+    @Test
+    public void testRoundTrip() {
+        Assert.assertEquals(ENCODED, QueryEncoder.encode(DECODED));
+        Assert.assertEquals(DECODED, QueryEncoder.decode(ENCODED));
+        Assert.assertArrayEquals(ENCODED.toCharArray(), QueryEncoder.encodeBuffer(DECODED.toCharArray()));
+        Assert.assertArrayEquals(DECODED.toCharArray(), QueryEncoder.decodeBuffer(ENCODED.toCharArray()));
+    }
+
+    @Test
+    public void testNothingToEscape() {
+        final String plain = "HelloWorld";
+        final char[] plainChars = plain.toCharArray();
+        Assert.assertSame(plain, QueryEncoder.encode(plain));
+        Assert.assertSame(plain, QueryEncoder.decode(plain));
+        Assert.assertSame(plainChars, QueryEncoder.encodeBuffer(plainChars));
+        Assert.assertSame(plainChars, QueryEncoder.decodeBuffer(plainChars));
+    }
+
+    @Test
+    public void testTrailingAndUnknownEscapes() {
+        Assert.assertEquals("abc\\", QueryEncoder.decode("abc\\"));
+        Assert.assertArrayEquals("abc\\".toCharArray(), QueryEncoder.decodeBuffer("abc\\".toCharArray()));
+        Assert.assertArrayEquals("a\\x\\\\".toCharArray(), QueryEncoder.decodeBuffer("a\\x\\\\\\".toCharArray()));
+    }
+
+    @Test
+    public void testByteBuffers() {
+        final ByteBuffer encoded = ByteBuffer.allocate(QueryEncoder.maxEncodedBytes(DECODED.length() + 2));
+        QueryEncoder.encode(DECODED + "äö", encoded);
+        encoded.flip();
+        Assert.assertEquals(ENCODED + "äö", StandardCharsets.UTF_8.decode(encoded.duplicate()).toString());
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining());
+        direct.put(encoded.duplicate()).flip();
+        Assert.assertEquals(DECODED + "äö", StandardCharsets.UTF_8.decode(QueryEncoder.decodeInPlace(encoded)).toString());
+        Assert.assertEquals(DECODED + "äö", StandardCharsets.UTF_8.decode(QueryEncoder.decodeInPlace(direct)).toString());
+    }
+}
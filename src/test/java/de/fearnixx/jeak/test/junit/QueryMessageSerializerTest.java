@@ -0,0 +1,51 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.channel.QueryMessageSerializer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class QueryMessageSerializerTest {
+
+    @Test
+    public void testChainedRequest() {
+        final IQueryRequest request = IQueryRequest.builder()
+                .command("servergroupaddclient")
+                .addKey("sgid", 5)
+                .addKey("cldbid", 1)
+                .commitChainElement()
+                .addKey("cldbid", 2)
+                .addOption("-continueonerror")
+                .build();
+
+        Assert.assertEquals("servergroupaddclient sgid=5 cldbid=1|cldbid=2 -continueonerror", QueryMessageSerializer.serialize(request));
+    }
+
+    @Test
+    public void testEscapingAndUnicode() {
+        final IQueryRequest request = IQueryRequest.builder()
+                .command("sendtextmessage")
+                .addKey("msg", "a b|c\\d/\n ä€😀")
+                .build();
+
+        Assert.assertEquals("sendtextmessage msg=a\\sb\\pc\\\\d\\/\\n\\s" + "ä€😀", QueryMessageSerializer.serialize(request));
+    }
+
+    @Test
+    public void testBufferReuse() {
+        final QueryMessageSerializer serializer = new QueryMessageSerializer();
+        final StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            longValue.append("ö ");
+        }
+
+        final ByteBuffer first = serializer.serializeLine(IQueryRequest.builder().command("clientupdate").addKey("client_description", longValue).build());
+        Assert.assertEquals(12 + 1 + 19 + 2000 * 4 + System.lineSeparator().length(), first.remaining());
+
+        final ByteBuffer second = serializer.serializeLine(IQueryRequest.builder().command("whoami").build());
+        Assert.assertEquals("whoami" + System.lineSeparator(), StandardCharsets.UTF_8.decode(second).toString());
+    }
+}
@@ -0,0 +1,107 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.query.RawQueryEvent;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.api.QuerySyntaxException;
+import de.fearnixx.jeak.teamspeak.query.parser.QueryParser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+public class QueryParserTest {
+
+    private final IQueryRequest request = IQueryRequest.builder().command("clientlist").build();
+    private final List<RawQueryEvent.Message.Answer> answers = new ArrayList<>();
+    private final List<RawQueryEvent.Message.Notification> notifications = new ArrayList<>();
+    private QueryParser parser;
+
+    @Before
+    public void greet() throws QuerySyntaxException {
+        parser = new QueryParser(() -> request);
+        parser.setOnGreetingCallback(done -> {
+        });
+        parser.setOnAnswerCallback(answers::add);
+        parser.setOnNotificationCallback(notifications::add);
+        parser.parseLine("TS3");
+        parser.parseLine("Welcome to the TeamSpeak 3 ServerQuery interface, type \"help\" for a list of commands.");
+    }
+
+    @Test
+    public void testChainedAnswer() throws QuerySyntaxException {
+        parser.parseLine(bytes("clid=1 cid=3 client_nickname=Hello\\sWorld client_away|clid=2 cid=3 client_nickname=a\\pb\\\\c"));
+        parser.parseLine(bytes("error id=0 msg=ok"));
+
+        Assert.assertEquals(1, answers.size());
+        final var first = answers.get(0);
+        Assert.assertEquals("Hello World", first.getProperty(PropertyKeys.Client.NICKNAME).orElseThrow());
+        Assert.assertEquals("", first.getProperty("client_away").orElseThrow());
+        Assert.assertTrue(first.hasNext());
+
+        final var second = first.getNext();
+        Assert.assertEquals("2", second.getProperty(PropertyKeys.Client.ID).orElseThrow());
+        Assert.assertEquals("a|b\\c", second.getProperty(PropertyKeys.Client.NICKNAME).orElseThrow());
+        Assert.assertEquals(0, (int) first.getError().getCode());
+    }
+
+    @Test
+    public void testNotification() throws QuerySyntaxException {
+        parser.parseLine(bytes("notifytextmessage targetmode=1 msg=a=b\\s target=4 invokerid=1"));
+
+        Assert.assertEquals(1, notifications.size());
+        final var notification = notifications.get(0);
+        Assert.assertEquals("textmessage", notification.getCaption());
+        Assert.assertEquals("a=b ", notification.getProperty(PropertyKeys.TextMessage.MESSAGE).orElseThrow());
+        Assert.assertEquals("4", notification.getProperty(PropertyKeys.TextMessage.TARGET_ID).orElseThrow());
+    }
+
+    @Test
+    public void testDirectBuffer() throws QuerySyntaxException {
+        final byte[] raw = "clid=7 client_nickname=ä\\sö".getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(raw.length);
+        direct.put(raw).flip();
+        parser.parseLine(direct);
+        parser.parseLine(bytes("error id=0 msg=ok"));
+
+        Assert.assertFalse(direct.hasRemaining());
+        Assert.assertEquals("ä ö", answers.get(0).getProperty(PropertyKeys.Client.NICKNAME).orElseThrow());
+    }
+
+    @Test
+    public void testPipelinedAnswers() throws QuerySyntaxException {
+        final IQueryRequest first = IQueryRequest.builder().command("clientinfo").build();
+        final IQueryRequest second = IQueryRequest.builder().command("channelinfo").build();
+        final Deque<IQueryRequest> pending = new ArrayDeque<>(List.of(first, second));
+
+        parser = new QueryParser(pending::peekFirst);
+        parser.setOnGreetingCallback(done -> {
+        });
+        parser.setOnAnswerCallback(answer -> {
+            pending.pollFirst();
+            answers.add(answer);
+        });
+        parser.parseLine("TS3");
+        parser.parseLine("Welcome to the TeamSpeak 3 ServerQuery interface.");
+
+        parser.parseLine(bytes("clid=1|clid=2"));
+        parser.parseLine(bytes("error id=0 msg=ok"));
+        parser.parseLine(bytes("error id=768 msg=invalid\\schannelID"));
+
+        Assert.assertEquals(2, answers.size());
+        Assert.assertSame(first, answers.get(0).getRequest());
+        Assert.assertSame(first, ((RawQueryEvent.Message.Answer) answers.get(0).getNext()).getRequest());
+        Assert.assertSame(second, answers.get(1).getRequest());
+        Assert.assertEquals(768, (int) answers.get(1).getError().getCode());
+    }
+
+    private static ByteBuffer bytes(String line) {
+        return ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventService;
+import de.fearnixx.jeak.event.IEvent;
+import de.fearnixx.jeak.event.bot.BotStateEvent;
+import de.fearnixx.jeak.event.bot.IBotStateEvent;
+import de.fearnixx.jeak.reflect.FieldSearch;
+import de.fearnixx.jeak.reflect.Inject;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.reflect.ReflectionIndex;
+import de.fearnixx.jeak.service.event.IEventService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The index is written by the annotation processor when compiling the tests.
+ */
+public class ReflectionIndexTest {
+
+    @Test
+    public void testIndexedMembers() throws Exception {
+        final ReflectionIndex index = ReflectionIndex.of(IndexedListener.class)
+                .orElseThrow(() -> new AssertionError("Index has not been generated!"));
+
+        // Inherited members are resolved from the index of the super class.
+        Assert.assertEquals(List.of(IndexedListener.class.getMethod("onEvent", IEvent.class)), index.getListenerMethods());
+        Assert.assertEquals(List.of(IndexedListener.class.getDeclaredField("eventService")), index.getInjectionFields());
+    }
+
+    @Test
+    public void testInheritedMembers() throws Exception {
+        // Fields of the class itself come first.
+        Assert.assertEquals(
+                List.of(IndexedListener.class.getDeclaredField("eventService"), BaseListener.class.getDeclaredField("baseService")),
+                new FieldSearch().getAnnotatedFields(IndexedListener.class));
+
+        final IndexedListener listener = new IndexedListener();
+        fire(listener);
+        Assert.assertEquals(Set.of("event", "state"), Set.copyOf(listener.calls));
+    }
+
+    @Test
+    public void testOverridesAreNotListeners() {
+        // Like Class#getMethods: The override replaces the annotated method.
+        final OverridingListener listener = new OverridingListener();
+        fire(listener);
+        Assert.assertEquals(List.of("event"), listener.calls);
+    }
+
+    private static void fire(Object listener) {
+        final EventService eventService = new EventService();
+        try {
+            eventService.registerListener(listener);
+            eventService.fireEvent(new BotStateEvent.PluginsLoaded());
+        } finally {
+            eventService.shutdown();
+        }
+    }
+
+    public static class BaseListener {
+
+        final List<String> calls = new ArrayList<>();
+
+        @Inject
+        private IEventService baseService;
+
+        @Listener
+        public void onStateEvent(IBotStateEvent event) {
+            calls.add("state");
+        }
+    }
+
+    public static class IndexedListener extends BaseListener {
+
+        @Inject
+        private IEventService eventService;
+
+        @Listener
+        public void onEvent(IEvent event) {
+            calls.add("event");
+        }
+
+        public void notAListener(IEvent event) {
+        }
+    }
+
+    public static class OverridingListener extends IndexedListener {
+
+        @Override
+        public void onStateEvent(IBotStateEvent event) {
+            calls.add("override");
+        }
+    }
+}
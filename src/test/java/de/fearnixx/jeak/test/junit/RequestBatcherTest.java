@@ -0,0 +1,49 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.QueryCommands;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.RequestBatcher;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class RequestBatcherTest {
+
+    static {
+        // Hold requests back until the batcher is closed.
+        System.setProperty("jeak.connection.batch.windowMs", "60000");
+    }
+
+    @Test
+    public void testCloseFailsHeldRequests() throws Exception {
+        final List<IQueryRequest> sent = new CopyOnWriteArrayList<>();
+        final RequestBatcher batcher = new RequestBatcher(sent::add);
+        final List<Integer> errors = new CopyOnWriteArrayList<>();
+
+        final IQueryRequest poke = IQueryRequest.builder()
+                .command(QueryCommands.CLIENT.CLIENT_POKE)
+                .addKey(PropertyKeys.Client.ID, 1)
+                .onError(answer -> errors.add(answer.getErrorCode()))
+                .build();
+        Assert.assertTrue(batcher.isBatchable(poke));
+        batcher.queueRequest(poke);
+        final Future<IQueryEvent.IAnswer> promised = batcher.promiseRequest(IQueryRequest.builder()
+                .command(QueryCommands.CLIENT.CLIENT_POKE)
+                .addKey(PropertyKeys.Client.ID, 2)
+                .build());
+
+        batcher.close();
+        Assert.assertEquals(List.of(), sent);
+        Assert.assertEquals(List.of(-1), errors);
+        final IQueryEvent.IAnswer answer = promised.get(5, TimeUnit.SECONDS);
+        Assert.assertEquals("Connection closed.", answer.getErrorMessage());
+
+        Assert.assertThrows(IllegalStateException.class, () -> batcher.queueRequest(poke));
+    }
+}
@@ -0,0 +1,66 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.event.query.QueryEvent;
+import de.fearnixx.jeak.event.query.RawQueryEvent;
+import de.fearnixx.jeak.teamspeak.QueryCommands;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.QueryPriority;
+import de.fearnixx.jeak.teamspeak.query.RequestCoalescer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class RequestCoalescerTest {
+
+    private final List<IQueryRequest> sent = new CopyOnWriteArrayList<>();
+    private final RequestCoalescer coalescer = new RequestCoalescer(sent::add);
+
+    @Test
+    public void testNoPriorityInversion() throws Exception {
+        final Future<IQueryEvent.IAnswer> bulk = coalescer.promiseRequest(clientList(QueryPriority.BULK));
+        final Future<IQueryEvent.IAnswer> background = coalescer.promiseRequest(clientList(QueryPriority.BACKGROUND));
+        Assert.assertEquals(1, sent.size());
+        Assert.assertEquals(QueryPriority.BULK, sent.get(0).getPriority());
+
+        // More urgent requests don't wait for the bulk one.
+        final Future<IQueryEvent.IAnswer> system = coalescer.promiseRequest(clientList(QueryPriority.SYSTEM));
+        Assert.assertEquals(2, sent.size());
+        Assert.assertEquals(QueryPriority.SYSTEM, sent.get(1).getPriority());
+        final Future<IQueryEvent.IAnswer> interactive = coalescer.promiseRequest(clientList(QueryPriority.INTERACTIVE));
+        Assert.assertEquals(2, sent.size());
+        Assert.assertEquals(2, coalescer.getCoalescedCount());
+
+        answer(sent.get(1));
+        Assert.assertEquals(Integer.valueOf(0), system.get(5, TimeUnit.SECONDS).getErrorCode());
+        Assert.assertEquals(Integer.valueOf(0), interactive.get(5, TimeUnit.SECONDS).getErrorCode());
+        Assert.assertFalse(bulk.isDone());
+        Assert.assertFalse(background.isDone());
+
+        answer(sent.get(0));
+        Assert.assertTrue(bulk.isDone());
+        Assert.assertTrue(background.isDone());
+    }
+
+    private static IQueryRequest clientList(QueryPriority priority) {
+        return IQueryRequest.builder()
+                .command(QueryCommands.CLIENT.CLIENT_LIST)
+                .priority(priority)
+                .build();
+    }
+
+    private static void answer(IQueryRequest carrier) {
+        final var error = new RawQueryEvent.ErrorMessage(carrier);
+        error.setProperty("id", "0");
+        error.setProperty("msg", "ok");
+        final var answer = new QueryEvent.Answer();
+        answer.setRequest(carrier);
+        answer.setError(error);
+        answer.setChain(List.of());
+        carrier.onDone().accept(answer);
+    }
+}
@@ -0,0 +1,102 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.query.channel.SelectorEventLoop;
+import de.fearnixx.jeak.teamspeak.query.channel.SelectorMessageChannel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SelectorMessageChannelTest {
+
+    private ServerSocketChannel server;
+    private SocketChannel remote;
+    private CountingEventLoop eventLoop;
+    private TestChannel channel;
+
+    @Before
+    public void connect() throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0));
+        final SocketChannel client = SocketChannel.open(server.getLocalAddress());
+        remote = server.accept();
+
+        eventLoop = new CountingEventLoop();
+        final Thread loopThread = new Thread(eventLoop, "selector-test");
+        loopThread.setDaemon(true);
+        loopThread.start();
+        channel = new TestChannel(client, eventLoop);
+        channel.run();
+    }
+
+    @After
+    public void close() throws IOException {
+        channel.close();
+        eventLoop.close();
+        remote.close();
+        server.close();
+    }
+
+    @Test
+    public void testWritesWakeLoopOnlyWhenPending() throws Exception {
+        final int registration = eventLoop.tasks.get();
+        for (int i = 0; i < 100; i++) {
+            channel.writeBytes(new byte[64]);
+        }
+        // The socket takes small writes right away, the loop is not involved.
+        Assert.assertEquals(registration, eventLoop.tasks.get());
+        Assert.assertEquals(100 * 64, readRemote(100 * 64));
+
+        // More than the socket buffers while the remote is not reading: The loop has to finish the write.
+        final int large = 8 * 1024 * 1024;
+        channel.writeBytes(new byte[large]);
+        channel.writeBytes(new byte[large]);
+        Assert.assertEquals(registration + 1, eventLoop.tasks.get());
+        Assert.assertEquals(2 * large, readRemote(2 * large));
+    }
+
+    private int readRemote(int expected) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(65536);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int total = 0;
+        while (total < expected && System.nanoTime() < deadline) {
+            buffer.clear();
+            total += remote.read(buffer);
+        }
+        return total;
+    }
+
+    private static class CountingEventLoop extends SelectorEventLoop {
+
+        private final AtomicInteger tasks = new AtomicInteger();
+
+        CountingEventLoop() throws IOException {
+            super();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.incrementAndGet();
+            super.execute(task);
+        }
+    }
+
+    private static class TestChannel extends SelectorMessageChannel {
+
+        TestChannel(SocketChannel socketChannel, SelectorEventLoop eventLoop) {
+            super(socketChannel, eventLoop);
+        }
+
+        void writeBytes(byte[] bytes) throws IOException {
+            write(ByteBuffer.wrap(bytes));
+        }
+    }
+}
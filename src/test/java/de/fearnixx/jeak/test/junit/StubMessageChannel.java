@@ -0,0 +1,75 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.channel.AbstractMessageChannel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Message channel without a server: Records written requests, received lines are passed in by the tests.
+ * Does not report readiness, connections have to poll {@link #isReady()}.
+ */
+public class StubMessageChannel extends AbstractMessageChannel {
+
+    final List<IQueryRequest> written = new CopyOnWriteArrayList<>();
+    volatile boolean open = true;
+    volatile boolean ready = true;
+
+    public StubMessageChannel() {
+        this(1);
+    }
+
+    public StubMessageChannel(int pipelineDepth) {
+        super(pipelineDepth);
+        receive("TS3", "Welcome to the TeamSpeak 3 ServerQuery interface.");
+    }
+
+    /**
+     * Passes lines to the channel as if they have been received from the server.
+     */
+    void receive(String... lines) {
+        for (String line : lines) {
+            receivedBytes(ByteBuffer.wrap((line + "\n\r").getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return false;
+    }
+
+    @Override
+    public void writeMessage(IQueryRequest message) {
+        super.writeMessage(message);
+        written.add(message);
+    }
+
+    @Override
+    protected int write(ByteBuffer message) {
+        final int count = message.remaining();
+        message.position(message.limit());
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    @Override
+    public void run() {
+    }
+}
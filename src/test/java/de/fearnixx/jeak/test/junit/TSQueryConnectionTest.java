@@ -0,0 +1,196 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.event.EventLaneExecutor;
+import de.fearnixx.jeak.event.EventService;
+import de.fearnixx.jeak.event.IQueryEvent;
+import de.fearnixx.jeak.reflect.Listener;
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.QueryCommands;
+import de.fearnixx.jeak.teamspeak.query.IQueryRequest;
+import de.fearnixx.jeak.teamspeak.query.RequestRateLimiter;
+import de.fearnixx.jeak.teamspeak.query.StandardMessageMarshaller;
+import de.fearnixx.jeak.teamspeak.query.TSQueryConnection;
+import de.fearnixx.jeak.teamspeak.query.TSQueryConnectionDelegate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class TSQueryConnectionTest {
+
+    static {
+        System.setProperty("jeak.connection.timer_interval_ms", "20");
+    }
+
+    @Test
+    public void testPollsChannelsWithoutReadyCallback() throws Exception {
+        final StubMessageChannel channel = new StubMessageChannel();
+        channel.ready = false;
+        final TSQueryConnection connection = connection(channel);
+        final Thread pump = new Thread(connection, "connection-test");
+        pump.start();
+
+        final IQueryRequest request = IQueryRequest.builder().command(QueryCommands.WHOAMI).build();
+        connection.queueRequest(request);
+        Thread.sleep(100);
+        Assert.assertTrue(channel.written.isEmpty());
+
+        // The stub never signals readiness: The timer tick has to wake the pump.
+        channel.ready = true;
+        awaitCondition(() -> !channel.written.isEmpty());
+        Assert.assertSame(request, channel.written.get(0));
+
+        // Remote closes are noticed the same way.
+        channel.open = false;
+        pump.join(TimeUnit.SECONDS.toMillis(5));
+        Assert.assertFalse(pump.isAlive());
+    }
+
+    @Test
+    public void testPipelinedAnswersMatchInOrder() throws Exception {
+        final StubMessageChannel channel = new StubMessageChannel(3);
+        final TSQueryConnection connection = connection(channel);
+        final BlockingQueue<IQueryEvent.IAnswer> answers = new LinkedBlockingQueue<>();
+        connection.onAnswer(answers::add);
+        final Thread pump = new Thread(connection, "connection-test");
+        pump.start();
+
+        final List<IQueryRequest> requests = List.of(clientInfo(1), clientInfo(2), clientInfo(3));
+        requests.forEach(connection::queueRequest);
+        // All of them are written before the first answer arrives.
+        awaitCondition(() -> channel.written.size() == 3);
+        Assert.assertEquals(requests, channel.written);
+        Assert.assertTrue(channel.isSaturated());
+
+        for (int i = 1; i <= 3; i++) {
+            channel.receive("clid=" + i + " client_nickname=Client" + i, "error id=0 msg=ok");
+        }
+        for (int i = 0; i < 3; i++) {
+            final IQueryEvent.IAnswer answer = answers.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(answer);
+            Assert.assertSame(requests.get(i), answer.getRequest());
+            Assert.assertEquals(String.valueOf(i + 1), answer.getDataChain().get(0).getProperty(PropertyKeys.Client.ID).orElseThrow());
+        }
+        Assert.assertFalse(channel.hasPendingRequest());
+
+        channel.close();
+        pump.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Test
+    public void testCloseFailsUnansweredRequests() throws Exception {
+        final StubMessageChannel channel = new StubMessageChannel(2);
+        final TSQueryConnection connection = connection(channel);
+        final BlockingQueue<IQueryEvent.IAnswer> answers = new LinkedBlockingQueue<>();
+        connection.onAnswer(answers::add);
+        final Thread pump = new Thread(connection, "connection-test");
+        pump.start();
+
+        final List<IQueryRequest> requests = List.of(clientInfo(1), clientInfo(2), clientInfo(3));
+        requests.forEach(connection::queueRequest);
+        awaitCondition(() -> channel.written.size() == 2);
+
+        channel.close();
+        pump.join(TimeUnit.SECONDS.toMillis(5));
+        Assert.assertFalse(pump.isAlive());
+        // Written requests are failed as well as queued ones, in order.
+        for (IQueryRequest request : requests) {
+            final IQueryEvent.IAnswer answer = answers.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(answer);
+            Assert.assertSame(request, answer.getRequest());
+            Assert.assertEquals(Integer.valueOf(-1), answer.getErrorCode());
+            Assert.assertEquals("Connection closed.", answer.getErrorMessage());
+        }
+        Assert.assertTrue(answers.isEmpty());
+    }
+
+    @Test
+    public void testLaneListenerQueuesRequestWhileLaneIsFull() throws Exception {
+        final EventService eventService = new EventService();
+        // One lane holding a single event, so the third notification has to wait for space.
+        final Field executorField = EventService.class.getDeclaredField("eventExecutor");
+        executorField.setAccessible(true);
+        ((EventLaneExecutor) executorField.get(eventService)).shutdown();
+        executorField.set(eventService, new EventLaneExecutor(1, 1));
+
+        final StubMessageChannel channel = new StubMessageChannel();
+        final TSQueryConnection connection = connection(channel);
+        connection.onNotification(eventService::fireEvent);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        eventService.registerListener(new MoveListener(connection, entered, gate));
+
+        final Thread reader = new Thread(() -> {
+            try {
+                channel.receive(clientMoved(1));
+                entered.await();
+                channel.receive(clientMoved(2));
+                channel.receive(clientMoved(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "reader-test");
+        reader.start();
+        awaitCondition(() -> reader.getState() == Thread.State.WAITING || reader.getState() == Thread.State.TIMED_WAITING);
+        Assert.assertTrue(reader.isAlive());
+
+        // The lane listener needs the connection to drain the lane the reader is waiting for.
+        gate.countDown();
+        reader.join(TimeUnit.SECONDS.toMillis(5));
+        Assert.assertFalse("Reader dead-locked with the lane listener!", reader.isAlive());
+        awaitCondition(() -> connection.getQueuedRequestCount() == 3);
+        eventService.shutdown();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+
+    private static TSQueryConnection connection(StubMessageChannel channel) {
+        final TSQueryConnection connection = new TSQueryConnection(channel, new StandardMessageMarshaller(null));
+        new TSQueryConnectionDelegate(connection);
+        connection.setRateLimiter(new RequestRateLimiter(0, TimeUnit.MILLISECONDS, 1));
+        return connection;
+    }
+
+    private static IQueryRequest clientInfo(int clientId) {
+        return IQueryRequest.builder()
+                .command(QueryCommands.CLIENT.CLIENT_INFO)
+                .addKey(PropertyKeys.Client.ID, clientId)
+                .build();
+    }
+
+    private static String clientMoved(int clientId) {
+        return "notifyclientmoved ctid=1 reasonid=0 clid=" + clientId;
+    }
+
+    public static class MoveListener {
+
+        private final TSQueryConnection connection;
+        private final CountDownLatch entered;
+        private final CountDownLatch gate;
+
+        public MoveListener(TSQueryConnection connection, CountDownLatch entered, CountDownLatch gate) {
+            this.connection = connection;
+            this.entered = entered;
+            this.gate = gate;
+        }
+
+        @Listener
+        public void onClientMoved(IQueryEvent.INotification.IClientMoved event) throws InterruptedException {
+            entered.countDown();
+            gate.await();
+            connection.queueRequest(IQueryRequest.builder().command(QueryCommands.CLIENT.CLIENT_INFO).build());
+        }
+    }
+}
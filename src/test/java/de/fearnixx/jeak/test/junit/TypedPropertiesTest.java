@@ -0,0 +1,102 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.teamspeak.PropertyKeys;
+import de.fearnixx.jeak.teamspeak.data.BasicDataHolder;
+import de.fearnixx.jeak.teamspeak.data.IClient;
+import de.fearnixx.jeak.teamspeak.data.TS3Channel;
+import de.fearnixx.jeak.teamspeak.data.TS3Client;
+import de.fearnixx.jeak.teamspeak.except.ConsistencyViolationException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class TypedPropertiesTest {
+
+    @Test
+    public void testClientGettersFollowChanges() {
+        final TS3Client client = new TS3Client();
+        client.setProperty(PropertyKeys.Client.ID, "12");
+        client.setProperty(PropertyKeys.Client.CHANNEL_ID, "5");
+        client.setProperty(PropertyKeys.Client.GROUPS, "6,8");
+        client.setProperty(PropertyKeys.Client.TYPE, "1");
+        client.setProperty(PropertyKeys.Client.PLATFORM, "Linux");
+        client.setProperty(PropertyKeys.Client.FLAG_AWAY, "1");
+
+        Assert.assertEquals(Integer.valueOf(12), client.getClientID());
+        Assert.assertEquals(Integer.valueOf(5), client.getChannelID());
+        Assert.assertEquals(List.of(6, 8), client.getGroupIDs());
+        Assert.assertEquals(IClient.ClientType.QUERY, client.getClientType());
+        Assert.assertEquals(IClient.PlatformType.LINUX, client.getPlatform());
+        Assert.assertTrue(client.isAway());
+
+        final BasicDataHolder update = new BasicDataHolder();
+        update.setProperty(PropertyKeys.Client.CHANNEL_ID, "7");
+        update.setProperty(PropertyKeys.Client.FLAG_AWAY, "0");
+        client.merge(update);
+        Assert.assertEquals(Integer.valueOf(7), client.getChannelID());
+        Assert.assertFalse(client.isAway());
+
+        client.setProperty(PropertyKeys.Client.TALKPOWER, "high");
+        Assert.assertThrows(NumberFormatException.class, client::getTalkPower);
+
+        // Replacing all values drops the parsed ones as well.
+        client.copyFrom(update);
+        Assert.assertThrows(ConsistencyViolationException.class, client::getClientID);
+        Assert.assertEquals(IClient.PlatformType.UNKNOWN, client.getPlatform());
+        Assert.assertEquals(Integer.valueOf(7), client.getChannelID());
+    }
+
+    @Test
+    public void testGettersFollowWritesThroughValueMap() {
+        final TS3Client client = new TS3Client();
+        client.setProperty(PropertyKeys.Client.CHANNEL_ID, "5");
+        client.setProperty(PropertyKeys.Client.FLAG_AWAY, "0");
+        client.setProperty(PropertyKeys.Client.GROUPS, "6");
+
+        client.getValues().put(PropertyKeys.Client.CHANNEL_ID, "7");
+        client.getValues().replaceAll((key, value) -> PropertyKeys.Client.FLAG_AWAY.equals(key) ? "1" : value);
+        Assert.assertEquals(Integer.valueOf(7), client.getChannelID());
+        Assert.assertTrue(client.isAway());
+
+        for (var entry : client.getValues().entrySet()) {
+            if (PropertyKeys.Client.GROUPS.equals(entry.getKey())) {
+                entry.setValue("6,8");
+            }
+        }
+        Assert.assertEquals(List.of(6, 8), client.getGroupIDs());
+
+        client.getValues().entrySet().removeIf(entry -> PropertyKeys.Client.CHANNEL_ID.equals(entry.getKey()));
+        Assert.assertFalse(client.hasProperty(PropertyKeys.Client.CHANNEL_ID));
+        Assert.assertThrows(ConsistencyViolationException.class, client::getChannelID);
+        client.getValues().remove(PropertyKeys.Client.FLAG_AWAY);
+        Assert.assertFalse(client.isAway());
+
+        final TS3Channel channel = new TS3Channel();
+        channel.getValues().put(PropertyKeys.Channel.ID, "3");
+        channel.getValues().putAll(Map.of(PropertyKeys.Channel.PARENT, "1"));
+        Assert.assertEquals(Integer.valueOf(3), channel.getID());
+        Assert.assertEquals(Integer.valueOf(1), channel.getParent());
+    }
+
+    @Test
+    public void testChannelGetters() {
+        final TS3Channel channel = new TS3Channel();
+        channel.setProperty(PropertyKeys.Channel.ID, "3");
+        channel.setProperty(PropertyKeys.Channel.NAME, "Lobby");
+
+        Assert.assertEquals(Integer.valueOf(3), channel.getID());
+        Assert.assertEquals(Integer.valueOf(0), channel.getParent());
+        Assert.assertEquals("Lobby", channel.getName());
+
+        channel.setProperty(PropertyKeys.Channel.PARENT, "1");
+        channel.setProperty(PropertyKeys.Channel.NAME, null);
+        Assert.assertEquals(Integer.valueOf(1), channel.getParent());
+        Assert.assertEquals("null", channel.getName());
+
+        // Values equal to the sentinel are parsed from the string.
+        channel.setProperty(PropertyKeys.Channel.ORDER, String.valueOf(Integer.MIN_VALUE));
+        Assert.assertEquals(Integer.valueOf(Integer.MIN_VALUE), channel.getOrder());
+    }
+}
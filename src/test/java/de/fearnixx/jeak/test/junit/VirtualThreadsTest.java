@@ -0,0 +1,62 @@
+package de.fearnixx.jeak.test.junit;
+
+import de.fearnixx.jeak.service.task.ITask;
+import de.fearnixx.jeak.task.TaskService;
+import de.fearnixx.jeak.util.VirtualThreads;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualThreadsTest {
+
+    static {
+        System.setProperty("jeak.virtualThreads", "true");
+    }
+
+    @Test
+    public void testSupportMatchesRuntime() {
+        Assert.assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+    }
+
+    @Test
+    public void testUnsupportedRuntimeRejects() {
+        Assume.assumeFalse(VirtualThreads.isSupported());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadFactory("test-%d"));
+    }
+
+    @Test
+    public void testFactoryCreatesVirtualThreads() throws Exception {
+        Assume.assumeTrue(VirtualThreads.isSupported());
+        final ThreadFactory factory = VirtualThreads.newThreadFactory("test-%d");
+        final Thread first = factory.newThread(() -> {});
+        final Thread second = factory.newThread(() -> {});
+        Assert.assertTrue(isVirtual(first));
+        Assert.assertEquals("test-0", first.getName());
+        Assert.assertEquals("test-1", second.getName());
+    }
+
+    @Test
+    public void testTaskServiceFallsBackOrUsesVirtualThreads() throws Exception {
+        final TaskService taskService = new TaskService(10);
+        final CompletableFuture<Thread> executedOn = new CompletableFuture<>();
+        taskService.runTask(ITask.builder()
+                .name("virtual-test")
+                .runnable(() -> executedOn.complete(Thread.currentThread()))
+                .build());
+
+        final Thread thread = executedOn.get(5, TimeUnit.SECONDS);
+        if (VirtualThreads.isSupported()) {
+            Assert.assertTrue(isVirtual(thread));
+        } else {
+            Assert.assertTrue(thread.getName().startsWith("task-scheduler-"));
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}